@@ -2,6 +2,7 @@ plugins {
     java
     alias(libs.plugins.spring.boot)
     alias(libs.plugins.spring.dependency.management)
+    alias(libs.plugins.jmh)
     id("jacoco")
 }
 
@@ -23,6 +24,8 @@ dependencyManagement {
 
 dependencies {
     implementation(libs.spring.boot.starter.web)
+    implementation(libs.spring.boot.starter.actuator)
+    runtimeOnly(libs.micrometer.registry.prometheus)
     compileOnly(libs.lombok)
     annotationProcessor(libs.lombok)
     annotationProcessor(libs.spring.boot.configuration.processor)
@@ -30,14 +33,47 @@ dependencies {
 }
 
 // about source and compilation
+// 가상 스레드(spring.threads.virtual.enabled) 사용을 위해 21 로 올린다
 java {
-    sourceCompatibility = JavaVersion.VERSION_17
+    toolchain {
+        languageVersion = JavaLanguageVersion.of(21)
+    }
+}
+
+sourceSets {
+    create("loadTest")
 }
 
 with(extensions.getByType(JacocoPluginExtension::class.java)) {
     toolVersion = "0.8.7"
 }
 
+// benchmark tasks : ./gradlew jmh -Pjmh.includes=<정규식> [-Pjmh.profilers=gc]
+jmh {
+    jmhVersion = libs.versions.jmh.get()
+    findProperty("jmh.includes")?.let { includes = listOf(it.toString()) }
+    findProperty("jmh.profilers")?.let { profilers = it.toString().split(",") }
+}
+
+// footprint tasks : ./gradlew footprint -Pfootprint.args="balance 10000000 50000000"
+tasks.register<JavaExec>("footprint") {
+    group = "verification"
+    description = "저장소 구현별 메모리 사용량을 비교한다."
+    classpath = sourceSets["jmh"].runtimeClasspath
+    mainClass = "io.hhplus.tdd.point.repository.FootprintReport"
+    jvmArgs("-Xmx12g", "-XX:MaxDirectMemorySize=8g", "-XX:+UseParallelGC")
+    findProperty("footprint.args")?.let { args(it.toString().split(" ").filter(String::isNotBlank)) }
+}
+
+// load test tasks : 서버를 띄운 뒤 ./gradlew loadTest -PloadTest.args="--concurrency=20000 --requests=100000"
+tasks.register<JavaExec>("loadTest") {
+    group = "verification"
+    description = "실행 중인 서버에 동시 요청을 보내 처리량과 동시 처리 수를 측정한다."
+    classpath = sourceSets["loadTest"].runtimeClasspath
+    mainClass = "io.hhplus.tdd.load.PointLoadTest"
+    findProperty("loadTest.args")?.let { args(it.toString().split(" ").filter(String::isNotBlank)) }
+}
+
 // bundling tasks
 tasks.getByName("bootJar") {
     enabled = true
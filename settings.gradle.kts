@@ -5,6 +5,11 @@ pluginManagement {
     }
 }
 
+plugins {
+    // 로컬에 JDK 21 이 없으면 toolchain 을 내려받는다
+    id("org.gradle.toolchains.foojay-resolver-convention") version "0.7.0"
+}
+
 dependencyResolutionManagement {
     @Suppress("UnstableApiUsage")
     repositories {
@@ -0,0 +1,41 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 벤치마크용 PointHistoryTable. throttle 은 0 ~ maxDelayMicros 사이로 조절하고 기본값 0 이면 대기하지 않는다.
+ */
+public class BenchmarkPointHistoryTable extends PointHistoryTable {
+
+    private final Queue<PointHistory> table = new ConcurrentLinkedQueue<>();
+    private final AtomicLong cursor = new AtomicLong(1);
+    private volatile long maxDelayMicros;
+
+    // 초기 데이터를 채운 뒤 켜서 준비 시간이 throttle 에 묶이지 않게 한다
+    public void throttle(long maxDelayMicros) {
+        this.maxDelayMicros = maxDelayMicros;
+    }
+
+    @Override
+    public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+        if (maxDelayMicros > 0)
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxDelayMicros * 1_000L + 1));
+
+        PointHistory pointHistory = new PointHistory(cursor.getAndIncrement(), userId, amount, type, updateMillis);
+        table.add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> selectAllByUserId(long userId) {
+        return table.stream().filter(pointHistory -> pointHistory.userId() == userId).toList();
+    }
+}
@@ -0,0 +1,45 @@
+package io.hhplus.tdd.database;
+
+import io.hhplus.tdd.point.UserPoint;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 벤치마크용 UserPointTable. throttle 은 0 ~ maxDelayMicros 사이로 조절하고 기본값 0 이면 대기하지 않는다.
+ * 저장하는 잔액은 바꾸지 않는다. 잔액이 정책 한도에 닿지 않게 하는 것은 벤치마크가 요청 금액으로 맞춘다.
+ */
+public class BenchmarkUserPointTable extends UserPointTable {
+
+    /** 최대 보유 포인트(100만)의 절반. 충전과 사용 어느 쪽으로도 여유가 있다 */
+    public static final long INITIAL_BALANCE = 500_000L;
+
+    private final Map<Long, UserPoint> table = new ConcurrentHashMap<>();
+    private volatile long maxDelayMicros;
+
+    // 초기 데이터를 채운 뒤 켜서 준비 시간이 throttle 에 묶이지 않게 한다
+    public void throttle(long maxDelayMicros) {
+        this.maxDelayMicros = maxDelayMicros;
+    }
+
+    @Override
+    public UserPoint selectById(Long id) {
+        delay();
+        return table.getOrDefault(id, UserPoint.empty(id));
+    }
+
+    @Override
+    public UserPoint insertOrUpdate(long id, long amount) {
+        delay();
+        UserPoint userPoint = new UserPoint(id, amount, System.currentTimeMillis());
+        table.put(id, userPoint);
+        return userPoint;
+    }
+
+    private void delay() {
+        if (maxDelayMicros > 0)
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(maxDelayMicros * 1_000L + 1));
+    }
+}
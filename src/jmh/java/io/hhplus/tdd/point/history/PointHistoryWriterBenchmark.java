@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 저장이 끝날 때까지 기다리는 이력 저장 방식별 처리량과 지연 분포
+ * - SYNC : 요청 스레드가 직접 저장한다. 저장소가 동시 저장을 받는 만큼 처리량이 늘어난다
+ * - WRITE_BEHIND(WRITTEN) : 단일 백그라운드 스레드가 한 건씩 저장하므로 처리량이 1 / insertMicros 에서 멈춘다
+ * - GROUP_COMMIT : 단일 스레드가 묶음을 차례로 저장하므로 묶음 안의 요청은 묶음 전체 저장 시간을 기다린다.
+ *   묶음 단위 고정 비용이 작은 메모리 저장소에서는 대기열 전달 비용을 묶음으로 나눠 처리량이 늘지만,
+ *   insertMicros 가 커지면 지연이 batchSize * insertMicros 까지 늘어난다.
+ *   테이블 저장소(최대 300ms)라면 64 건 묶음의 마지막 요청이 평균 9.6초를 기다리므로 group commit 을 막아 두었다
+ * 저장 비용은 columnar 저장소 앞에서 insertMicros 만큼 쉬게 해서 흉내 낸다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointHistoryWriterBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PointHistoryWriterBenchmark {
+
+    @Param({"SYNC", "WRITE_BEHIND", "GROUP_COMMIT"})
+    private HistoryWriteMode mode;
+
+    @Param({"0", "50"})
+    private long insertMicros;
+
+    @Param({"64"})
+    private int batchSize;
+
+    @Param({"0", "1000"})
+    private long batchWaitMicros;
+
+    private PointSagaCoordinator sagas;
+    private PointHistoryWriter writer;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        long insertNanos = TimeUnit.MICROSECONDS.toNanos(insertMicros);
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository() {
+            @Override
+            public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+                if (insertNanos > 0)
+                    LockSupport.parkNanos(insertNanos);
+                return super.save(userId, amount, type, updateMillis);
+            }
+        };
+        PointMetrics metrics = new PointMetrics(new SimpleMeterRegistry());
+        sagas = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(50), Duration.ofSeconds(5), 10,
+                Duration.ZERO, Duration.ofMinutes(1)), metrics);
+        writer = new PointHistoryWriter(repository, new PointHistoryProperties(mode, HistoryAck.WRITTEN, 10_000,
+                Duration.ofSeconds(1), Duration.ofSeconds(10), batchSize, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(batchWaitMicros))),
+                metrics, sagas);
+    }
+
+    @TearDown(Level.Iteration)
+    public void tearDown() {
+        writer.shutdown();
+        sagas.close();
+    }
+
+    @Benchmark
+    public void write() {
+        writer.write(ThreadLocalRandom.current().nextLong(1, 10_001), 1_000L, TransactionType.CHARGE, System.currentTimeMillis());
+    }
+}
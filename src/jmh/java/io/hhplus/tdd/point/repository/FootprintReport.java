@@ -0,0 +1,124 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+
+import java.lang.management.BufferPoolMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 저장소 구현별 메모리 사용량 비교
+ * - balance : UserPointTable 과 같은 HashMap&lt;Long, UserPoint&gt; vs OffHeapUserPointRepository
+ * - history : PointHistoryTable 과 같은 ArrayList&lt;PointHistory&gt; (+ 유저별 인덱스) vs ColumnarPointHistoryRepository
+ * 힙은 전체 GC 후 사용량 차이로, off-heap 은 direct buffer pool 사용량 차이로 잰다.
+ *
+ * 잔액 측정 예 (JDK 17, 힙 4GB 미만이라 압축 OOP)
+ * - 1,000만 명 : HashMap 약 1.04GB 힙 (104 B/user), off-heap 427MB (42.7 B/user, 힙 증가 없음)
+ * - 5,000만 명 : HashMap 은 약 5.2GB 로 예상되어 이 환경(5GB)에서 잴 수 없었다. off-heap 2.13GB (42.7 B/user)
+ * off-heap 은 capacity / 0.75 개 슬롯 * 32 byte 를 시작할 때 모두 잡으므로 유저 수와 상관없이 capacity 로 정해진다.
+ *
+ * ./gradlew footprint -Pfootprint.args="balance 10000000 50000000"
+ * ./gradlew footprint -Pfootprint.args="history 10000000 50000000"
+ */
+public class FootprintReport {
+
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    public static void main(String[] args) {
+        String target = args.length > 0 ? args[0] : "balance";
+        int[] counts = args.length > 1
+                ? java.util.Arrays.stream(args, 1, args.length).mapToInt(Integer::parseInt).toArray()
+                : new int[]{10_000_000, 50_000_000};
+
+        for (int count : counts) {
+            switch (target) {
+                case "balance" -> reportBalance(count);
+                case "history" -> reportHistory(count);
+                default -> throw new IllegalArgumentException("알 수 없는 대상 : " + target);
+            }
+        }
+    }
+
+    private static void reportBalance(int users) {
+        long heapBefore = usedHeap();
+        Map<Long, UserPoint> table = new HashMap<>();
+        for (long userId = 1; userId <= users; userId++)
+            table.put(userId, new UserPoint(userId, 10_000L, userId));
+        long tableHeap = usedHeap() - heapBefore;
+        System.out.printf("[balance] users=%,d size=%,d%n", users, table.size());
+        table = null;
+
+        heapBefore = usedHeap();
+        long directBefore = usedDirect();
+        OffHeapUserPointRepository offHeap = new OffHeapUserPointRepository(
+                new PointStorageProperties(StorageType.TABLE, StorageType.TABLE, 1, users));
+        for (long userId = 1; userId <= users; userId++)
+            offHeap.save(userId, 10_000L);
+        long offHeapHeap = usedHeap() - heapBefore;
+        long offHeapDirect = usedDirect() - directBefore;
+
+        print("HashMap<Long, UserPoint>", users, tableHeap, 0);
+        print("OffHeapUserPointRepository", users, offHeapHeap, offHeapDirect);
+        System.out.printf("  (off-heap size=%,d)%n", offHeap.size());
+    }
+
+    // 유저당 평균 100건, 충전/사용 번갈아, 1ms 간격으로 쌓인 이력
+    private static void reportHistory(int rows) {
+        int users = Math.max(rows / 100, 1);
+        long startMillis = System.currentTimeMillis();
+
+        long heapBefore = usedHeap();
+        List<PointHistory> table = new ArrayList<>();
+        for (int i = 0; i < rows; i++)
+            table.add(history(i, users, startMillis));
+        long tableHeap = usedHeap() - heapBefore;
+
+        PointHistoryIndex index = new PointHistoryIndex();
+        for (PointHistory history : table)
+            index.add(history);
+        long indexedHeap = usedHeap() - heapBefore;
+        System.out.printf("[history] rows=%,d users=%,d size=%,d%n", rows, users, table.size());
+        table = null;
+        index = null;
+
+        heapBefore = usedHeap();
+        ColumnarPointHistoryRepository columnar = new ColumnarPointHistoryRepository();
+        for (int i = 0; i < rows; i++)
+            columnar.save(1 + i % users, 1_000L * (1 + i % 100), TYPES[i & 1], startMillis + i);
+        long columnarHeap = usedHeap() - heapBefore;
+
+        print("ArrayList<PointHistory>", rows, tableHeap, 0);
+        print("ArrayList + PointHistoryIndex", rows, indexedHeap, 0);
+        print("ColumnarPointHistoryRepository", rows, columnarHeap, 0);
+        System.out.printf("  (columnar size=%,d, vs ArrayList %.1fx, vs indexed %.1fx)%n",
+                columnar.size(), (double) tableHeap / columnarHeap, (double) indexedHeap / columnarHeap);
+    }
+
+    private static PointHistory history(int i, int users, long startMillis) {
+        return new PointHistory(i + 1L, 1 + i % users, 1_000L * (1 + i % 100), TYPES[i & 1], startMillis + i);
+    }
+
+    private static void print(String name, long rows, long heapBytes, long directBytes) {
+        long total = heapBytes + directBytes;
+        System.out.printf("  %-30s heap=%,12d B  off-heap=%,12d B  total=%,12d B  (%.1f B/row)%n",
+                name, heapBytes, directBytes, total, (double) total / rows);
+    }
+
+    private static long usedHeap() {
+        for (int i = 0; i < 3; i++)
+            System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private static long usedDirect() {
+        return ManagementFactory.getPlatformMXBeans(BufferPoolMXBean.class).stream()
+                .filter(pool -> pool.getName().equals("direct"))
+                .mapToLong(BufferPoolMXBean::getMemoryUsed)
+                .sum();
+    }
+}
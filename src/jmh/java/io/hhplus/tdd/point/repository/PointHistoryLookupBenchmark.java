@@ -0,0 +1,65 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 유저 한 명의 이력 조회 비용 비교
+ * - scanAndSort : PointHistoryTable.selectAllByUserId(전체 스캔) + 기존 getHistories 의 id 정렬
+ * - indexLookup : PointHistoryIndex 의 유저별 목록 조회
+ * 테이블은 insert 마다 throttle 이 걸려 1천만 건을 채울 수 없으므로 같은 ArrayList 구조를 직접 채워 비교한다.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms4g", "-Xmx4g"})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 5)
+public class PointHistoryLookupBenchmark {
+
+    @Param({"10000000"})
+    private int rows;
+
+    @Param({"100000"})
+    private int users;
+
+    private List<PointHistory> table;
+    private PointHistoryIndex index;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        table = new ArrayList<>(rows);
+        index = new PointHistoryIndex();
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (long id = 1; id <= rows; id++) {
+            TransactionType type = random.nextBoolean() ? TransactionType.CHARGE : TransactionType.USE;
+            PointHistory history = new PointHistory(id, random.nextLong(1, users + 1), 1_000L, type, id);
+            table.add(history);
+            index.add(history);
+        }
+    }
+
+    @Benchmark
+    public List<PointHistory> scanAndSort() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        return table.stream()
+                .filter(pointHistory -> pointHistory.userId() == userId)
+                .toList()
+                .stream()
+                .sorted(Comparator.comparing(PointHistory::id))
+                .toList();
+    }
+
+    @Benchmark
+    public List<PointHistory> indexLookup() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        return index.findAllByUserId(userId);
+    }
+}
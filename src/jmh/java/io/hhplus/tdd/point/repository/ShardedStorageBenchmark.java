@@ -0,0 +1,49 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 샤드 수에 따른 저장소 처리량
+ * shards=1 은 전체를 락 하나로 보호하는 단일 맵과 같다. 스레드 수가 코어 수 이상일 때 샤드 수에 따라 처리량이 늘어나는지 본다.
+ * 요청 한 번은 잔액 조회 + 잔액 저장 + 이력 저장으로 충전 한 건과 같은 저장소 호출을 흉내 낸다.
+ *
+ * ./gradlew jmh -Pjmh.includes=ShardedStorageBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(16)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class ShardedStorageBenchmark {
+
+    @Param({"1", "4", "16", "64"})
+    private int shards;
+
+    @Param({"100000"})
+    private int users;
+
+    private ShardedUserPointRepository userPointRepository;
+    private ShardedPointHistoryRepository pointHistoryRepository;
+
+    @Setup(Level.Iteration)
+    public void setUp() {
+        PointStorageProperties properties = new PointStorageProperties(StorageType.SHARDED, StorageType.SHARDED, shards, 0);
+        userPointRepository = new ShardedUserPointRepository(properties);
+        pointHistoryRepository = new ShardedPointHistoryRepository(properties);
+    }
+
+    @Benchmark
+    public UserPoint charge() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        UserPoint current = userPointRepository.findById(userId);
+        pointHistoryRepository.save(userId, 10_000L, TransactionType.CHARGE, current.updateMillis());
+        return userPointRepository.save(userId, current.point() + 10_000L);
+    }
+}
@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point.service;
+
+import ch.qos.logback.classic.Logger;
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.cache.BalanceCacheProperties;
+import io.hhplus.tdd.point.config.PointBatchProperties;
+import io.hhplus.tdd.point.config.PointExecutorConfig;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import io.hhplus.tdd.point.history.HistoryAck;
+import io.hhplus.tdd.point.history.HistoryWriteMode;
+import io.hhplus.tdd.point.history.PointHistoryProperties;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.ConcurrencyMode;
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.lock.UserLockProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.TableUserPointRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.slf4j.LoggerFactory;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 충전 경로의 요청당 할당량 측정
+ * - chargeAndUse : 정상 충전 후 같은 금액 사용 (성공 로그는 logLevel 이 DEBUG 일 때만 남는다).
+ *   잔액이 정책 한도에 닿지 않도록 한 번에 둘 다 하므로 B/op 는 충전과 사용 한 쌍의 할당량이다
+ * - chargeRejected : 충전 단위 위반으로 검증에서 거절되는 경로
+ * gc 프로파일러의 gc.alloc.rate.norm (B/op) 을 비교한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointChargeAllocationBenchmark -Pjmh.profilers=gc
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms1g", "-Xmx1g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PointChargeAllocationBenchmark {
+
+    private static final long USER_ID = 1L;
+    private static final PointBatchProperties BATCH_PROPERTIES = new PointBatchProperties(10_000, 1);
+
+    @Param({"INFO", "DEBUG"})
+    private String logLevel;
+
+    private Logger serviceLogger;
+    private ch.qos.logback.classic.Level originalLevel;
+    private ExecutorService batchExecutor;
+    private PointService service;
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        serviceLogger = (Logger) LoggerFactory.getLogger(PointService.class);
+        originalLevel = serviceLogger.getLevel();
+        serviceLogger.setLevel(ch.qos.logback.classic.Level.toLevel(logLevel));
+        batchExecutor = new PointExecutorConfig().pointBatchExecutor(BATCH_PROPERTIES, false);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        PointMetrics metrics = new PointMetrics(new SimpleMeterRegistry());
+        IndexedPointHistoryRepository pointHistoryRepository =
+                new IndexedPointHistoryRepository(new BenchmarkPointHistoryTable(), metrics);
+        BenchmarkUserPointTable userPointTable = new BenchmarkUserPointTable();
+        userPointTable.insertOrUpdate(USER_ID, BenchmarkUserPointTable.INITIAL_BALANCE);
+        PointSagaCoordinator sagas = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(50),
+                Duration.ofSeconds(5), 10, Duration.ZERO, Duration.ofMinutes(1)), metrics);
+
+        service = new PointService(
+                new TableUserPointRepository(userPointTable, metrics),
+                pointHistoryRepository,
+                new UserLockManager(new UserLockProperties(false, Duration.ofSeconds(30))),
+                new PointHistoryWriter(pointHistoryRepository, new PointHistoryProperties(HistoryWriteMode.SYNC,
+                        HistoryAck.QUEUED, 10_000, Duration.ofMillis(100), Duration.ofSeconds(10), 64, Duration.ofMillis(1)),
+                        metrics, sagas),
+                new BalanceCache(new BalanceCacheProperties(true, 1_000, Duration.ofMinutes(10))),
+                batchExecutor,
+                BATCH_PROPERTIES,
+                metrics,
+                new PointWal(new PointWalProperties(false, "build/wal", DataSize.ofMegabytes(64), true, Duration.ZERO)),
+                new PointConcurrencyProperties(ConcurrencyMode.PESSIMISTIC, 10, Duration.ofMillis(1), Duration.ofMillis(50),
+                        new PointConcurrencyProperties.Mailbox(256, 1)),
+                batchExecutor,
+                sagas);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        serviceLogger.setLevel(originalLevel);
+        batchExecutor.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint chargeAndUse() {
+        service.charge(USER_ID, 10_000L);
+        return service.use(USER_ID, 10_000L);
+    }
+
+    @Benchmark
+    public Object chargeRejected() {
+        try {
+            return service.charge(USER_ID, 15_000L);
+        } catch (PointValidationException e) {
+            return e;
+        }
+    }
+}
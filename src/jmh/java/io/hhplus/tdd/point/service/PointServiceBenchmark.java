@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.BenchmarkPointHistoryTable;
+import io.hhplus.tdd.database.BenchmarkUserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.cache.BalanceCacheProperties;
+import io.hhplus.tdd.point.config.PointBatchProperties;
+import io.hhplus.tdd.point.config.PointExecutorConfig;
+import io.hhplus.tdd.point.history.HistoryAck;
+import io.hhplus.tdd.point.history.HistoryWriteMode;
+import io.hhplus.tdd.point.history.PointHistoryProperties;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.ConcurrencyMode;
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.lock.UserLockProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.TableUserPointRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * PointService 주요 경로의 처리량과 지연 분포
+ * - Throughput : 초당 처리 건수
+ * - SampleTime : p50 / p90 / p99 / p99.9 지연
+ * 요청 분포(SINGLE / UNIFORM / ZIPFIAN)로 락 경합 정도를 바꾸고, 테이블 throttle 은 throttleMicros 로 조절한다 (0 이면 대기 없음).
+ * 반복마다 테이블과 서비스를 새로 만들어 이력이 쌓이면서 측정값이 변하지 않게 한다.
+ * chargeOrUse 는 스레드마다 같은 유저에게 충전과 같은 금액의 사용을 번갈아 보낸다. 한 스레드가 한 유저에게 남기는 잔액 변화는
+ * 최대 +AMOUNT 이므로 잔액은 INITIAL_BALANCE ~ INITIAL_BALANCE + 스레드 수 * AMOUNT 사이에 머물고(스레드 50 개까지 한도 안),
+ * 정책 한도 예외 경로가 섞이지 않는다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointServiceBenchmark
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+public class PointServiceBenchmark {
+
+    private static final int SAMPLES = 1 << 16;
+    private static final int SEEDED_HISTORIES = 20;
+    private static final long AMOUNT = 10_000L;
+    private static final PointBatchProperties BATCH_PROPERTIES = new PointBatchProperties(10_000, 1);
+
+    @Param({"SINGLE", "UNIFORM", "ZIPFIAN"})
+    private UserIdDistribution distribution;
+
+    @Param({"10000"})
+    private int users;
+
+    @Param({"true", "false"})
+    private boolean cacheEnabled;
+
+    @Param({"0"})
+    private long throttleMicros;
+
+    private long[] userIds;
+    private ExecutorService batchExecutor;
+    private PointService service;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next = ThreadLocalRandom.current().nextInt(SAMPLES);
+        // 충전한 유저. 다음 호출에서 같은 유저에게 사용을 보내고 비운다
+        private long charged;
+
+        long nextUserId(long[] userIds) {
+            return userIds[next++ & (SAMPLES - 1)];
+        }
+    }
+
+    @Setup(Level.Trial)
+    public void setUpTrial() {
+        userIds = distribution.sample(users, SAMPLES, 42L);
+        batchExecutor = new PointExecutorConfig().pointBatchExecutor(BATCH_PROPERTIES, false);
+    }
+
+    @Setup(Level.Iteration)
+    public void setUpIteration() {
+        // 운영과 같이 계측 비용을 포함해 측정한다
+        PointMetrics metrics = new PointMetrics(new SimpleMeterRegistry());
+        BenchmarkUserPointTable userPointTable = new BenchmarkUserPointTable();
+        BenchmarkPointHistoryTable pointHistoryTable = new BenchmarkPointHistoryTable();
+        IndexedPointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(pointHistoryTable, metrics);
+
+        for (long userId = 1; userId <= users; userId++) {
+            userPointTable.insertOrUpdate(userId, BenchmarkUserPointTable.INITIAL_BALANCE);
+            for (int i = 0; i < SEEDED_HISTORIES; i++)
+                pointHistoryRepository.save(userId, 10_000L, TransactionType.CHARGE, i);
+        }
+        userPointTable.throttle(throttleMicros);
+        pointHistoryTable.throttle(throttleMicros);
+
+        PointHistoryProperties historyProperties = new PointHistoryProperties(HistoryWriteMode.SYNC, HistoryAck.QUEUED,
+                10_000, Duration.ofMillis(100), Duration.ofSeconds(10), 64, Duration.ofMillis(1));
+        PointSagaCoordinator sagas = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(50),
+                Duration.ofSeconds(5), 10, Duration.ZERO, Duration.ofMinutes(1)), metrics);
+        service = new PointService(
+                new TableUserPointRepository(userPointTable, metrics),
+                pointHistoryRepository,
+                new UserLockManager(new UserLockProperties(false, Duration.ofSeconds(30))),
+                new PointHistoryWriter(pointHistoryRepository, historyProperties, metrics, sagas),
+                new BalanceCache(new BalanceCacheProperties(cacheEnabled, users, Duration.ofMinutes(10))),
+                batchExecutor,
+                BATCH_PROPERTIES,
+                metrics,
+                new PointWal(new PointWalProperties(false, "build/wal", DataSize.ofMegabytes(64), true, Duration.ZERO)),
+                new PointConcurrencyProperties(ConcurrencyMode.PESSIMISTIC, 10, Duration.ofMillis(1), Duration.ofMillis(50),
+                        new PointConcurrencyProperties.Mailbox(256, 1)),
+                batchExecutor,
+                sagas);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchExecutor.shutdown();
+    }
+
+    @Benchmark
+    public UserPoint chargeOrUse(Cursor cursor) {
+        if (cursor.charged == 0) {
+            cursor.charged = cursor.nextUserId(userIds);
+            return service.charge(cursor.charged, AMOUNT);
+        }
+
+        long userId = cursor.charged;
+        cursor.charged = 0;
+        return service.use(userId, AMOUNT);
+    }
+
+    @Benchmark
+    public UserPoint getBalance(Cursor cursor) {
+        return service.getBalance(cursor.nextUserId(userIds));
+    }
+
+    @Benchmark
+    public List<PointHistory> getHistories(Cursor cursor) {
+        return service.getHistories(cursor.nextUserId(userIds));
+    }
+}
@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.Random;
+
+/**
+ * 벤치마크 요청이 유저에게 어떻게 몰리는지
+ * - SINGLE : 모든 요청이 한 유저에게 몰린다 (락 경합 최대)
+ * - UNIFORM : 모든 유저에게 고르게 나뉜다
+ * - ZIPFIAN : 소수의 인기 유저에게 몰린다 (지수 1.0)
+ */
+public enum UserIdDistribution {
+    SINGLE,
+    UNIFORM,
+    ZIPFIAN;
+
+    private static final double ZIPF_EXPONENT = 1.0;
+
+    /**
+     * 측정 중 난수 생성 비용이 섞이지 않도록 미리 뽑아 둔 userId 목록을 만든다.
+     */
+    public long[] sample(int users, int count, long seed) {
+        Random random = new Random(seed);
+        long[] userIds = new long[count];
+        double[] cumulative = this == ZIPFIAN ? zipfCumulative(users) : null;
+
+        for (int i = 0; i < count; i++) {
+            userIds[i] = switch (this) {
+                case SINGLE -> 1L;
+                case UNIFORM -> 1L + random.nextInt(users);
+                case ZIPFIAN -> 1L + lowerBound(cumulative, random.nextDouble());
+            };
+        }
+        return userIds;
+    }
+
+    private static double[] zipfCumulative(int users) {
+        double[] cumulative = new double[users];
+        double sum = 0;
+        for (int rank = 1; rank <= users; rank++) {
+            sum += 1.0 / Math.pow(rank, ZIPF_EXPONENT);
+            cumulative[rank - 1] = sum;
+        }
+        for (int i = 0; i < users; i++)
+            cumulative[i] /= sum;
+        return cumulative;
+    }
+
+    private static int lowerBound(double[] cumulative, double value) {
+        int low = 0;
+        int high = cumulative.length - 1;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (cumulative[mid] < value)
+                low = mid + 1;
+            else
+                high = mid;
+        }
+        return low;
+    }
+}
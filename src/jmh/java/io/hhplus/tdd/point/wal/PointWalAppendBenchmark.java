@@ -0,0 +1,60 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 요청 스레드가 WAL 에 기록하고 디스크 동기화까지 기다리는 처리량.
+ * fsync=true 에서 syncsPerRecord 가 1 보다 작을수록 fsync 한 번에 여러 요청이 묶인 것이다 (group commit).
+ * 측정이 끝날 때까지 기록이 계속 쌓이므로 수억 건, 수십 GB 까지 디스크를 쓸 수 있다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointWalAppendBenchmark
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@State(Scope.Benchmark)
+@Threads(8)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+public class PointWalAppendBenchmark {
+
+    @Param({"true", "false"})
+    private boolean fsync;
+
+    @Param({"0", "1000"})
+    private long groupCommitDelayMicros;
+
+    @Param({"1000000"})
+    private int users;
+
+    private Path directory;
+    private PointWal wal;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = WalFiles.createDirectory();
+        wal = WalFiles.open(directory, fsync, Duration.ofNanos(TimeUnit.MICROSECONDS.toNanos(groupCommitDelayMicros)));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        System.out.printf("%n[wal] records=%,d syncs=%,d syncsPerRecord=%.4f%n",
+                wal.lastSequence(), wal.syncCount(), (double) wal.syncCount() / Math.max(wal.lastSequence(), 1));
+        wal.close();
+        WalFiles.delete(directory);
+    }
+
+    @Benchmark
+    public long appendAndAwait() {
+        long userId = ThreadLocalRandom.current().nextLong(1, users + 1);
+        long sequence = wal.append(userId, 1_000L, TransactionType.CHARGE, 10_000L, System.currentTimeMillis());
+        wal.awaitDurable(sequence);
+        return sequence;
+    }
+}
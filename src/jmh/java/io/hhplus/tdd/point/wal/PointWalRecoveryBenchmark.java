@@ -0,0 +1,120 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.history.HistoryAck;
+import io.hhplus.tdd.point.history.HistoryWriteMode;
+import io.hhplus.tdd.point.history.PointHistoryProperties;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointStorageProperties;
+import io.hhplus.tdd.point.repository.ShardedUserPointRepository;
+import io.hhplus.tdd.point.repository.StorageType;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * records 건이 쌓인 WAL 로 재시작할 때 걸리는 시간
+ * - scan : 세그먼트를 읽고 crc 를 확인하는 데까지 (WAL 자체의 읽기 비용)
+ * - recover : 스냅샷 없이 잔액(sharded)과 이력(columnar) 저장소까지 복구
+ * - recoverBalances : 마지막 tail 건 앞에서 만든 잔액 스냅샷 + 그 뒤 WAL 로 잔액만 복구 (records 와 상관없이 tail 에 비례해야 한다)
+ * 준비 단계에서 records 건을 fsync 없이 기록하며, 그때의 기록 처리량과 스냅샷 생성 시간도 함께 출력한다.
+ * 100M 건이면 WAL 이 약 4.8GB 이므로 디스크 여유를 확인하고 실행한다.
+ *
+ * ./gradlew jmh -Pjmh.includes=PointWalRecoveryBenchmark
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1, jvmArgsAppend = {"-Xms6g", "-Xmx6g"})
+@Warmup(iterations = 1)
+@Measurement(iterations = 3)
+public class PointWalRecoveryBenchmark {
+
+    @Param({"100000000"})
+    private long records;
+
+    @Param({"1000000"})
+    private int users;
+
+    @Param({"1000000"})
+    private long tail;
+
+    private Path directory;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        directory = WalFiles.createDirectory();
+        PointWal wal = WalFiles.open(directory, false, Duration.ZERO);
+        long startedAt = System.nanoTime();
+        WalFiles.fill(wal, records - tail, users);
+        double seconds = (System.nanoTime() - startedAt) / 1e9;
+        System.out.printf("%n[wal] appended %,d records in %.1fs (%,.0f records/s)%n", records - tail, seconds, (records - tail) / seconds);
+
+        startedAt = System.nanoTime();
+        new PointCheckpointer(wal, snapshotStore(), new PointSnapshotProperties(false, "", Duration.ZERO, 0, 1)).checkpoint(1);
+        System.out.printf("[snapshot] checkpoint at %,d in %.1fs%n", records - tail, (System.nanoTime() - startedAt) / 1e9);
+
+        WalFiles.fill(wal, tail, users);
+        wal.close();
+    }
+
+    private BalanceSnapshotStore snapshotStore() {
+        return new BalanceSnapshotStore(directory.resolve("snapshot"), 1);
+    }
+
+    private static PointStorageProperties storage() {
+        return new PointStorageProperties(StorageType.SHARDED, StorageType.COLUMNAR, 64, 0);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        WalFiles.delete(directory);
+    }
+
+    @Benchmark
+    public long scan(Blackhole blackhole) {
+        PointWal wal = WalFiles.open(directory, false, Duration.ZERO);
+        try {
+            return wal.replay(blackhole::consume);
+        } finally {
+            wal.close();
+        }
+    }
+
+    @Benchmark
+    public long recover() {
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository();
+        PointMetrics metrics = new PointMetrics(new SimpleMeterRegistry());
+        PointSagaCoordinator sagas = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(50),
+                Duration.ofSeconds(5), 10, Duration.ZERO, Duration.ofMinutes(1)), metrics);
+        PointHistoryWriter writer = new PointHistoryWriter(pointHistoryRepository, new PointHistoryProperties(
+                HistoryWriteMode.SYNC, HistoryAck.QUEUED, 1, Duration.ZERO, Duration.ZERO, 1, Duration.ZERO), metrics, sagas);
+        PointWal wal = WalFiles.open(directory, false, Duration.ZERO);
+        try {
+            PointWalRecovery recovery = new PointWalRecovery(new ShardedUserPointRepository(storage()), pointHistoryRepository,
+                    new BalanceSnapshotStore(directory.resolve("none"), 1));
+            return recovery.recoverBalances(wal) + recovery.restoreHistories(wal, writer).join();
+        } finally {
+            sagas.close();
+            wal.close();
+        }
+    }
+
+    @Benchmark
+    public long recoverBalances() {
+        PointWal wal = WalFiles.open(directory, false, Duration.ZERO);
+        try {
+            return new PointWalRecovery(new ShardedUserPointRepository(storage()), new ColumnarPointHistoryRepository(),
+                    snapshotStore()).recoverBalances(wal);
+        } finally {
+            wal.close();
+        }
+    }
+}
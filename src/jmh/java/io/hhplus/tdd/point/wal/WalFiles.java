@@ -0,0 +1,51 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * 벤치마크용 WAL 디렉터리 준비/정리
+ */
+final class WalFiles {
+
+    static final DataSize SEGMENT_SIZE = DataSize.ofMegabytes(1024);
+
+    private WalFiles() {
+    }
+
+    static Path createDirectory() {
+        try {
+            return Files.createTempDirectory("point-wal-bench");
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static PointWal open(Path directory, boolean fsync, Duration groupCommitDelay) {
+        return new PointWal(new PointWalProperties(true, directory.toString(), SEGMENT_SIZE, fsync, groupCommitDelay));
+    }
+
+    // userId 는 1 ~ users 를 돌아가며, 충전 두 번에 사용 한 번 꼴로 기록한다
+    static void fill(PointWal wal, long records, int users) {
+        for (long i = 0; i < records; i++) {
+            TransactionType type = i % 3 == 2 ? TransactionType.USE : TransactionType.CHARGE;
+            wal.append(1 + i % users, 1_000L, type, 1_000L * (i / users + 1), i);
+        }
+    }
+
+    static void delete(Path directory) {
+        try (Stream<Path> files = Files.walk(directory)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
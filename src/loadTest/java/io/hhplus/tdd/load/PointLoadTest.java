@@ -0,0 +1,134 @@
+package io.hhplus.tdd.load;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 실행 중인 서버에 동시 요청을 보내 동시 처리 수와 처리량을 측정한다.
+ * 요청마다 가상 스레드를 하나씩 쓰므로 클라이언트가 동시 요청 수의 병목이 되지 않는다.
+ *
+ * <pre>
+ * ./gradlew bootRun --args='--spring.profiles.active=virtual'
+ * ./gradlew loadTest -PloadTest.args="--scenario=charge --concurrency=20000 --requests=100000"
+ * </pre>
+ *
+ * 옵션 (모두 --이름=값 형식)
+ * - url : 서버 주소 (기본 http://localhost:8080)
+ * - scenario : charge(충전) | balance(잔액 조회)
+ * - concurrency : 동시에 보낼 최대 요청 수
+ * - requests : 전체 요청 수
+ * - users : 요청을 나눠 받을 유저 수. 같은 유저 요청은 서버에서 직렬화되므로 동시 요청 수 이상으로 둔다
+ * - timeout : 요청별 응답 제한 시간(초)
+ *
+ * 수만 개의 연결을 열어야 하므로 실행 전 클라이언트/서버 모두 ulimit -n 을 충분히 올려 둔다.
+ */
+public class PointLoadTest {
+
+    private static final long CHARGE_AMOUNT = 10_000L;
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parse(args);
+        String url = options.getOrDefault("url", "http://localhost:8080");
+        String scenario = options.getOrDefault("scenario", "charge");
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "10000"));
+        int requests = Integer.parseInt(options.getOrDefault("requests", "100000"));
+        int users = Integer.parseInt(options.getOrDefault("users", String.valueOf(Math.max(concurrency, 1))));
+        Duration timeout = Duration.ofSeconds(Long.parseLong(options.getOrDefault("timeout", "60")));
+
+        HttpClient client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(timeout)
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .build();
+
+        Semaphore permits = new Semaphore(concurrency);
+        AtomicInteger inFlight = new AtomicInteger();
+        AtomicInteger peakInFlight = new AtomicInteger();
+        LongAdder succeeded = new LongAdder();
+        LongAdder failed = new LongAdder();
+        LongAdder errors = new LongAdder();
+        long[] latencies = new long[requests];
+
+        System.out.printf("scenario=%s, concurrency=%d, requests=%d, users=%d, url=%s%n",
+                scenario, concurrency, requests, users, url);
+
+        long startedAt = System.nanoTime();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < requests; i++) {
+                permits.acquire();
+                HttpRequest request = request(url, scenario, 1 + (i % users), timeout);
+                int index = i;
+                executor.submit(() -> {
+                    peakInFlight.accumulateAndGet(inFlight.incrementAndGet(), Math::max);
+                    long sentAt = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() / 100 == 2)
+                            succeeded.increment();
+                        else
+                            failed.increment();
+                    } catch (Exception e) {
+                        errors.increment();
+                    } finally {
+                        latencies[index] = System.nanoTime() - sentAt;
+                        inFlight.decrementAndGet();
+                        permits.release();
+                    }
+                });
+            }
+        }
+        long elapsedNanos = System.nanoTime() - startedAt;
+
+        Arrays.sort(latencies);
+        double elapsedSeconds = elapsedNanos / 1e9;
+        System.out.printf("elapsed=%.1fs, throughput=%.0f req/s, peak in-flight=%d%n",
+                elapsedSeconds, requests / elapsedSeconds, peakInFlight.get());
+        System.out.printf("2xx=%d, non-2xx=%d, io errors=%d%n", succeeded.sum(), failed.sum(), errors.sum());
+        System.out.printf("latency ms p50=%d, p95=%d, p99=%d, max=%d%n",
+                percentile(latencies, 0.50), percentile(latencies, 0.95),
+                percentile(latencies, 0.99), TimeUnit.NANOSECONDS.toMillis(latencies[requests - 1]));
+    }
+
+    private static HttpRequest request(String url, String scenario, long userId, Duration timeout) {
+        return switch (scenario) {
+            case "charge" -> HttpRequest.newBuilder(URI.create(url + "/point/" + userId + "/charge"))
+                    .timeout(timeout)
+                    .header("Content-Type", "application/json")
+                    .method("PATCH", HttpRequest.BodyPublishers.ofString(String.valueOf(CHARGE_AMOUNT)))
+                    .build();
+            case "balance" -> HttpRequest.newBuilder(URI.create(url + "/point/" + userId))
+                    .timeout(timeout)
+                    .GET()
+                    .build();
+            default -> throw new IllegalArgumentException("알 수 없는 시나리오 : " + scenario);
+        };
+    }
+
+    private static long percentile(long[] sortedNanos, double ratio) {
+        int index = (int) Math.ceil(ratio * sortedNanos.length) - 1;
+        return TimeUnit.NANOSECONDS.toMillis(sortedNanos[Math.max(index, 0)]);
+    }
+
+    private static Map<String, String> parse(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || !arg.contains("="))
+                throw new IllegalArgumentException("--이름=값 형식이어야 합니다 : " + arg);
+            int separator = arg.indexOf('=');
+            options.put(arg.substring(2, separator), arg.substring(separator + 1));
+        }
+        return options;
+    }
+}
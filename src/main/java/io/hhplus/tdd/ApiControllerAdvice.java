@@ -1,12 +1,60 @@
 package io.hhplus.tdd;
 
+import io.hhplus.tdd.point.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.exception.InvalidUserIdException;
+import io.hhplus.tdd.point.exception.MaxPointBalanceExceededException;
+import io.hhplus.tdd.point.exception.NegativePointBalanceException;
+import io.hhplus.tdd.point.exception.PointBulkheadFullException;
+import io.hhplus.tdd.point.exception.PointUpdateConflictException;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import org.springframework.web.servlet.mvc.method.annotation.ResponseEntityExceptionHandler;
 
+import java.util.concurrent.TimeoutException;
+
 @RestControllerAdvice
 class ApiControllerAdvice extends ResponseEntityExceptionHandler {
+
+    // 금액/userId 형식이 정책에 맞지 않는 요청
+    @ExceptionHandler(value = {PointValidationException.class, InvalidUserIdException.class})
+    public ResponseEntity<ErrorResponse> handleValidationException(RuntimeException e) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(new ErrorResponse("400", e.getMessage()));
+    }
+
+    // 형식은 맞지만 현재 잔액으로는 처리할 수 없는 요청
+    @ExceptionHandler(value = {MaxPointBalanceExceededException.class, NegativePointBalanceException.class})
+    public ResponseEntity<ErrorResponse> handleBalanceRuleException(PointValidationException e) {
+        return ResponseEntity.status(HttpStatus.UNPROCESSABLE_ENTITY).body(new ErrorResponse("422", e.getMessage()));
+    }
+
+    // 이미 다른 요청에 쓴 Idempotency-Key 로 들어온 요청
+    @ExceptionHandler(value = IdempotencyKeyConflictException.class)
+    public ResponseEntity<ErrorResponse> handleIdempotencyKeyConflict(IdempotencyKeyConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    // OPTIMISTIC 모드에서 같은 유저의 다른 요청과 계속 충돌한 요청. 잔액은 바뀌지 않았으므로 다시 시도할 수 있다
+    @ExceptionHandler(value = PointUpdateConflictException.class)
+    public ResponseEntity<ErrorResponse> handleUpdateConflict(PointUpdateConflictException e) {
+        return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("409", e.getMessage()));
+    }
+
+    // 비동기 처리 한도를 넘어 받지 않은 요청. 잠시 뒤 다시 시도할 수 있다
+    @ExceptionHandler(value = PointBulkheadFullException.class)
+    public ResponseEntity<ErrorResponse> handleBulkheadFull(PointBulkheadFullException e) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(new ErrorResponse("503", e.getMessage()));
+    }
+
+    // 응답 대기만 끝났을 뿐 요청은 계속 처리 중이라 반영됐는지 알 수 없다. 같은 Idempotency-Key 로 다시 요청하면 결과를 돌려받는다
+    @ExceptionHandler(value = TimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleTimeout(TimeoutException e) {
+        return ResponseEntity.status(HttpStatus.GATEWAY_TIMEOUT).body(new ErrorResponse("504",
+                "처리 시간이 초과되어 반영 여부를 알 수 없습니다. 같은 Idempotency-Key 로 다시 요청해 주세요."));
+    }
+
     @ExceptionHandler(value = Exception.class)
     public ResponseEntity<ErrorResponse> handleException(Exception e) {
         return ResponseEntity.status(500).body(new ErrorResponse("500", "에러가 발생했습니다."));
@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 잔액과 이력 합계(충전 합계 - 사용 합계) 대조 결과
+ * - MATCHED : 같다
+ * - MISMATCHED : 다르고 맞추지 않았다
+ * - REPAIRED : 달라서 잔액을 이력 합계로 맞췄다. balance 는 맞추기 전 잔액이다
+ * - DEFERRED : 저장 전인 이력이나 보상 중인 변경이 있어 지금은 판단할 수 없다
+ */
+public record BalanceCheck(long userId, long balance, long historyBalance, Status status) {
+
+    public enum Status {
+        MATCHED, MISMATCHED, REPAIRED, DEFERRED
+    }
+}
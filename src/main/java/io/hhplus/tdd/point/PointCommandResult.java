@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 일괄 처리 항목별 결과
+ * - point : 성공 시 해당 항목까지 반영된 잔액
+ * - errorMessage : 실패 사유 (성공 시 null)
+ */
+public record PointCommandResult(
+        long userId,
+        long amount,
+        TransactionType type,
+        boolean success,
+        UserPoint point,
+        String errorMessage
+) {
+
+    public static PointCommandResult applied(PointCommand command, UserPoint point) {
+        return new PointCommandResult(command.userId(), command.amount(), command.type(), true, point, null);
+    }
+
+    public static PointCommandResult rejected(PointCommand command, String errorMessage) {
+        return new PointCommandResult(command.userId(), command.amount(), command.type(), false, null, errorMessage);
+    }
+}
@@ -0,0 +1,22 @@
+package io.hhplus.tdd.point;
+
+import java.util.List;
+
+/**
+ * 커서 조회 결과
+ * - nextCursor : 다음 페이지 조회 시 afterId 로 넘길 값 (마지막 페이지면 null)
+ */
+public record PointHistoryPage(
+        List<PointHistory> histories,
+        Long nextCursor
+) {
+
+    /** limit 보다 하나 더 조회한 결과로 다음 페이지 존재 여부를 판단한다 */
+    public static PointHistoryPage of(List<PointHistory> fetched, int limit) {
+        if (fetched.size() <= limit)
+            return new PointHistoryPage(fetched, null);
+
+        List<PointHistory> histories = List.copyOf(fetched.subList(0, limit));
+        return new PointHistoryPage(histories, histories.get(limit - 1).id());
+    }
+}
@@ -0,0 +1,48 @@
+package io.hhplus.tdd.point;
+
+/**
+ * 포인트 이력 커서 조회 조건
+ * - afterId : 이 id 다음 이력부터 조회한다 (null 이면 처음부터)
+ * - limit : 최대 조회 개수
+ * - type : 트랜잭션 종류 필터 (null 이면 전체)
+ * - fromMillis, toMillis : updateMillis 범위 [from, to) 필터 (null 이면 제한 없음)
+ */
+public record PointHistoryQuery(
+        Long afterId,
+        int limit,
+        TransactionType type,
+        Long fromMillis,
+        Long toMillis
+) {
+    public static final int DEFAULT_LIMIT = 100;
+    public static final int MAX_LIMIT = 1_000;
+    /** 개수 제한 없이 조건에 맞는 이력을 모두 조회할 때의 limit */
+    public static final int UNLIMITED = Integer.MAX_VALUE;
+
+    public static PointHistoryQuery first(int limit) {
+        return new PointHistoryQuery(null, limit, null, null, null);
+    }
+
+    /** 커서와 개수 제한 없이 조건(type, from, to)에 맞는 전체 이력 */
+    public static PointHistoryQuery all(TransactionType type, Long fromMillis, Long toMillis) {
+        return new PointHistoryQuery(null, UNLIMITED, type, fromMillis, toMillis);
+    }
+
+    public PointHistoryQuery withAfterId(Long afterId) {
+        return new PointHistoryQuery(afterId, limit, type, fromMillis, toMillis);
+    }
+
+    public PointHistoryQuery withLimit(int limit) {
+        return new PointHistoryQuery(afterId, limit, type, fromMillis, toMillis);
+    }
+
+    public boolean matches(PointHistory pointHistory) {
+        if (type != null && pointHistory.type() != type)
+            return false;
+
+        if (fromMillis != null && pointHistory.updateMillis() < fromMillis)
+            return false;
+
+        return toMillis == null || pointHistory.updateMillis() < toMillis;
+    }
+}
@@ -0,0 +1,150 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * UserPointTable.selectById 앞에 두는 잔액 캐시.
+ * 조회 시 비어 있으면 테이블 값을 채우고(read-through), insertOrUpdate 가 성공하면 그 결과로 덮어쓴다(write-through).
+ * 세그먼트마다 접근 순서 LinkedHashMap 을 두어 LRU 로 크기를 제한하고, 세그먼트 단위로만 잠가 경합을 줄인다.
+ */
+@Component
+public class BalanceCache {
+
+    private static final int SEGMENT_COUNT = 16;
+
+    private final boolean enabled;
+    private final long ttlNanos;
+    private final Segment[] segments;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder expirations = new LongAdder();
+
+    public BalanceCache(BalanceCacheProperties properties) {
+        this.enabled = properties.enabled() && properties.maximumSize() > 0;
+        this.ttlNanos = properties.ttl().toNanos();
+
+        int segmentCapacity = Math.max(1, (properties.maximumSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++)
+            segments[i] = new Segment(segmentCapacity, evictions);
+    }
+
+    /** 캐시된 잔액을 반환한다. 없거나 만료되었으면 null */
+    public UserPoint get(long userId) {
+        if (!enabled)
+            return null;
+
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            CachedBalance cached = segment.get(userId);
+            if (cached == null) {
+                misses.increment();
+                return null;
+            }
+            if (cached.expiresAtNanos() - System.nanoTime() <= 0) {
+                segment.remove(userId);
+                expirations.increment();
+                misses.increment();
+                return null;
+            }
+            hits.increment();
+            return cached.point();
+        }
+    }
+
+    /** 저장에 성공한 잔액으로 덮어쓴다 */
+    public void put(UserPoint point) {
+        if (!enabled || point == null)
+            return;
+
+        Segment segment = segmentFor(point.id());
+        synchronized (segment) {
+            segment.writes++;
+            segment.put(point.id(), new CachedBalance(point, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    /** 테이블 조회 전에 받아 두었다가 fill 에 넘기는 값. 그 사이 쓰기가 있었는지 판단하는 데 쓴다 */
+    public long writeTicket(long userId) {
+        if (!enabled)
+            return 0;
+
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            return segment.writes;
+        }
+    }
+
+    /**
+     * 테이블에서 읽은 값으로 비어 있는 자리만 채운다.
+     * 조회하는 동안 같은 세그먼트에 put/invalidate 가 있었다면 읽은 값이 이미 오래되었을 수 있으므로 채우지 않는다.
+     */
+    public void fill(UserPoint point, long ticket) {
+        if (!enabled || point == null)
+            return;
+
+        Segment segment = segmentFor(point.id());
+        synchronized (segment) {
+            if (segment.writes == ticket)
+                segment.putIfAbsent(point.id(), new CachedBalance(point, System.nanoTime() + ttlNanos));
+        }
+    }
+
+    public void invalidate(long userId) {
+        if (!enabled)
+            return;
+
+        Segment segment = segmentFor(userId);
+        synchronized (segment) {
+            segment.writes++;
+            segment.remove(userId);
+        }
+    }
+
+    public BalanceCacheStats stats() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return new BalanceCacheStats(hits.sum(), misses.sum(), evictions.sum(), expirations.sum(), size);
+    }
+
+    private Segment segmentFor(long userId) {
+        int hash = Long.hashCode(userId);
+        hash ^= hash >>> 16;
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private record CachedBalance(UserPoint point, long expiresAtNanos) {
+    }
+
+    private static final class Segment extends LinkedHashMap<Long, CachedBalance> {
+        private final int capacity;
+        private final LongAdder evictions;
+        private long writes;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75f, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Long, CachedBalance> eldest) {
+            if (size() <= capacity)
+                return false;
+
+            evictions.increment();
+            return true;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 캐시 조회 결과, 제거 건수, 항목 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class BalanceCacheMetrics implements MeterBinder {
+
+    private final BalanceCache balanceCache;
+
+    public BalanceCacheMetrics(BalanceCache balanceCache) {
+        this.balanceCache = balanceCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.cache.requests", balanceCache, cache -> cache.stats().hitCount())
+                .description("잔액 캐시 조회 건수")
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("point.cache.requests", balanceCache, cache -> cache.stats().missCount())
+                .description("잔액 캐시 조회 건수")
+                .tag("result", "miss")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", balanceCache, cache -> cache.stats().evictionCount())
+                .description("잔액 캐시 제거 건수")
+                .tag("cause", "size")
+                .register(registry);
+        FunctionCounter.builder("point.cache.evictions", balanceCache, cache -> cache.stats().expirationCount())
+                .description("잔액 캐시 제거 건수")
+                .tag("cause", "expired")
+                .register(registry);
+        Gauge.builder("point.cache.size", balanceCache, cache -> cache.stats().size())
+                .description("잔액 캐시 항목 수")
+                .register(registry);
+    }
+}
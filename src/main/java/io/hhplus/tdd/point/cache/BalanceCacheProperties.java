@@ -0,0 +1,19 @@
+package io.hhplus.tdd.point.cache;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액 캐시 설정
+ * - maximumSize : 캐시에 보관할 최대 유저 수 (초과 시 가장 오래 사용하지 않은 유저부터 제거)
+ * - ttl : 항목별 유효 시간
+ */
+@ConfigurationProperties(prefix = "point.cache")
+public record BalanceCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("10000") int maximumSize,
+        @DefaultValue("30s") Duration ttl
+) {
+}
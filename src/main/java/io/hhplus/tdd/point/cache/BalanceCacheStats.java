@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.cache;
+
+public record BalanceCacheStats(
+        long hitCount,
+        long missCount,
+        long evictionCount,
+        long expirationCount,
+        long size
+) {
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 비동기 API 설정. 쓰기(충전/사용)와 조회(잔액/이력)는 서로 다른 실행기와 동시 처리 한도(bulkhead)를 쓴다
+ * - maxConcurrent : 동시에 처리하는 요청 수 (실행기 스레드 수). 기본값은 Tomcat 기본 요청 스레드 수(200)와 같다
+ * - maxQueued : 처리를 기다릴 수 있는 요청 수. 한도를 넘은 요청은 기다리지 않고 바로 거절한다
+ *   가상 스레드 모드에서는 대기 없이 maxConcurrent + maxQueued 개까지 동시에 처리한다
+ * - timeout : 응답을 기다리는 최대 시간. 넘으면 응답만 실패로 돌려주고 진행 중인 처리는 끝까지 실행된다.
+ *   쓰기는 유저 락 대기 시간(point.lock.wait-timeout)과 쓰기 한 번을 더한 것보다 길게 두어,
+ *   락을 기다리다 끝나는 요청은 반영되지 않은 채 실패로 응답받게 한다
+ */
+@ConfigurationProperties(prefix = "point.async")
+public record PointAsyncProperties(
+        @DefaultValue Bulkhead write,
+        @DefaultValue Bulkhead read
+) {
+
+    public record Bulkhead(
+            @DefaultValue("200") int maxConcurrent,
+            @DefaultValue("1000") int maxQueued,
+            @DefaultValue("7s") Duration timeout
+    ) {
+    }
+}
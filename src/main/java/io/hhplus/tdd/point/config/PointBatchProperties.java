@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 일괄 충전/사용 설정
+ * - maxSize : 한 번에 받을 수 있는 최대 항목 수
+ * - parallelism : 유저 그룹을 동시에 처리할 스레드 수 (0 이면 CPU 코어 수)
+ *   가상 스레드 모드에서는 그룹마다 가상 스레드를 하나씩 쓰므로 사용하지 않는다
+ */
+@ConfigurationProperties(prefix = "point.batch")
+public record PointBatchProperties(
+        @DefaultValue("10000") int maxSize,
+        @DefaultValue("0") int parallelism
+) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+    }
+}
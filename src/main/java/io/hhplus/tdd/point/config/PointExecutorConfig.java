@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.config;
+
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * PointService 내부에서 사용하는 실행기
+ * spring.threads.virtual.enabled 가 켜져 있으면 요청 처리와 같이 가상 스레드를 사용한다.
+ */
+@Configuration
+public class PointExecutorConfig {
+
+    public static final String BATCH_EXECUTOR = "pointBatchExecutor";
+    public static final String WRITE_EXECUTOR = "pointWriteExecutor";
+    public static final String READ_EXECUTOR = "pointReadExecutor";
+    public static final String MAILBOX_EXECUTOR = "pointMailboxExecutor";
+    public static final String VIRTUAL_THREADS_PROPERTY = "${spring.threads.virtual.enabled:false}";
+
+    @Bean(name = BATCH_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService pointBatchExecutor(PointBatchProperties properties,
+                                              @Value(VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        // 유저 그룹은 대부분 테이블 대기로 시간을 보내므로 가상 스레드에서는 개수를 제한하지 않는다
+        if (virtualThreads)
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-batch-", 1).factory());
+
+        return Executors.newFixedThreadPool(properties.effectiveParallelism(), namedThreadFactory("point-batch-"));
+    }
+
+    // ACTOR 모드의 유저 대기열 작업자. 다른 모드에서는 작업이 들어오지 않으므로 스레드도 만들어지지 않는다
+    @Bean(name = MAILBOX_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService pointMailboxExecutor(PointConcurrencyProperties properties,
+                                                @Value(VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        if (virtualThreads)
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("point-mailbox-", 1).factory());
+
+        return Executors.newFixedThreadPool(properties.mailbox().effectiveParallelism(), namedThreadFactory("point-mailbox-"));
+    }
+
+    // 대기 요청 수는 PointAsyncService 의 bulkhead 가 제한하므로 실행기 대기열은 따로 제한하지 않는다
+    @Bean(name = WRITE_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService pointWriteExecutor(PointAsyncProperties properties,
+                                              @Value(VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        return asyncExecutor("point-write-", properties.write(), virtualThreads);
+    }
+
+    @Bean(name = READ_EXECUTOR, destroyMethod = "shutdown")
+    public ExecutorService pointReadExecutor(PointAsyncProperties properties,
+                                             @Value(VIRTUAL_THREADS_PROPERTY) boolean virtualThreads) {
+        return asyncExecutor("point-read-", properties.read(), virtualThreads);
+    }
+
+    private static ExecutorService asyncExecutor(String prefix, PointAsyncProperties.Bulkhead bulkhead, boolean virtualThreads) {
+        if (virtualThreads)
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(prefix, 1).factory());
+
+        return Executors.newFixedThreadPool(bulkhead.maxConcurrent(), namedThreadFactory(prefix));
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger sequence = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
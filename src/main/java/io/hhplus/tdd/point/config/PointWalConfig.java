@@ -0,0 +1,52 @@
+package io.hhplus.tdd.point.config;
+
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.wal.BalanceSnapshotStore;
+import io.hhplus.tdd.point.wal.PointCheckpointer;
+import io.hhplus.tdd.point.wal.PointSnapshotProperties;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.hhplus.tdd.point.wal.PointWalRecovery;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.nio.file.Path;
+
+/**
+ * WAL 을 열고, PointService 가 요청을 받기 전에 잔액 스냅샷과 WAL 로 잔액을 복구해 둔다.
+ * 이력은 백그라운드에서 WAL 로 복구하고, 잔액 스냅샷은 PointCheckpointer 가 주기적으로 만든다.
+ */
+@Configuration
+public class PointWalConfig {
+
+    @Bean
+    public BalanceSnapshotStore balanceSnapshotStore(PointSnapshotProperties properties) {
+        return new BalanceSnapshotStore(Path.of(properties.directory()), properties.retained());
+    }
+
+    @Bean
+    public PointWalRecovery pointWalRecovery(UserPointRepository userPointRepository,
+                                             PointHistoryRepository pointHistoryRepository,
+                                             BalanceSnapshotStore balanceSnapshotStore) {
+        return new PointWalRecovery(userPointRepository, pointHistoryRepository, balanceSnapshotStore);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PointWal pointWal(PointWalProperties properties, PointWalRecovery recovery,
+                             PointHistoryWriter pointHistoryWriter) {
+        PointWal wal = new PointWal(properties);
+        if (wal.enabled()) {
+            recovery.recoverBalances(wal);
+            recovery.restoreHistories(wal, pointHistoryWriter);
+        }
+        return wal;
+    }
+
+    @Bean(destroyMethod = "close")
+    public PointCheckpointer pointCheckpointer(PointWal pointWal, BalanceSnapshotStore balanceSnapshotStore,
+                                               PointSnapshotProperties properties) {
+        return new PointCheckpointer(pointWal, balanceSnapshotStore, properties);
+    }
+}
@@ -1,63 +1,158 @@
 package io.hhplus.tdd.point.controller;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.service.PointAsyncService;
 import io.hhplus.tdd.point.service.PointService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
 
 @RestController
 @RequestMapping("/point")
 public class PointController {
 
     private static final Logger log = LoggerFactory.getLogger(PointController.class);
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
     private final PointService pointService;
+    private final PointAsyncService pointAsyncService;
+    private final ObjectWriter historyJsonWriter;
+    private final ObjectMapper objectMapper;
 
-    public PointController(PointService pointService) {
+    public PointController(PointService pointService, PointAsyncService pointAsyncService, ObjectMapper objectMapper) {
         this.pointService = pointService;
+        this.pointAsyncService = pointAsyncService;
+        this.objectMapper = objectMapper;
+        // 레코드마다 flush 하지 않고 generator 버퍼가 찰 때만 내보낸다
+        this.historyJsonWriter = objectMapper.writerFor(PointHistory.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
     /**
      * TODO - 특정 유저의 포인트를 조회하는 기능을 작성해주세요.
+     * 조회/충전/사용은 PointAsyncService 의 실행기에서 처리하고 서블릿 스레드는 바로 반환한다.
      */
     @GetMapping("{id}")
-    public UserPoint point(
+    public CompletableFuture<UserPoint> point(
             @PathVariable long id
     ) {
-        return pointService.getBalance(id);
+        return pointAsyncService.getBalanceAsync(id);
     }
 
     /**
      * TODO - 특정 유저의 포인트 충전/이용 내역을 조회하는 기능을 작성해주세요.
+     * 커서(after) 이후의 이력을 limit 개씩 조회하고, 다음 페이지가 있으면 X-Next-Cursor 헤더로 커서를 내려준다.
+     * after 와 limit 이 모두 없으면 기존처럼 (type/from/to 조건에 맞는) 전체 이력을 한 번에 반환한다.
      */
     @GetMapping("{id}/histories")
-    public List<PointHistory> history(
-            @PathVariable long id
+    public CompletableFuture<ResponseEntity<List<PointHistory>>> history(
+            @PathVariable long id,
+            @RequestParam(required = false) Long after,
+            @RequestParam(required = false) Integer limit,
+            @RequestParam(required = false) TransactionType type,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
+    ) {
+        if (after == null && limit == null)
+            return pointAsyncService.getHistoriesAsync(id, type, from, to).thenApply(ResponseEntity::ok);
+
+        int pageSize = limit == null ? PointHistoryQuery.DEFAULT_LIMIT : limit;
+        return pointAsyncService.getHistoriesAsync(id, new PointHistoryQuery(after, pageSize, type, from, to))
+                .thenApply(PointController::historyResponse);
+    }
+
+    private static ResponseEntity<List<PointHistory>> historyResponse(PointHistoryPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null)
+            response.header(NEXT_CURSOR_HEADER, String.valueOf(page.nextCursor()));
+        return response.body(page.histories());
+    }
+
+    /**
+     * 포인트 이력을 NDJSON(한 줄에 이력 하나)으로 내보낸다.
+     * 목록을 만들지 않고 응답 스트림에 바로 쓰므로 이력 수와 무관하게 요청당 메모리 사용량이 일정하다.
+     */
+    @GetMapping(value = "histories/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public StreamingResponseBody exportHistories(
+            @RequestParam(required = false) List<Long> userIds,
+            @RequestParam(required = false) Long from,
+            @RequestParam(required = false) Long to
     ) {
-        return pointService.getHistories(id);
+        // 조건 검증은 응답을 쓰기 전에 끝내 예외가 정상적인 에러 응답으로 나가게 한다
+        Stream<PointHistory> histories = pointService.exportHistories(userIds, from, to);
+
+        return outputStream -> {
+            try (histories; JsonGenerator generator = objectMapper.getFactory().createGenerator(outputStream)) {
+                generator.setRootValueSeparator(new SerializedString(""));
+                histories.forEach(history -> writeLine(generator, history));
+            } catch (UncheckedIOException e) {
+                // 클라이언트가 연결을 끊으면 더 쓰지 않고 종료한다
+                log.warn("포인트 이력 내보내기 중단 userIds={}", userIds, e);
+            }
+        };
+    }
+
+    private void writeLine(JsonGenerator generator, PointHistory history) {
+        try {
+            historyJsonWriter.writeValue(generator, history);
+            generator.writeRaw('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
     }
 
     /**
      * TODO - 특정 유저의 포인트를 충전하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에는 다시 충전하지 않고 처음 결과를 돌려준다.
      */
     @PatchMapping("{id}/charge")
-    public UserPoint charge(
+    public CompletableFuture<UserPoint> charge(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
     ) {
-        return pointService.charge(id, amount);
+        return pointAsyncService.chargeAsync(id, amount, idempotencyKey);
     }
 
     /**
      * TODO - 특정 유저의 포인트를 사용하는 기능을 작성해주세요.
+     * Idempotency-Key 헤더가 있으면 같은 키로 재시도한 요청에는 다시 차감하지 않고 처음 결과를 돌려준다.
      */
     @PatchMapping("{id}/use")
-    public UserPoint use(
+    public CompletableFuture<UserPoint> use(
             @PathVariable long id,
-            @RequestBody long amount
+            @RequestBody long amount,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey
+    ) {
+        return pointAsyncService.useAsync(id, amount, idempotencyKey);
+    }
+
+    /**
+     * 일괄 충전/사용. 항목별 성공 여부와 실패 사유를 요청 순서대로 반환한다.
+     */
+    @PostMapping("batch")
+    public List<PointCommandResult> batch(
+            @RequestBody List<PointCommand> commands
     ) {
-        return pointService.use(id, amount);
+        return pointService.executeAll(commands);
     }
 }
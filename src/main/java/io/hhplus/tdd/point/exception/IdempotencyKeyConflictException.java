@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 같은 Idempotency-Key 로 다른 유저/기능/금액의 요청이 들어왔을 때 발생한다.
+ * 원인이 요청에 있으므로 스택 트레이스를 채우지 않는다.
+ */
+public class IdempotencyKeyConflictException extends RuntimeException {
+    public IdempotencyKeyConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
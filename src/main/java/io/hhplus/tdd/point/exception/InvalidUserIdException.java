@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 잘못된 userId 가 입력되었을 때 발생한다. PointValidationException 과 같이 스택 트레이스를 채우지 않는다.
+ */
+public class InvalidUserIdException extends IllegalArgumentException {
+    public InvalidUserIdException(Long userId) {
+        super("잘못된 값이 입력되었습니다. userId : " + userId);
+    }
+
+    @Override
+    public synchronized Throwable fillInStackTrace() {
+        return this;
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * 비동기 처리 한도와 대기 한도가 모두 찼을 때 발생한다.
+ * 과부하일 때 많이 발생하므로 스택 트레이스를 채우지 않는다.
+ */
+public class PointBulkheadFullException extends RuntimeException {
+    public PointBulkheadFullException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+public class PointLockTimeoutException extends RuntimeException {
+    public PointLockTimeoutException(String message) {
+        super(message);
+    }
+
+    public PointLockTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.exception;
+
+/**
+ * OPTIMISTIC 모드에서 같은 유저의 다른 갱신과 계속 충돌해 정해진 횟수 안에 반영하지 못했을 때 발생한다.
+ * 잔액은 바뀌지 않았으므로 다시 시도할 수 있다.
+ */
+public class PointUpdateConflictException extends RuntimeException {
+    public PointUpdateConflictException(String message) {
+        super(message, null, false, false);
+    }
+}
@@ -1,8 +1,12 @@
 package io.hhplus.tdd.point.exception;
 
+/**
+ * 사용자 입력이 정책에 맞지 않을 때 발생한다.
+ * 원인이 호출 위치가 아닌 입력값에 있으므로 스택 트레이스를 채우지 않고, 메시지가 고정된 경우 인스턴스를 재사용할 수 있다.
+ */
 public class PointValidationException extends RuntimeException {
     public PointValidationException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 
     public PointValidationException(String message, Throwable cause) {
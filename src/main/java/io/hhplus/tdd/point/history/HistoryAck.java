@@ -0,0 +1,10 @@
+package io.hhplus.tdd.point.history;
+
+/**
+ * WRITE_BEHIND 모드에서 요청 스레드가 언제 반환되는지 (GROUP_COMMIT 은 항상 WRITTEN 으로 동작한다)
+ * - QUEUED : 대기열에 들어가면 바로 반환한다 (가장 빠르지만 장애 시 유실될 수 있다)
+ * - WRITTEN : 백그라운드 저장이 끝날 때까지 기다린다 (저장 실패 시 잔액을 롤백할 수 있다)
+ */
+public enum HistoryAck {
+    QUEUED, WRITTEN
+}
@@ -0,0 +1,11 @@
+package io.hhplus.tdd.point.history;
+
+/**
+ * 포인트 이력 저장 방식
+ * - SYNC : 요청 스레드에서 바로 저장한다
+ * - WRITE_BEHIND : 대기열에 넣고 백그라운드 스레드가 저장한다
+ * - GROUP_COMMIT : 대기열에 넣고 백그라운드 스레드가 모아서 저장한 뒤, 같이 저장된 요청을 한 번에 돌려보낸다
+ */
+public enum HistoryWriteMode {
+    SYNC, WRITE_BEHIND, GROUP_COMMIT
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.history;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 이력 저장 설정
+ * - queueCapacity : WRITE_BEHIND / GROUP_COMMIT 대기열 크기
+ * - offerTimeout : 대기열이 가득 찼을 때 기다리는 최대 시간 (초과 시 저장 실패로 처리)
+ * - shutdownTimeout : 종료 시 남은 이력을 비우는 최대 시간
+ * - batchSize : GROUP_COMMIT 에서 한 번에 저장하는 최대 이력 수
+ * - batchWait : GROUP_COMMIT 에서 첫 이력이 들어온 뒤 batchSize 가 찰 때까지 더 기다리는 최대 시간.
+ *   길수록 한 번에 많이 저장하지만 요청마다 그만큼 늦게 돌아간다. 0 이면 이미 쌓인 이력만 모아 바로 저장한다
+ */
+@ConfigurationProperties(prefix = "point.history")
+public record PointHistoryProperties(
+        @DefaultValue("SYNC") HistoryWriteMode mode,
+        @DefaultValue("QUEUED") HistoryAck ack,
+        @DefaultValue("10000") int queueCapacity,
+        @DefaultValue("100ms") Duration offerTimeout,
+        @DefaultValue("10s") Duration shutdownTimeout,
+        @DefaultValue("64") int batchSize,
+        @DefaultValue("1ms") Duration batchWait
+) {
+}
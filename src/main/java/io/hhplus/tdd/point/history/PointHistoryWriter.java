@@ -0,0 +1,327 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 포인트 이력 저장을 담당한다.
+ * WRITE_BEHIND 모드에서는 잔액 저장만 요청 스레드에서 끝내고,
+ * 이력은 크기가 제한된 대기열에 넣어 단일 백그라운드 스레드가 순서대로 저장소에 저장한다.
+ * 요청이 이미 돌아간 뒤(ack QUEUED) 저장에 실패한 이력은 PointSagaCoordinator 가 백그라운드에서 다시 저장한다.
+ * GROUP_COMMIT 모드에서는 백그라운드 스레드가 대기열의 이력을 batchSize 개까지(또는 batchWait 동안) 모아 저장하고,
+ * 같이 저장된 요청을 한 번에 돌려보낸다. 요청 스레드는 저장이 끝날 때까지 기다리므로 실패하면 잔액을 롤백할 수 있다.
+ * 묶음은 한 스레드가 차례로 저장하므로 저장이 싼 저장소(supportsGroupCommit)에서만 쓸 수 있다.
+ * pause() 동안 들어온 이력은 queueCapacity 개까지 모아 두었다가 resume() 때 들어온 순서대로 저장한다.
+ * 저장이 끝난 뒤에 돌아가는 요청(SYNC, GROUP_COMMIT, ack WRITTEN)은 resume() 이 그 이력을 저장할 때까지 기다린다.
+ */
+@Component
+public class PointHistoryWriter {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointHistoryWriter.class);
+    private static final long POLL_INTERVAL_MILLIS = 100;
+
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointHistoryProperties properties;
+    private final PointMetrics metrics;
+    private final PointSagaCoordinator sagas;
+    private final BlockingQueue<PendingHistory> queue;
+    private final Thread worker;
+    private volatile boolean closed;
+    private final ReentrantLock pauseLock = new ReentrantLock();
+    private final Condition resumed = pauseLock.newCondition();
+    private volatile List<PendingHistory> deferred;
+    // 대기열, 미뤄 둔 목록, 백그라운드 스레드가 꺼내 저장 중인 이력을 모두 센다
+    private final AtomicInteger unsaved = new AtomicInteger();
+
+    public PointHistoryWriter(PointHistoryRepository pointHistoryRepository, PointHistoryProperties properties,
+                              PointMetrics metrics, PointSagaCoordinator sagas) {
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.sagas = sagas;
+
+        if (properties.mode() == HistoryWriteMode.GROUP_COMMIT && properties.batchSize() < 1)
+            throw new IllegalArgumentException("이력 group commit 크기는 1 이상이어야 합니다. batchSize : " + properties.batchSize());
+        if (properties.mode() == HistoryWriteMode.GROUP_COMMIT && !pointHistoryRepository.supportsGroupCommit())
+            throw new IllegalArgumentException("이력 저장이 느린 저장소에서는 group commit 을 쓸 수 없습니다. point.storage.history 를 "
+                    + "sharded 나 columnar 로 바꾸거나 WRITE_BEHIND 를 쓰세요. repository : " + pointHistoryRepository.getClass().getSimpleName());
+
+        if (properties.mode() != HistoryWriteMode.SYNC) {
+            this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+            this.worker = properties.mode() == HistoryWriteMode.GROUP_COMMIT
+                    ? new Thread(this::commit, "point-history-committer")
+                    : new Thread(this::drain, "point-history-writer");
+            this.worker.setDaemon(true);
+            this.worker.start();
+        } else {
+            this.queue = null;
+            this.worker = null;
+        }
+    }
+
+    public void write(long userId, long amount, TransactionType type, long updateMillis) {
+        if (deferred != null) {
+            PendingHistory pending = defer(userId, amount, type, updateMillis);
+            if (pending != null) {
+                awaitWritten(userId, pending.written());
+                return;
+            }
+        }
+
+        if (worker == null || closed) {
+            pointHistoryRepository.save(userId, amount, type, updateMillis);
+            return;
+        }
+
+        PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, newWaiter());
+        // 대기열에 들어간 이력은 백그라운드 스레드가 저장한 뒤에 뺀다
+        unsaved.incrementAndGet();
+        boolean queued = false;
+        try {
+            // 대기열이 가득 차면 offerTimeout 만큼만 기다리고, 그래도 자리가 없으면 저장 실패로 돌려 호출자가 롤백하게 한다
+            queued = queue.offer(pending, properties.offerTimeout().toNanos(), TimeUnit.NANOSECONDS);
+            if (!queued)
+                throw new PointSaveException("포인트 이력 대기열이 가득 찼습니다. userId=" + userId);
+
+            // 넣는 사이 종료가 시작됐다면 백그라운드 스레드와 shutdown 이 이미 대기열을 비웠을 수 있다.
+            // 아직 남아 있으면 꺼내 직접 저장하고, 누가 먼저 꺼냈으면 그쪽이 저장한다
+            if (closed && queue.remove(pending))
+                insert(pending);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointSaveException("포인트 이력 저장 대기 중 인터럽트 userId=" + userId, e);
+        } finally {
+            if (!queued)
+                unsaved.decrementAndGet();
+        }
+        awaitWritten(userId, pending.written());
+    }
+
+    /** 아직 저장되지 않은 이력 개수. 대기열과 pause 중 미뤄 둔 이력, 백그라운드 스레드가 저장 중인 이력을 포함한다 */
+    public int pendingCount() {
+        return unsaved.get();
+    }
+
+    /**
+     * 저장소에 이전 이력을 먼저 채워야 할 때(WAL 복구 등) 새 이력이 그 앞에 끼어들지 않도록 저장을 미룬다.
+     */
+    public void pause() {
+        pauseLock.lock();
+        try {
+            if (deferred == null)
+                deferred = new ArrayList<>();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    /** 미뤄 둔 이력을 들어온 순서대로 저장하고, 기다리던 요청을 돌려보낸 뒤 다시 바로 저장한다 */
+    public void resume() {
+        pauseLock.lock();
+        try {
+            List<PendingHistory> paused = deferred;
+            if (paused == null)
+                return;
+
+            paused.forEach(this::insert);
+            deferred = null;
+            resumed.signalAll();
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        if (worker == null)
+            return;
+
+        closed = true;
+        try {
+            worker.join(properties.shutdownTimeout().toMillis());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+
+        // 종료 직전에 들어온 이력까지 호출 스레드에서 마저 저장한다
+        PendingHistory pending;
+        while (!worker.isAlive() && (pending = queue.poll()) != null)
+            insert(pending);
+
+        if (!queue.isEmpty())
+            logger.warn("종료 시간 내에 저장하지 못한 포인트 이력 {}건", queue.size());
+    }
+
+    /**
+     * pause 중이면 미뤄 둘 목록에 넣고 반환한다. 이미 resume 했으면 null 을 반환해 바로 저장하게 한다.
+     * 목록이 queueCapacity 만큼 차면 offerTimeout 동안 resume 을 기다리고, 그래도 차 있으면 저장 실패로 돌린다.
+     */
+    private PendingHistory defer(long userId, long amount, TransactionType type, long updateMillis) {
+        pauseLock.lock();
+        try {
+            long remaining = properties.offerTimeout().toNanos();
+            // resume() 이 미뤄 둔 이력을 저장하는 동안에는 잠금을 기다렸다가 그 뒤에 저장한다
+            while (deferred != null && deferred.size() >= properties.queueCapacity()) {
+                if (remaining <= 0)
+                    throw new PointSaveException("미뤄 둔 포인트 이력이 가득 찼습니다. userId=" + userId);
+                remaining = resumed.awaitNanos(remaining);
+            }
+            if (deferred == null)
+                return null;
+
+            PendingHistory pending = new PendingHistory(userId, amount, type, updateMillis, newWaiter());
+            deferred.add(pending);
+            unsaved.incrementAndGet();
+            return pending;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointSaveException("미뤄 둔 포인트 이력 대기 중 인터럽트 userId=" + userId, e);
+        } finally {
+            pauseLock.unlock();
+        }
+    }
+
+    // 저장이 끝난 뒤에 돌아가야 하는 요청(SYNC, GROUP_COMMIT, ack WRITTEN)만 기다릴 future 를 만든다
+    private CompletableFuture<Void> newWaiter() {
+        return worker == null || properties.ack() == HistoryAck.WRITTEN
+                || properties.mode() == HistoryWriteMode.GROUP_COMMIT ? new CompletableFuture<>() : null;
+    }
+
+    private static void awaitWritten(long userId, CompletableFuture<Void> written) {
+        if (written == null)
+            return;
+
+        try {
+            written.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointSaveException("포인트 이력 저장 대기 중 인터럽트 userId=" + userId, e);
+        } catch (ExecutionException e) {
+            throw new PointSaveException("포인트 이력 저장 실패 userId=" + userId, e.getCause());
+        }
+    }
+
+    private void drain() {
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingHistory pending = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (pending != null)
+                    insert(pending);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    private void commit() {
+        List<PendingHistory> batch = new ArrayList<>(properties.batchSize());
+        while (!closed || !queue.isEmpty()) {
+            try {
+                PendingHistory first = queue.poll(POLL_INTERVAL_MILLIS, TimeUnit.MILLISECONDS);
+                if (first == null)
+                    continue;
+
+                batch.add(first);
+                collect(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                // 인터럽트로 끝나더라도 이미 꺼낸 이력은 저장하고 기다리는 요청을 돌려보낸다
+                if (!batch.isEmpty())
+                    insertAll(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    // batchSize 가 차거나 첫 이력을 꺼낸 뒤 batchWait 가 지날 때까지 대기열에서 더 꺼낸다
+    private void collect(List<PendingHistory> batch) throws InterruptedException {
+        long deadline = System.nanoTime() + properties.batchWait().toNanos();
+        while (batch.size() < properties.batchSize()) {
+            queue.drainTo(batch, properties.batchSize() - batch.size());
+            long remaining = deadline - System.nanoTime();
+            if (batch.size() >= properties.batchSize() || remaining <= 0)
+                return;
+
+            PendingHistory next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+            if (next == null)
+                return;
+            batch.add(next);
+        }
+    }
+
+    // 모두 저장한 뒤에 요청을 한꺼번에 돌려보낸다. 실패한 이력의 요청에만 예외를 전달한다
+    private void insertAll(List<PendingHistory> batch) {
+        Exception[] failures = null;
+        for (int i = 0; i < batch.size(); i++) {
+            PendingHistory pending = batch.get(i);
+            try {
+                pointHistoryRepository.save(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+            } catch (Exception e) {
+                logger.error("포인트 이력 group commit 저장 실패 userId={}, 금액={}, 타입={}",
+                        pending.userId(), pending.amount(), pending.type(), e);
+                if (failures == null)
+                    failures = new Exception[batch.size()];
+                failures[i] = e;
+            }
+        }
+        metrics.historyCommit(batch.size());
+        unsaved.addAndGet(-batch.size());
+
+        for (int i = 0; i < batch.size(); i++) {
+            CompletableFuture<Void> written = batch.get(i).written();
+            if (failures != null && failures[i] != null)
+                written.completeExceptionally(failures[i]);
+            else
+                written.complete(null);
+        }
+    }
+
+    private void insert(PendingHistory pending) {
+        try {
+            pointHistoryRepository.save(pending.userId(), pending.amount(), pending.type(), pending.updateMillis());
+            if (pending.written() != null)
+                pending.written().complete(null);
+        } catch (Exception e) {
+            logger.error("포인트 이력 비동기 저장 실패 userId={}, 금액={}, 타입={}",
+                    pending.userId(), pending.amount(), pending.type(), e);
+            if (pending.written() != null)
+                pending.written().completeExceptionally(e);
+            else
+                // 요청은 이미 성공으로 돌아갔으므로 잔액을 되돌리지 않고 이력만 다시 저장한다. 그동안 대조는 이 유저를 미룬다
+                sagas.retryHistory(pending.userId(), () -> pointHistoryRepository.save(
+                        pending.userId(), pending.amount(), pending.type(), pending.updateMillis()));
+        } finally {
+            unsaved.decrementAndGet();
+        }
+    }
+
+    private record PendingHistory(
+            long userId,
+            long amount,
+            TransactionType type,
+            long updateMillis,
+            CompletableFuture<Void> written
+    ) {
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.history;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 저장 대기 중인 이력 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class PointHistoryWriterMetrics implements MeterBinder {
+
+    private final PointHistoryWriter historyWriter;
+
+    public PointHistoryWriterMetrics(PointHistoryWriter historyWriter) {
+        this.historyWriter = historyWriter;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.history.pending", historyWriter, PointHistoryWriter::pendingCount)
+                .description("저장 대기 중인 포인트 이력 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,175 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key 별로 충전/사용 결과를 기억해 재시도 요청에는 처음 결과를 그대로 돌려준다.
+ * 키마다 결과 대신 CompletableFuture 를 먼저 등록하므로, 처리 중에 들어온 같은 키의 요청은 새로 처리하지 않고 그 결과를 기다린다.
+ * 실패한 요청은 기억하지 않아 같은 키로 다시 시도할 수 있다.
+ * 결과를 future 로 보관하므로 비동기 API(executeAsync) 도 같은 캐시를 쓴다.
+ *
+ * BalanceCache 와 같이 세그먼트마다 LinkedHashMap 을 두고 세그먼트 단위로만 잠근다.
+ * 유효 시간이 모두 같으므로 들어온 순서가 곧 만료 순서이고, 크기를 넘으면 가장 먼저 들어온 키부터 제거한다.
+ */
+@Component
+public class IdempotencyCache {
+
+    public static final int MAX_KEY_LENGTH = 255;
+    private static final int SEGMENT_COUNT = 16;
+
+    private final long ttlNanos;
+    private final Segment[] segments;
+    private final LongAdder replays = new LongAdder();
+
+    public IdempotencyCache(IdempotencyProperties properties) {
+        this.ttlNanos = properties.ttl().toNanos();
+
+        int segmentCapacity = Math.max(1, (properties.maximumSize() + SEGMENT_COUNT - 1) / SEGMENT_COUNT);
+        this.segments = new Segment[SEGMENT_COUNT];
+        for (int i = 0; i < SEGMENT_COUNT; i++)
+            segments[i] = new Segment(segmentCapacity);
+    }
+
+    /**
+     * key 가 없으면 action 을 그대로 실행한다.
+     * 같은 key 의 결과가 남아 있으면 action 을 실행하지 않고 그 결과를 반환하며, 처리 중이면 끝날 때까지 기다린다.
+     */
+    public UserPoint execute(String key, long userId, TransactionType type, long amount, Supplier<UserPoint> action) {
+        if (key == null)
+            return action.get();
+
+        return join(executeAsync(key, userId, type, amount, () -> {
+            try {
+                return CompletableFuture.completedFuture(action.get());
+            } catch (RuntimeException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        }));
+    }
+
+    /**
+     * execute 의 비동기 버전. action 이 돌려준 future 를 키에 묶어 두고, 같은 키의 요청에는 그 결과를 돌려준다.
+     * 반환한 future 는 여러 요청이 나눠 받으므로 호출자는 timeout 등을 copy() 에 건다.
+     */
+    public CompletableFuture<UserPoint> executeAsync(String key, long userId, TransactionType type, long amount,
+                                                     Supplier<CompletableFuture<UserPoint>> action) {
+        if (key == null)
+            return action.get();
+        if (key.isBlank() || key.length() > MAX_KEY_LENGTH)
+            return CompletableFuture.failedFuture(
+                    new PointValidationException("Idempotency-Key 는 1~" + MAX_KEY_LENGTH + "자여야 합니다."));
+
+        Fingerprint fingerprint = new Fingerprint(userId, type, amount);
+        Segment segment = segmentFor(key);
+        Entry owned = new Entry(fingerprint, new CompletableFuture<>(), System.nanoTime() + ttlNanos);
+        Entry existing;
+        synchronized (segment) {
+            existing = segment.get(key);
+            if (existing != null && existing.expiresAtNanos() - System.nanoTime() <= 0) {
+                segment.remove(key);
+                existing = null;
+            }
+            if (existing == null)
+                segment.put(key, owned);
+        }
+
+        if (existing != null)
+            return replay(key, existing, fingerprint);
+
+        CompletableFuture<UserPoint> started;
+        try {
+            started = action.get();
+        } catch (RuntimeException e) {
+            started = CompletableFuture.failedFuture(e);
+        }
+        started.whenComplete((result, failure) -> {
+            if (failure == null) {
+                owned.result().complete(result);
+                return;
+            }
+            // 실패한 요청은 잊어 같은 키로 다시 시도할 수 있게 한다
+            synchronized (segment) {
+                segment.remove(key, owned);
+            }
+            owned.result().completeExceptionally(unwrap(failure));
+        });
+        return owned.result();
+    }
+
+    /** 저장된 결과를 돌려준 재시도 요청 수 */
+    public long replayCount() {
+        return replays.sum();
+    }
+
+    public long size() {
+        long size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    private CompletableFuture<UserPoint> replay(String key, Entry entry, Fingerprint fingerprint) {
+        if (!entry.fingerprint().equals(fingerprint))
+            return CompletableFuture.failedFuture(
+                    new IdempotencyKeyConflictException("이미 다른 요청에 사용한 Idempotency-Key 입니다. key=" + key));
+
+        return entry.result().thenApply(result -> {
+            replays.increment();
+            return result;
+        });
+    }
+
+    private static UserPoint join(CompletableFuture<UserPoint> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 처음 요청이 실패했다면 같은 예외로 응답한다
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    private static Throwable unwrap(Throwable failure) {
+        return failure instanceof CompletionException && failure.getCause() != null ? failure.getCause() : failure;
+    }
+
+    private Segment segmentFor(String key) {
+        int hash = key.hashCode();
+        hash ^= hash >>> 16;
+        return segments[hash & (SEGMENT_COUNT - 1)];
+    }
+
+    private record Fingerprint(long userId, TransactionType type, long amount) {
+    }
+
+    private record Entry(Fingerprint fingerprint, CompletableFuture<UserPoint> result, long expiresAtNanos) {
+    }
+
+    private static final class Segment extends LinkedHashMap<String, Entry> {
+        private final int capacity;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+            return size() > capacity;
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Idempotency-Key 재시도 응답 수와 기억하고 있는 키 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class IdempotencyCacheMetrics implements MeterBinder {
+
+    private final IdempotencyCache idempotencyCache;
+
+    public IdempotencyCacheMetrics(IdempotencyCache idempotencyCache) {
+        this.idempotencyCache = idempotencyCache;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.idempotency.replays", idempotencyCache, IdempotencyCache::replayCount)
+                .description("Idempotency-Key 로 처음 결과를 돌려준 재시도 요청 수")
+                .register(registry);
+        Gauge.builder("point.idempotency.keys", idempotencyCache, IdempotencyCache::size)
+                .description("기억하고 있는 Idempotency-Key 수")
+                .register(registry);
+    }
+}
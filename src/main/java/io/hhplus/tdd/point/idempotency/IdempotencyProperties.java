@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.idempotency;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Idempotency-Key 중복 요청 캐시 설정
+ * - maximumSize : 기억할 최대 키 수 (초과 시 가장 먼저 들어온 키부터 제거)
+ * - ttl : 키별 유효 시간. 클라이언트 재시도 기간보다 길게 잡는다
+ */
+@ConfigurationProperties(prefix = "point.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("100000") int maximumSize,
+        @DefaultValue("10m") Duration ttl
+) {
+}
@@ -0,0 +1,13 @@
+package io.hhplus.tdd.point.lock;
+
+/**
+ * 같은 유저의 잔액 갱신을 직렬화하는 방식
+ * - PESSIMISTIC : 유저 락을 잡고 조회 ~ 저장을 처리한다
+ * - OPTIMISTIC : 락 없이 조회한 잔액이 그대로일 때만 저장(compare-and-set)하고, 그 사이 바뀌었으면 다시 시도한다
+ * - ACTOR : 유저별 대기열에 넣고 유저마다 하나의 작업자가 들어온 순서대로 처리한다. 쌓인 요청은 잔액 저장 한 번으로 묶는다
+ */
+public enum ConcurrencyMode {
+    PESSIMISTIC,
+    OPTIMISTIC,
+    ACTOR
+}
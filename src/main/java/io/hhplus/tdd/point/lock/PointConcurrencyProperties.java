@@ -0,0 +1,40 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액 갱신 동시성 제어 설정
+ * - mode : PESSIMISTIC(유저 락) | OPTIMISTIC(compare-and-set 재시도) | ACTOR(유저별 대기열)
+ *   OPTIMISTIC 은 compare-and-set 을 지원하는 잔액 저장소(sharded, off_heap)에서 WAL 을 끈 경우에만 동작하고,
+ *   그 외에는 PESSIMISTIC 으로 동작한다
+ * - maxAttempts : 충돌 시 최대 시도 횟수. 모두 충돌하면 요청을 실패로 돌려준다
+ * - backoffBase / backoffMax : n 번째 충돌 뒤 0 ~ min(backoffMax, backoffBase * 2^(n-1)) 사이에서 무작위로 기다린다
+ * - mailbox : ACTOR 모드 설정
+ */
+@ConfigurationProperties(prefix = "point.concurrency")
+public record PointConcurrencyProperties(
+        @DefaultValue("pessimistic") ConcurrencyMode mode,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("1ms") Duration backoffBase,
+        @DefaultValue("50ms") Duration backoffMax,
+        @DefaultValue Mailbox mailbox
+) {
+
+    /**
+     * - batchSize : 작업자가 한 번에 꺼내 잔액 저장 한 번으로 묶는 최대 요청 수
+     * - parallelism : 유저 대기열을 동시에 처리할 작업자 스레드 수 (0 이면 CPU 코어 수)
+     *   가상 스레드 모드에서는 대기열마다 가상 스레드를 하나씩 쓰므로 사용하지 않는다
+     */
+    public record Mailbox(
+            @DefaultValue("256") int batchSize,
+            @DefaultValue("0") int parallelism
+    ) {
+
+        public int effectiveParallelism() {
+            return parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        }
+    }
+}
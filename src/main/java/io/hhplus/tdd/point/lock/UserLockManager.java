@@ -0,0 +1,74 @@
+package io.hhplus.tdd.point.lock;
+
+import io.hhplus.tdd.point.exception.PointLockTimeoutException;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * userId 단위로 임계 구역을 직렬화하는 락 관리자.
+ * 같은 유저의 요청은 순서대로 처리되고, 다른 유저의 요청은 서로 막지 않는다.
+ * 락은 사용 중인 동안에만 보관하고 마지막 사용자가 반납하면 제거하므로
+ * 메모리 사용량은 동시에 처리 중인 유저 수를 넘지 않는다.
+ */
+@Component
+public class UserLockManager {
+
+    private final ConcurrentHashMap<Long, LockEntry> locks = new ConcurrentHashMap<>();
+    private final boolean fair;
+    private final long waitTimeoutNanos;
+
+    public UserLockManager(UserLockProperties properties) {
+        this.fair = properties.fair();
+        this.waitTimeoutNanos = properties.waitTimeout().toNanos();
+    }
+
+    public <T> T executeWithLock(long userId, Supplier<T> action) {
+        LockEntry entry = retain(userId);
+        try {
+            if (!entry.lock.tryLock(waitTimeoutNanos, TimeUnit.NANOSECONDS))
+                throw new PointLockTimeoutException("포인트 락 획득 시간 초과 userId=" + userId);
+
+            try {
+                return action.get();
+            } finally {
+                entry.lock.unlock();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointLockTimeoutException("포인트 락 대기 중 인터럽트 userId=" + userId, e);
+        } finally {
+            release(userId);
+        }
+    }
+
+    /** 현재 보관 중인 락 개수 (락을 잡고 있거나 기다리는 유저 수) */
+    public int activeLockCount() {
+        return locks.size();
+    }
+
+    // 참조 카운트 증감은 compute 안에서만 일어나므로 같은 키에 대해 원자적으로 처리된다
+    private LockEntry retain(long userId) {
+        return locks.compute(userId, (id, entry) -> {
+            LockEntry retained = entry == null ? new LockEntry(new ReentrantLock(fair)) : entry;
+            retained.holders++;
+            return retained;
+        });
+    }
+
+    private void release(long userId) {
+        locks.computeIfPresent(userId, (id, entry) -> --entry.holders == 0 ? null : entry);
+    }
+
+    private static final class LockEntry {
+        private final ReentrantLock lock;
+        private int holders;
+
+        private LockEntry(ReentrantLock lock) {
+            this.lock = lock;
+        }
+    }
+}
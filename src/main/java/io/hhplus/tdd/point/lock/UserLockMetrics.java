@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.lock;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 사용 중인 유저 락 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class UserLockMetrics implements MeterBinder {
+
+    private final UserLockManager lockManager;
+
+    public UserLockMetrics(UserLockManager lockManager) {
+        this.lockManager = lockManager;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.lock.active", lockManager, UserLockManager::activeLockCount)
+                .description("사용 중인 유저 락 수")
+                .register(registry);
+    }
+}
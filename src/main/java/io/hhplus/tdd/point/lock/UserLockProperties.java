@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.lock;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 유저별 락 설정
+ * - fair : 공정 락 사용 여부 (true 면 대기 순서대로 락을 획득하지만 처리량이 떨어진다)
+ * - waitTimeout : 락 획득 최대 대기 시간
+ */
+@ConfigurationProperties(prefix = "point.lock")
+public record UserLockProperties(
+        @DefaultValue("false") boolean fair,
+        @DefaultValue("5s") Duration waitTimeout
+) {
+}
@@ -0,0 +1,158 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.reconcile.ReconcileReport;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * 포인트 기능 계측
+ * - point.operation : 서비스 기능별 처리 시간 (percentile histogram)
+ * - point.table : UserPointTable / PointHistoryTable 호출별 처리 시간 (percentile histogram)
+ * - point.errors : 기능별, 예외 타입별 실패 건수
+ * - point.rollbacks : 잔액 보상 시도 건수 (성공/실패). 실패한 보상은 다시 시도하므로 한 변경이 여러 번 셀 수 있다
+ * - point.optimistic.attempts : OPTIMISTIC 모드의 compare-and-set 시도 건수 (반영/충돌). 충돌 / 전체 가 충돌률이다
+ * - point.optimistic.exhausted : 재시도 횟수를 다 써서 실패한 요청 수
+ * - point.history.commit.size : GROUP_COMMIT 모드에서 한 번에 저장한 이력 수 (percentile histogram)
+ * - point.reconcile.users : 잔액/이력 대조 결과별 유저 수 (matched/mismatched/repaired/deferred/failed)
+ * - point.reconcile.duration : 대조 범위(changed/full)별 대조 한 번의 처리 시간
+ */
+@Component
+public class PointMetrics {
+
+    public static final String USER_POINT_TABLE = "user_point";
+    public static final String POINT_HISTORY_TABLE = "point_history";
+
+    private final MeterRegistry registry;
+    private final Map<String, Timer> operationTimers = new ConcurrentHashMap<>();
+    private final Map<String, Timer> tableTimers = new ConcurrentHashMap<>();
+    private final Map<String, Counter> errorCounters = new ConcurrentHashMap<>();
+    private final Map<String, Counter> reconcileCounters = new ConcurrentHashMap<>();
+    private final Map<String, Timer> reconcileTimers = new ConcurrentHashMap<>();
+    private final Counter rollbackSucceeded;
+    private final Counter rollbackFailed;
+    private final Counter optimisticApplied;
+    private final Counter optimisticConflicted;
+    private final Counter optimisticExhausted;
+    private final DistributionSummary historyCommitSize;
+
+    public PointMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.rollbackSucceeded = rollbackCounter("success");
+        this.rollbackFailed = rollbackCounter("failure");
+        this.optimisticApplied = optimisticAttemptCounter("applied");
+        this.optimisticConflicted = optimisticAttemptCounter("conflict");
+        this.optimisticExhausted = Counter.builder("point.optimistic.exhausted")
+                .description("재시도 횟수를 다 써서 실패한 잔액 갱신 수")
+                .register(registry);
+        this.historyCommitSize = DistributionSummary.builder("point.history.commit.size")
+                .description("group commit 한 번에 저장한 이력 수")
+                .baseUnit("histories")
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    /**
+     * 기능 처리 시간을 기록하고, 예외가 나면 예외 타입별로 센 뒤 그대로 던진다.
+     */
+    public <T> T recordOperation(String operation, Supplier<T> action) {
+        Timer.Sample sample = Timer.start(registry);
+        try {
+            return action.get();
+        } catch (RuntimeException e) {
+            errorCounter(operation, e).increment();
+            throw e;
+        } finally {
+            sample.stop(operationTimer(operation));
+        }
+    }
+
+    public <T> T recordTable(String table, String call, Supplier<T> action) {
+        return tableTimer(table, call).record(action);
+    }
+
+    public void rollback(boolean succeeded) {
+        (succeeded ? rollbackSucceeded : rollbackFailed).increment();
+    }
+
+    public void optimisticAttempt(boolean conflicted) {
+        (conflicted ? optimisticConflicted : optimisticApplied).increment();
+    }
+
+    public void optimisticExhausted() {
+        optimisticExhausted.increment();
+    }
+
+    public void historyCommit(int size) {
+        historyCommitSize.record(size);
+    }
+
+    public void reconciled(String scope, ReconcileReport report) {
+        reconcileCounter("matched").increment(report.matched());
+        reconcileCounter("mismatched").increment(report.mismatched());
+        reconcileCounter("repaired").increment(report.repaired());
+        reconcileCounter("deferred").increment(report.deferred());
+        reconcileCounter("failed").increment(report.failed());
+        reconcileTimer(scope).record(report.elapsed());
+    }
+
+    private Timer operationTimer(String operation) {
+        return operationTimers.computeIfAbsent(operation, key -> Timer.builder("point.operation")
+                .description("포인트 기능별 처리 시간")
+                .tag("operation", key)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Timer tableTimer(String table, String call) {
+        return tableTimers.computeIfAbsent(table + '.' + call, key -> Timer.builder("point.table")
+                .description("테이블 호출별 처리 시간")
+                .tag("table", table)
+                .tag("call", call)
+                .publishPercentileHistogram()
+                .register(registry));
+    }
+
+    private Counter errorCounter(String operation, RuntimeException e) {
+        String exception = e.getClass().getSimpleName();
+        return errorCounters.computeIfAbsent(operation + '.' + exception, key -> Counter.builder("point.errors")
+                .description("포인트 기능별 예외 발생 건수")
+                .tag("operation", operation)
+                .tag("exception", exception)
+                .register(registry));
+    }
+
+    private Counter optimisticAttemptCounter(String result) {
+        return Counter.builder("point.optimistic.attempts")
+                .description("compare-and-set 잔액 갱신 시도 건수")
+                .tag("result", result)
+                .register(registry);
+    }
+
+    private Counter reconcileCounter(String result) {
+        return reconcileCounters.computeIfAbsent(result, key -> Counter.builder("point.reconcile.users")
+                .description("잔액/이력 대조 결과별 유저 수")
+                .tag("result", key)
+                .register(registry));
+    }
+
+    private Timer reconcileTimer(String scope) {
+        return reconcileTimers.computeIfAbsent(scope, key -> Timer.builder("point.reconcile.duration")
+                .description("잔액/이력 대조 한 번의 처리 시간")
+                .tag("scope", key)
+                .register(registry));
+    }
+
+    private Counter rollbackCounter(String result) {
+        return Counter.builder("point.rollbacks")
+                .description("잔액 롤백 건수")
+                .tag("result", result)
+                .register(registry);
+    }
+}
@@ -0,0 +1,44 @@
+package io.hhplus.tdd.point.reconcile;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 잔액이 바뀐 유저를 마지막으로 바뀐 세대(epoch)와 함께 기억한다.
+ * 대조 작업은 advance() 로 세대를 넘긴 뒤 그 이전 세대에 바뀐 유저만 확인하고, 확인한 유저는 settle() 로 지운다.
+ * 확인하는 동안 다시 바뀐 유저는 새 세대로 덮여 지워지지 않으므로 다음 대조에서 다시 확인한다.
+ * 잔액 저장마다 호출되므로 공유 카운터를 올리지 않고 세대 값을 읽어 넣기만 한다.
+ */
+public final class ChangedUsers {
+
+    private final ConcurrentHashMap<Long, Long> changed = new ConcurrentHashMap<>();
+    private final AtomicLong epoch = new AtomicLong(1);
+
+    public void mark(long userId) {
+        changed.put(userId, epoch.get());
+    }
+
+    /** 새 세대를 열고 닫힌 세대(watermark)를 반환한다. 이후 mark 는 watermark 보다 큰 세대로 기록된다 */
+    public long advance() {
+        return epoch.getAndIncrement();
+    }
+
+    /** watermark 이하 세대에 바뀐 유저 */
+    public long[] changedUntil(long watermark) {
+        return changed.entrySet().stream()
+                .filter(entry -> entry.getValue() <= watermark)
+                .mapToLong(Map.Entry::getKey)
+                .toArray();
+    }
+
+    /** watermark 뒤로 다시 바뀌지 않았으면 지운다 */
+    public void settle(long userId, long watermark) {
+        changed.computeIfPresent(userId, (id, changedEpoch) -> changedEpoch <= watermark ? null : changedEpoch);
+    }
+
+    /** 다음 대조를 기다리는 유저 수 */
+    public int size() {
+        return changed.size();
+    }
+}
@@ -0,0 +1,27 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.point.service.PointService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 다음 대조를 기다리는 유저 수를 scrape 시점에 읽어 노출한다. 대조를 꺼 두어도 바뀐 유저는 계속 기록한다.
+ */
+@Component
+public class PointReconcileMetrics implements MeterBinder {
+
+    private final PointService pointService;
+
+    public PointReconcileMetrics(PointService pointService) {
+        this.pointService = pointService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.reconcile.pending", pointService, service -> service.changedUsers().size())
+                .description("마지막 대조 이후 잔액이 바뀌어 다음 대조를 기다리는 유저 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.reconcile;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액/이력 대조 설정
+ * - enabled : 켜면 interval 마다 마지막 대조 이후 잔액이 바뀐 유저만 대조한다
+ * - repair : 불일치하면 잔액을 이력 합계로 맞춘다. 끄면 보고만 한다
+ * - parallelism : 대조에 쓰는 fork-join 스레드 수 (0 이면 CPU 코어 수의 절반). 요청 처리 스레드 몫을 남겨 둔다
+ * - partitionSize : 한 작업이 더 나누지 않고 차례로 대조하는 최대 유저 수
+ * - maxReported : 결과에 담는 불일치 유저의 최대 수. 건수는 모두 센다
+ */
+@ConfigurationProperties(prefix = "point.reconcile")
+public record PointReconcileProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("5m") Duration interval,
+        @DefaultValue("false") boolean repair,
+        @DefaultValue("0") int parallelism,
+        @DefaultValue("4096") int partitionSize,
+        @DefaultValue("100") int maxReported
+) {
+
+    public int effectiveParallelism() {
+        return parallelism > 0 ? parallelism : Math.max(1, Runtime.getRuntime().availableProcessors() / 2);
+    }
+}
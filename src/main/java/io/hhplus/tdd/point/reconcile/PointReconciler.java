@@ -0,0 +1,202 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.point.BalanceCheck;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.service.PointService;
+import io.hhplus.tdd.point.wal.PointWalRecovery;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 잔액이 이력의 충전 합계 - 사용 합계와 같은지 대조한다.
+ * 대조할 유저를 partitionSize 단위로 나눠 전용 fork-join pool 에서 병렬로 확인하고, 일을 마친 스레드가 남은 구간을 가져간다.
+ * 유저마다 락 없이 먼저 비교하고 다를 때만 그 유저의 락을 잠깐 잡으므로 요청 처리를 막지 않는다.
+ * 주기 대조는 마지막 대조 이후 잔액이 바뀐 유저만 확인하므로 전체 유저 수가 아니라 그 사이 바뀐 유저 수만큼만 일한다.
+ * WAL 로 이력을 복구하는 동안에는 이력이 잔액보다 뒤처져 있으므로 모든 유저의 판단을 미룬다.
+ */
+@Component
+public class PointReconciler {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointReconciler.class);
+
+    private final PointService pointService;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final PointReconcileProperties properties;
+    private final PointMetrics metrics;
+    private final PointWalRecovery recovery;
+    private final ForkJoinPool pool;
+    private final ScheduledExecutorService scheduler;
+
+    public PointReconciler(PointService pointService, PointHistoryRepository pointHistoryRepository,
+                           PointReconcileProperties properties, PointMetrics metrics, PointWalRecovery recovery) {
+        if (properties.partitionSize() < 1)
+            throw new IllegalArgumentException("대조 구간 크기는 1 이상이어야 합니다. partitionSize : " + properties.partitionSize());
+
+        this.pointService = pointService;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.properties = properties;
+        this.metrics = metrics;
+        this.recovery = recovery;
+        this.pool = new ForkJoinPool(properties.effectiveParallelism(), forkJoinPool -> {
+            ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(forkJoinPool);
+            thread.setName("point-reconcile-" + thread.getPoolIndex());
+            return thread;
+        }, null, false);
+        this.scheduler = properties.enabled()
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "point-reconcile-scheduler");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+
+        if (scheduler != null) {
+            long intervalMillis = properties.interval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::reconcileChangedQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 마지막 대조 이후 잔액이 바뀐 유저만 대조한다. 일치하거나 맞춘 유저는 기록에서 지우고,
+     * 불일치가 남았거나 판단을 미룬 유저는 다음 대조에서 다시 확인한다.
+     */
+    public synchronized ReconcileReport reconcileChanged() {
+        ChangedUsers changedUsers = pointService.changedUsers();
+        long watermark = changedUsers.advance();
+        return reconcile("changed", watermark, changedUsers.changedUntil(watermark));
+    }
+
+    /** 이력이 있는 모든 유저를 대조한다. 이력 없이 잔액만 있는 유저는 저장소에서 목록을 얻을 수 없어 제외된다 */
+    public synchronized ReconcileReport reconcileAll() {
+        return reconcile("full", 0, pointHistoryRepository.userIds().toArray());
+    }
+
+    @PreDestroy
+    public void close() {
+        if (scheduler != null)
+            scheduler.shutdownNow();
+        pool.shutdownNow();
+    }
+
+    private ReconcileReport reconcile(String scope, long watermark, long[] userIds) {
+        long startedAt = System.nanoTime();
+        Tally tally = pool.invoke(new Partition(userIds, 0, userIds.length, watermark));
+        ReconcileReport report = new ReconcileReport(watermark, userIds.length, tally.matched, tally.mismatched,
+                tally.repaired, tally.deferred, tally.failed, List.copyOf(tally.discrepancies),
+                Duration.ofNanos(System.nanoTime() - startedAt));
+        metrics.reconciled(scope, report);
+
+        logger.info("잔액/이력 대조 완료 범위={}, 유저={}, 불일치={}, 맞춤={}, 보류={}, 실패={}, 소요={}ms",
+                scope, report.checked(), report.mismatched(), report.repaired(), report.deferred(), report.failed(),
+                report.elapsed().toMillis());
+        return report;
+    }
+
+    private void reconcileChangedQuietly() {
+        try {
+            reconcileChanged();
+        } catch (Exception e) {
+            logger.error("잔액/이력 대조 실패", e);
+        }
+    }
+
+    // [from, to) 구간이 partitionSize 보다 크면 반으로 나눠 한쪽을 다른 스레드가 가져갈 수 있게 둔다
+    private final class Partition extends RecursiveTask<Tally> {
+
+        private final long[] userIds;
+        private final int from;
+        private final int to;
+        private final long watermark;
+
+        private Partition(long[] userIds, int from, int to, long watermark) {
+            this.userIds = userIds;
+            this.from = from;
+            this.to = to;
+            this.watermark = watermark;
+        }
+
+        @Override
+        protected Tally compute() {
+            if (to - from <= properties.partitionSize())
+                return checkAll();
+
+            int middle = (from + to) >>> 1;
+            Partition left = new Partition(userIds, from, middle, watermark);
+            left.fork();
+            Tally right = new Partition(userIds, middle, to, watermark).compute();
+            return left.join().merge(right, properties.maxReported());
+        }
+
+        private Tally checkAll() {
+            Tally tally = new Tally();
+            ChangedUsers changedUsers = pointService.changedUsers();
+            for (int i = from; i < to; i++) {
+                long userId = userIds[i];
+                // 복구는 한 번 끝나면 다시 시작하지 않으므로 유저마다 확인해도 된다
+                if (recovery.restoring()) {
+                    tally.deferred++;
+                    continue;
+                }
+                BalanceCheck check;
+                try {
+                    check = pointService.checkBalance(userId, properties.repair());
+                } catch (RuntimeException e) {
+                    tally.failed++;
+                    logger.warn("잔액/이력 대조 실패 userId={}", userId, e);
+                    continue;
+                }
+
+                switch (check.status()) {
+                    case MATCHED -> tally.matched++;
+                    case REPAIRED -> tally.repaired++;
+                    case MISMATCHED -> tally.mismatched++;
+                    case DEFERRED -> tally.deferred++;
+                }
+                if (check.status() == BalanceCheck.Status.MATCHED || check.status() == BalanceCheck.Status.REPAIRED)
+                    changedUsers.settle(userId, watermark);
+                if (check.status() != BalanceCheck.Status.MATCHED && check.status() != BalanceCheck.Status.DEFERRED
+                        && tally.discrepancies.size() < properties.maxReported())
+                    tally.discrepancies.add(check);
+            }
+            return tally;
+        }
+    }
+
+    // 구간별 집계. 한 스레드만 쓰고, 합칠 때는 join 이 끝난 뒤라 따로 동기화하지 않는다
+    private static final class Tally {
+
+        private long matched;
+        private long mismatched;
+        private long repaired;
+        private long deferred;
+        private long failed;
+        private final List<BalanceCheck> discrepancies = new ArrayList<>();
+
+        private Tally merge(Tally other, int maxReported) {
+            matched += other.matched;
+            mismatched += other.mismatched;
+            repaired += other.repaired;
+            deferred += other.deferred;
+            failed += other.failed;
+            for (BalanceCheck check : other.discrepancies) {
+                if (discrepancies.size() >= maxReported)
+                    break;
+                discrepancies.add(check);
+            }
+            return this;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package io.hhplus.tdd.point.reconcile;
+
+import io.hhplus.tdd.point.BalanceCheck;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * 대조 한 번의 결과
+ * - watermark : 이 세대까지 바뀐 유저를 대조했다 (전체 대조면 0)
+ * - checked : 대조한 유저 수. matched + mismatched + repaired + deferred + failed 와 같다
+ * - failed : 락 대기 초과 등으로 대조하지 못한 유저 수. 다음 대조에서 다시 확인한다
+ * - discrepancies : 불일치 유저 중 최대 maxReported 명
+ */
+public record ReconcileReport(
+        long watermark,
+        long checked,
+        long matched,
+        long mismatched,
+        long repaired,
+        long deferred,
+        long failed,
+        List<BalanceCheck> discrepancies,
+        Duration elapsed
+) {
+}
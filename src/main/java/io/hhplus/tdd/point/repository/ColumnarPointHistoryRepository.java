@@ -0,0 +1,265 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.IntFunction;
+import java.util.stream.LongStream;
+
+/**
+ * 이력을 PointHistory 객체 대신 열(column)별 원시 배열에 담는 이력 저장소.
+ * 행 하나에 amount(int) | updateMillis 의 청크 기준값 대비 차이(int) | type(byte) 만 남긴다.
+ * id 는 행 번호 + 1 이고, userId 는 유저별 행 번호 목록에 유저당 한 번만 두므로 행마다 저장하지 않는다.
+ * PointHistory 는 조회할 때만 만든다.
+ * int 로 담을 수 없는 amount / updateMillis 는 청크별 예외 맵에 원래 값을 둔다.
+ *
+ * 배열은 CHUNK_ROWS 행 단위 청크로 늘어나므로 전체를 복사하며 키우지 않는다.
+ * 유저별 조회를 위해 유저마다 행 번호 목록을 id 오름차순으로, 앞 행과의 차이만 남겨 유지한다.
+ * 목록에는 SKIP_INTERVAL 개마다 건너뛰기 지점을 두어, 커서 조회는 목록 전체가 아니라 커서 근처부터 limit 개만 되살린다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "history", havingValue = "columnar")
+public class ColumnarPointHistoryRepository implements PointHistoryRepository {
+
+    static final int CHUNK_SHIFT = 16;
+    static final int CHUNK_ROWS = 1 << CHUNK_SHIFT;
+    private static final int CHUNK_MASK = CHUNK_ROWS - 1;
+    private static final int WIDE = Integer.MIN_VALUE;
+    private static final TransactionType[] TYPES = TransactionType.values();
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final ConcurrentHashMap<Long, UserRows> byUser = new ConcurrentHashMap<>();
+    private volatile Chunk[] chunks = new Chunk[0];
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        UserRows rows = byUser.computeIfAbsent(userId, id -> new UserRows());
+        // 유저 안에서는 행 번호가 항상 오름차순이 되도록 유저 잠금 안에서 행을 발급한다
+        synchronized (rows) {
+            long row = sequence.getAndIncrement();
+            if (row > Integer.MAX_VALUE)
+                throw new IllegalStateException("columnar 이력 저장소가 가득 찼습니다. rows : " + row);
+
+            chunkFor((int) row, updateMillis).write((int) row & CHUNK_MASK, amount, type, updateMillis);
+            // 열 값을 모두 쓴 뒤에 유저 목록에 올리므로 목록으로 찾은 행은 항상 값이 채워져 있다
+            rows.append((int) row);
+            return new PointHistory(row + 1, userId, amount, type, updateMillis);
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserRows rows = byUser.get(userId);
+        if (rows == null)
+            return List.of();
+
+        int[] snapshot = rows.snapshot();
+        List<PointHistory> histories = new ArrayList<>(snapshot.length);
+        for (int row : snapshot)
+            histories.add(read(row, userId));
+        return histories;
+    }
+
+    @Override
+    public List<PointHistory> findPage(long userId, PointHistoryQuery query) {
+        UserRows rows = byUser.get(userId);
+        if (rows == null)
+            return List.of();
+
+        return rows.page(query, row -> read(row, userId));
+    }
+
+    @Override
+    public LongStream userIds() {
+        return byUser.keySet().stream().mapToLong(Long::longValue);
+    }
+
+    /** 저장된 행 수 */
+    public long size() {
+        return sequence.get();
+    }
+
+    private PointHistory read(int row, long userId) {
+        Chunk chunk = chunks[row >>> CHUNK_SHIFT];
+        int offset = row & CHUNK_MASK;
+        return new PointHistory(row + 1, userId, chunk.amount(offset), TYPES[chunk.types[offset]], chunk.updateMillis(offset));
+    }
+
+    private Chunk chunkFor(int row, long updateMillis) {
+        int index = row >>> CHUNK_SHIFT;
+        Chunk[] current = chunks;
+        if (index < current.length && current[index] != null)
+            return current[index];
+
+        synchronized (this) {
+            current = chunks;
+            if (index < current.length && current[index] != null)
+                return current[index];
+
+            // 청크를 처음 쓰는 행의 시각을 기준값으로 삼는다
+            Chunk[] grown = Arrays.copyOf(current, Math.max(current.length, index + 1));
+            grown[index] = new Chunk(updateMillis);
+            chunks = grown;
+            return grown[index];
+        }
+    }
+
+    private static final class Chunk {
+        private final long baseMillis;
+        private final int[] amounts = new int[CHUNK_ROWS];
+        private final int[] millisDeltas = new int[CHUNK_ROWS];
+        private final byte[] types = new byte[CHUNK_ROWS];
+        private final Map<Integer, Long> wideAmounts = new ConcurrentHashMap<>();
+        private final Map<Integer, Long> wideMillis = new ConcurrentHashMap<>();
+
+        private Chunk(long baseMillis) {
+            this.baseMillis = baseMillis;
+        }
+
+        void write(int offset, long amount, TransactionType type, long updateMillis) {
+            types[offset] = (byte) type.ordinal();
+            amounts[offset] = narrow(offset, amount, wideAmounts);
+            millisDeltas[offset] = narrow(offset, updateMillis - baseMillis, wideMillis);
+        }
+
+        long amount(int offset) {
+            int amount = amounts[offset];
+            return amount == WIDE ? wideAmounts.get(offset) : amount;
+        }
+
+        long updateMillis(int offset) {
+            int delta = millisDeltas[offset];
+            return delta == WIDE ? wideMillis.get(offset) + baseMillis : baseMillis + delta;
+        }
+
+        private static int narrow(int offset, long value, Map<Integer, Long> wide) {
+            if (value > WIDE && value <= Integer.MAX_VALUE)
+                return (int) value;
+
+            wide.put(offset, value);
+            return WIDE;
+        }
+    }
+
+    /**
+     * 유저의 행 번호 목록. 직전 행 번호와의 차이를 7bit 가변 길이 정수로 이어 붙여
+     * 같은 유저 이력이 몰려 있을수록 행당 1~2 byte 만 쓴다.
+     * 차이만으로는 중간부터 읽을 수 없으므로 SKIP_INTERVAL 번째 항목마다 그 직전 행 번호와 바이트 위치를 따로 둔다.
+     * 건너뛰기 지점은 SKIP_INTERVAL 개당 8 byte 라 행당 0.125 byte 만 더 쓴다.
+     */
+    private static final class UserRows {
+        private static final int SKIP_INTERVAL = 64;
+
+        private byte[] deltas = new byte[8];
+        private int length;
+        private int count;
+        private int last = -1;
+        // k 번째 지점 = k * SKIP_INTERVAL 번째 항목. 그 항목 직전의 행 번호와, 그 항목이 시작하는 deltas 위치
+        private int[] skipLastRows = new int[1];
+        private int[] skipPositions = new int[1];
+
+        synchronized void append(int row) {
+            if (count % SKIP_INTERVAL == 0) {
+                int skip = count / SKIP_INTERVAL;
+                if (skip == skipLastRows.length) {
+                    skipLastRows = Arrays.copyOf(skipLastRows, skip * 2);
+                    skipPositions = Arrays.copyOf(skipPositions, skip * 2);
+                }
+                skipLastRows[skip] = last;
+                skipPositions[skip] = length;
+            }
+
+            if (length + 5 > deltas.length)
+                deltas = Arrays.copyOf(deltas, Math.max(deltas.length * 2, length + 5));
+
+            int delta = row - last;
+            while ((delta & ~0x7F) != 0) {
+                deltas[length++] = (byte) ((delta & 0x7F) | 0x80);
+                delta >>>= 7;
+            }
+            deltas[length++] = (byte) delta;
+            last = row;
+            count++;
+        }
+
+        synchronized int[] snapshot() {
+            int[] rows = new int[count];
+            int row = -1;
+            int position = 0;
+            for (int i = 0; i < count; i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = deltas[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                row += delta;
+                rows[i] = row;
+            }
+            return rows;
+        }
+
+        /**
+         * afterId 다음 행부터 조건에 맞는 이력을 최대 limit 개 되살린다.
+         * 커서 앞쪽은 건너뛰기 지점을 이진 탐색해 넘기므로 커서 위치와 상관없이 최대 SKIP_INTERVAL 개만 더 읽는다.
+         */
+        synchronized List<PointHistory> page(PointHistoryQuery query, IntFunction<PointHistory> reader) {
+            List<PointHistory> page = new ArrayList<>(Math.min(query.limit(), count));
+            if (count == 0)
+                return page;
+
+            int skip = skipBefore(query.afterId());
+            int row = skipLastRows[skip];
+            int position = skipPositions[skip];
+            for (int i = skip * SKIP_INTERVAL; i < count && page.size() < query.limit(); i++) {
+                int delta = 0;
+                int shift = 0;
+                byte b;
+                do {
+                    b = deltas[position++];
+                    delta |= (b & 0x7F) << shift;
+                    shift += 7;
+                } while (b < 0);
+                row += delta;
+
+                // id 는 행 번호 + 1
+                if (query.afterId() != null && row + 1L <= query.afterId())
+                    continue;
+
+                PointHistory history = reader.apply(row);
+                if (query.matches(history))
+                    page.add(history);
+            }
+            return page;
+        }
+
+        // 직전 행의 id 가 afterId 이하인 마지막 지점. 그 지점부터 읽으면 afterId 다음 행을 놓치지 않는다
+        private int skipBefore(Long afterId) {
+            int skips = (count + SKIP_INTERVAL - 1) / SKIP_INTERVAL;
+            if (afterId == null)
+                return 0;
+
+            int low = 0;
+            int high = skips - 1;
+            while (low < high) {
+                int mid = (low + high + 1) >>> 1;
+                if (skipLastRows[mid] + 1L <= afterId)
+                    low = mid;
+                else
+                    high = mid - 1;
+            }
+            return low;
+        }
+    }
+}
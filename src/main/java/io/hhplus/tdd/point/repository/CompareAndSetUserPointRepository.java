@@ -0,0 +1,17 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 조회한 잔액이 그대로일 때만 바꾸는 compare-and-set 을 지원하는 잔액 저장소.
+ * 조회와 저장을 원자적으로 묶을 수 있는 저장소만 구현하고, OPTIMISTIC 모드는 이 저장소에서만 동작한다.
+ */
+public interface CompareAndSetUserPointRepository extends UserPointRepository {
+
+    /**
+     * 저장된 잔액과 갱신 시각(updateMillis)이 expected 와 같을 때만 point 로 바꾼다. 그 사이 다른 쓰기가 반영되었으면 null 을 반환한다.
+     * 아직 저장된 적이 없는 유저는 0 포인트를 읽은 경우에만 바꾼다.
+     * 갱신 시각은 밀리초 단위라 같은 밀리초 안에 같은 잔액으로 되돌아온 쓰기는 구분하지 못하지만, 그 경우에도 결과 잔액은 같다.
+     */
+    UserPoint compareAndSet(long userId, UserPoint expected, long point);
+}
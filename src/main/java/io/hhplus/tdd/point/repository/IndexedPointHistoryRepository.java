@@ -0,0 +1,69 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.LongStream;
+
+/**
+ * PointHistoryTable 에 저장하면서 userId 인덱스를 함께 갱신한다.
+ * 테이블의 selectAllByUserId 는 전체 이력을 훑기 때문에 조회는 인덱스에서만 처리한다.
+ * 테이블은 ArrayList 와 잠그지 않는 cursor++ 로 id 를 발급하므로 동시에 insert 하면 id 가 겹치거나 이력이 유실된다.
+ * insert 와 인덱스 갱신을 한 락 안에서 하나씩 처리해 id 가 겹치지 않고 인덱스에도 id 순서대로 들어가게 한다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "history", havingValue = "table", matchIfMissing = true)
+public class IndexedPointHistoryRepository implements PointHistoryRepository {
+
+    private final PointHistoryTable pointHistoryTable;
+    private final PointHistoryIndex index = new PointHistoryIndex();
+    private final PointMetrics metrics;
+    private final Lock insertLock = new ReentrantLock();
+
+    public IndexedPointHistoryRepository(PointHistoryTable pointHistoryTable, PointMetrics metrics) {
+        this.pointHistoryTable = pointHistoryTable;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        insertLock.lock();
+        try {
+            PointHistory pointHistory = metrics.recordTable(PointMetrics.POINT_HISTORY_TABLE, "insert",
+                    () -> pointHistoryTable.insert(userId, amount, type, updateMillis));
+            index.add(pointHistory);
+            return pointHistory;
+        } finally {
+            insertLock.unlock();
+        }
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        return index.findAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> findPage(long userId, PointHistoryQuery query) {
+        return index.findPage(userId, query);
+    }
+
+    @Override
+    public LongStream userIds() {
+        return index.userIds();
+    }
+
+    // 테이블 insert 는 최대 300ms 걸리고 한 번에 하나씩만 하므로 64 건 묶음이면 마지막 요청이 평균 9.6초를 기다린다
+    @Override
+    public boolean supportsGroupCommit() {
+        return false;
+    }
+}
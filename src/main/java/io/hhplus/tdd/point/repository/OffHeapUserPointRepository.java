@@ -0,0 +1,219 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * long userId 를 키로 하는 오픈 어드레싱(선형 탐사) 해시 테이블을 off-heap 메모리에 두는 잔액 저장소.
+ * Long 키와 UserPoint 객체를 만들지 않으므로 유저 수가 늘어도 힙과 GC 대상이 늘지 않는다.
+ *
+ * 슬롯 한 칸(32 byte) = userId | version | point | updateMillis
+ * - userId : 0 이면 빈 슬롯. 빈 슬롯을 CAS 로 차지해 키를 등록하고, 등록된 키는 지우지 않는다
+ * - version : seqlock. 쓰는 쪽은 짝수 → 홀수로 CAS 한 뒤 값을 쓰고 다시 짝수로 올린다.
+ *             읽는 쪽은 값을 읽기 전후의 version 이 같고 짝수일 때만 그 값을 쓴다
+ *             compare-and-set 의 기대값으로는 쓰지 않는다. UserPoint 에 version 이 없으므로 다른 저장소처럼
+ *             잔액과 updateMillis 를 함께 비교한다
+ *
+ * 용량은 시작할 때 정하고 늘리지 않는다. ByteBuffer 하나가 2GB 를 넘을 수 없으므로 여러 세그먼트로 나눈다.
+ * 선형 탐사는 빈 슬롯이 줄수록 급격히 느려지므로 슬롯은 capacity / 0.75 개를 잡고, 등록된 유저가 capacity 에 이르면
+ * 남은 슬롯이 있어도 새 유저를 받지 않는다. 유저 1,000만 명이면 약 427MB, 5,000만 명이면 약 2.1GB 를 잡는다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "balance", havingValue = "off_heap")
+public class OffHeapUserPointRepository implements CompareAndSetUserPointRepository {
+
+    static final int SLOT_BYTES = 32;
+    static final int MAX_SEGMENT_SLOTS = 1 << 25;
+    private static final int KEY = 0;
+    private static final int VERSION = 8;
+    private static final int POINT = 16;
+    private static final int UPDATE_MILLIS = 24;
+    private static final long EMPTY = 0L;
+    private static final double LOAD_FACTOR = 0.75;
+    private static final VarHandle LONGS = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private final ByteBuffer[] segments;
+    private final int slotsPerSegment;
+    private final long capacity;
+    // 슬롯을 차지하기 전에 먼저 늘려 자리를 예약하므로 잠깐 실제 등록 수보다 클 수 있다
+    private final AtomicLong size = new AtomicLong();
+
+    public OffHeapUserPointRepository(PointStorageProperties properties) {
+        if (properties.offHeapCapacity() < 1)
+            throw new IllegalArgumentException("off-heap 저장소 용량은 1 이상이어야 합니다. capacity : " + properties.offHeapCapacity());
+
+        this.capacity = properties.offHeapCapacity();
+        long totalSlots = (long) Math.ceil(capacity / LOAD_FACTOR);
+        int segmentCount = (int) ((totalSlots + MAX_SEGMENT_SLOTS - 1) / MAX_SEGMENT_SLOTS);
+        this.slotsPerSegment = (int) ((totalSlots + segmentCount - 1) / segmentCount);
+        this.segments = new ByteBuffer[segmentCount];
+        for (int i = 0; i < segmentCount; i++)
+            segments[i] = ByteBuffer.allocateDirect(slotsPerSegment * SLOT_BYTES).order(ByteOrder.nativeOrder());
+    }
+
+    @Override
+    public UserPoint findById(long userId) {
+        long hash = hash(userId);
+        ByteBuffer segment = segmentOf(hash);
+        int base = find(segment, hash, userId);
+        if (base < 0)
+            return UserPoint.empty(userId);
+
+        while (true) {
+            long before = (long) LONGS.getAcquire(segment, base + VERSION);
+            if ((before & 1) != 0) {
+                Thread.onSpinWait();
+                continue;
+            }
+
+            long point = (long) LONGS.getOpaque(segment, base + POINT);
+            long updateMillis = (long) LONGS.getOpaque(segment, base + UPDATE_MILLIS);
+            VarHandle.acquireFence();
+            if ((long) LONGS.getOpaque(segment, base + VERSION) != before)
+                continue;
+
+            // 키만 등록되고 아직 값이 쓰이지 않은 슬롯
+            return before == 0 ? UserPoint.empty(userId) : new UserPoint(userId, point, updateMillis);
+        }
+    }
+
+    @Override
+    public UserPoint save(long userId, long point) {
+        long hash = hash(userId);
+        ByteBuffer segment = segmentOf(hash);
+        int base = findOrInsert(segment, hash, userId);
+        long updateMillis = System.currentTimeMillis();
+
+        long version = lock(segment, base);
+        write(segment, base, point, updateMillis);
+        unlock(segment, base, version);
+        return new UserPoint(userId, point, updateMillis);
+    }
+
+    /**
+     * 슬롯을 잠근 채 저장된 잔액과 갱신 시각이 expected 와 같은지 확인하고 바꾼다.
+     * 값이 한 번도 쓰이지 않은 슬롯(version 0)은 findById 가 0 포인트를 돌려주므로 expected 가 0 포인트일 때만 바꾼다.
+     */
+    @Override
+    public UserPoint compareAndSet(long userId, UserPoint expected, long point) {
+        long hash = hash(userId);
+        ByteBuffer segment = segmentOf(hash);
+        int base = findOrInsert(segment, hash, userId);
+
+        long version = lock(segment, base);
+        boolean unchanged = version == 0
+                ? expected.point() == 0
+                : (long) LONGS.getOpaque(segment, base + POINT) == expected.point()
+                        && (long) LONGS.getOpaque(segment, base + UPDATE_MILLIS) == expected.updateMillis();
+        if (!unchanged) {
+            // 값을 바꾸지 않았으므로 version 을 되돌려 읽는 쪽이 다시 읽지 않게 한다
+            LONGS.setRelease(segment, base + VERSION, version);
+            return null;
+        }
+
+        long updateMillis = System.currentTimeMillis();
+        write(segment, base, point, updateMillis);
+        unlock(segment, base, version);
+        return new UserPoint(userId, point, updateMillis);
+    }
+
+    /** 등록된 유저 수 */
+    public long size() {
+        return size.get();
+    }
+
+    /** 잡아 둔 off-heap 메모리 크기 */
+    public long reservedBytes() {
+        return (long) segments.length * slotsPerSegment * SLOT_BYTES;
+    }
+
+    private int find(ByteBuffer segment, long hash, long userId) {
+        int slot = slotOf(hash);
+        for (int probe = 0; probe < slotsPerSegment; probe++) {
+            int base = slot * SLOT_BYTES;
+            long key = (long) LONGS.getAcquire(segment, base + KEY);
+            if (key == userId)
+                return base;
+            if (key == EMPTY)
+                return -1;
+            slot = slot + 1 == slotsPerSegment ? 0 : slot + 1;
+        }
+        return -1;
+    }
+
+    private int findOrInsert(ByteBuffer segment, long hash, long userId) {
+        if (userId == EMPTY)
+            throw new IllegalArgumentException("userId 0 은 저장할 수 없습니다.");
+
+        int slot = slotOf(hash);
+        for (int probe = 0; probe < slotsPerSegment; probe++) {
+            int base = slot * SLOT_BYTES;
+            long key = (long) LONGS.getAcquire(segment, base + KEY);
+            if (key == EMPTY) {
+                reserve(userId);
+                if (LONGS.compareAndSet(segment, base + KEY, EMPTY, userId))
+                    return base;
+                // 같은 슬롯을 다른 스레드가 먼저 차지했다. 예약을 돌려놓고, 같은 유저일 수 있으므로 다시 확인한다
+                size.decrementAndGet();
+                key = (long) LONGS.getAcquire(segment, base + KEY);
+            }
+            if (key == userId)
+                return base;
+            slot = slot + 1 == slotsPerSegment ? 0 : slot + 1;
+        }
+        throw new IllegalStateException("off-heap 잔액 저장소가 가득 찼습니다. size : " + size.get());
+    }
+
+    // 용량에 이르렀으면 슬롯을 차지하지 않고 실패한다. 용량 직전에 동시에 예약하면 한쪽이 먼저 실패할 수 있다
+    private void reserve(long userId) {
+        if (size.incrementAndGet() <= capacity)
+            return;
+
+        size.decrementAndGet();
+        throw new IllegalStateException("off-heap 잔액 저장소 용량을 넘어 유저를 등록할 수 없습니다. capacity : "
+                + capacity + ", userId : " + userId);
+    }
+
+    private static long lock(ByteBuffer segment, int base) {
+        while (true) {
+            long version = (long) LONGS.getAcquire(segment, base + VERSION);
+            if ((version & 1) == 0 && LONGS.compareAndSet(segment, base + VERSION, version, version + 1))
+                return version;
+            Thread.onSpinWait();
+        }
+    }
+
+    private static void write(ByteBuffer segment, int base, long point, long updateMillis) {
+        LONGS.setOpaque(segment, base + POINT, point);
+        LONGS.setOpaque(segment, base + UPDATE_MILLIS, updateMillis);
+    }
+
+    private static void unlock(ByteBuffer segment, int base, long lockedVersion) {
+        LONGS.setRelease(segment, base + VERSION, lockedVersion + 2);
+    }
+
+    private ByteBuffer segmentOf(long hash) {
+        return segments[reduce((int) hash, segments.length)];
+    }
+
+    private int slotOf(long hash) {
+        return reduce((int) (hash >>> 32), slotsPerSegment);
+    }
+
+    private static long hash(long userId) {
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return mixed ^ (mixed >>> 29);
+    }
+
+    // 나머지 연산 없이 32bit 해시를 [0, bound) 로 줄인다
+    private static int reduce(int hash, int bound) {
+        return (int) (((hash & 0xFFFFFFFFL) * bound) >>> 32);
+    }
+}
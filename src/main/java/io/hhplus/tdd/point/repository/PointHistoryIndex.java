@@ -0,0 +1,87 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.LongStream;
+
+/**
+ * userId 별로 id 오름차순 이력 목록을 유지하는 보조 인덱스.
+ * 조회는 해당 유저의 이력 수(k)에만 비례하고 정렬이 필요 없다.
+ */
+public class PointHistoryIndex {
+
+    private final ConcurrentHashMap<Long, UserHistories> byUser = new ConcurrentHashMap<>();
+
+    public void add(PointHistory history) {
+        byUser.computeIfAbsent(history.userId(), id -> new UserHistories()).add(history);
+    }
+
+    public List<PointHistory> findAllByUserId(long userId) {
+        UserHistories histories = byUser.get(userId);
+        return histories == null ? List.of() : histories.snapshot();
+    }
+
+    /** 커서 위치를 이진 탐색으로 찾은 뒤 그 뒤의 구간만 읽는다 */
+    public List<PointHistory> findPage(long userId, PointHistoryQuery query) {
+        UserHistories histories = byUser.get(userId);
+        return histories == null ? List.of() : histories.page(query);
+    }
+
+    public LongStream userIds() {
+        return byUser.keySet().stream().mapToLong(Long::longValue);
+    }
+
+    private static final class UserHistories {
+        private PointHistory[] items = new PointHistory[4];
+        private int size;
+
+        // 대부분 마지막에 붙지만, 동시에 저장된 이력이 id 역순으로 들어오면 제자리를 찾아 넣는다
+        synchronized void add(PointHistory history) {
+            if (size == items.length)
+                items = Arrays.copyOf(items, size * 2);
+
+            int position = size;
+            while (position > 0 && items[position - 1].id() > history.id())
+                position--;
+
+            System.arraycopy(items, position, items, position + 1, size - position);
+            items[position] = history;
+            size++;
+        }
+
+        synchronized List<PointHistory> snapshot() {
+            return Collections.unmodifiableList(Arrays.asList(Arrays.copyOf(items, size)));
+        }
+
+        synchronized List<PointHistory> page(PointHistoryQuery query) {
+            List<PointHistory> page = new ArrayList<>(Math.min(query.limit(), size));
+            for (int i = firstAfter(query.afterId()); i < size && page.size() < query.limit(); i++) {
+                if (query.matches(items[i]))
+                    page.add(items[i]);
+            }
+            return page;
+        }
+
+        private int firstAfter(Long afterId) {
+            if (afterId == null)
+                return 0;
+
+            int low = 0;
+            int high = size;
+            while (low < high) {
+                int mid = (low + high) >>> 1;
+                if (items[mid].id() <= afterId)
+                    low = mid + 1;
+                else
+                    high = mid;
+            }
+            return low;
+        }
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+
+import java.util.List;
+import java.util.stream.LongStream;
+
+/**
+ * 포인트 이력 저장소
+ */
+public interface PointHistoryRepository {
+
+    PointHistory save(long userId, long amount, TransactionType type, long updateMillis);
+
+    /** 유저의 이력을 id 오름차순으로 반환한다 */
+    List<PointHistory> findAllByUserId(long userId);
+
+    /** afterId 다음부터 조건에 맞는 이력을 id 오름차순으로 최대 limit 개 반환한다 */
+    List<PointHistory> findPage(long userId, PointHistoryQuery query);
+
+    /** 이력이 있는 userId 목록. 전체를 복사하지 않고 순회한다 */
+    LongStream userIds();
+
+    /**
+     * 한 스레드가 묶음의 이력을 차례로 저장해도 요청이 오래 묶이지 않을 만큼 저장이 싼지.
+     * 건마다 수백 ms 씩 걸리는 저장소에서 group commit 을 쓰면 묶음의 모든 요청이 묶음 전체 저장 시간을 기다린다.
+     */
+    default boolean supportsGroupCommit() {
+        return true;
+    }
+}
@@ -0,0 +1,21 @@
+package io.hhplus.tdd.point.repository;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * 저장소 설정
+ * - balance : 잔액 저장소 구현
+ * - history : 이력 저장소 구현
+ * - shards : SHARDED 저장소의 샤드 수. 코어 수보다 넉넉하게 두어 같은 샤드에 요청이 몰리지 않게 한다
+ * - offHeapCapacity : OFF_HEAP 잔액 저장소가 담을 최대 유저 수. 시작할 때 이만큼의 off-heap 메모리를 한 번에 잡고
+ *   (유저당 약 43 byte), 넘으면 새 유저의 잔액 저장이 실패한다
+ */
+@ConfigurationProperties(prefix = "point.storage")
+public record PointStorageProperties(
+        @DefaultValue("table") StorageType balance,
+        @DefaultValue("table") StorageType history,
+        @DefaultValue("64") int shards,
+        @DefaultValue("1000000") long offHeapCapacity
+) {
+}
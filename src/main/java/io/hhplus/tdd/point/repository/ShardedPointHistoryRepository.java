@@ -0,0 +1,57 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.LongStream;
+
+/**
+ * userId 해시로 나눈 샤드마다 이력 구간을 따로 두는 이력 저장소.
+ * id 는 PointHistoryTable 의 cursor++ 대신 원자적 카운터로 락 없이 발급한다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "history", havingValue = "sharded")
+public class ShardedPointHistoryRepository implements PointHistoryRepository {
+
+    private final AtomicLong sequence = new AtomicLong();
+    private final PointHistoryIndex[] shards;
+
+    public ShardedPointHistoryRepository(PointStorageProperties properties) {
+        Shards.validate(properties.shards());
+        this.shards = new PointHistoryIndex[properties.shards()];
+        for (int i = 0; i < shards.length; i++)
+            shards[i] = new PointHistoryIndex();
+    }
+
+    @Override
+    public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+        PointHistory pointHistory = new PointHistory(sequence.incrementAndGet(), userId, amount, type, updateMillis);
+        shardOf(userId).add(pointHistory);
+        return pointHistory;
+    }
+
+    @Override
+    public List<PointHistory> findAllByUserId(long userId) {
+        return shardOf(userId).findAllByUserId(userId);
+    }
+
+    @Override
+    public List<PointHistory> findPage(long userId, PointHistoryQuery query) {
+        return shardOf(userId).findPage(userId, query);
+    }
+
+    @Override
+    public LongStream userIds() {
+        return Arrays.stream(shards).flatMapToLong(PointHistoryIndex::userIds);
+    }
+
+    private PointHistoryIndex shardOf(long userId) {
+        return shards[Shards.indexOf(userId, shards.length)];
+    }
+}
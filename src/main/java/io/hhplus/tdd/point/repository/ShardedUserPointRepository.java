@@ -0,0 +1,85 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * userId 해시로 나눈 샤드마다 잔액 맵과 락을 따로 두는 잔액 저장소.
+ * 서로 다른 샤드의 유저는 락을 공유하지 않으므로 처리량이 샤드 수만큼 나뉘어 늘어난다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "balance", havingValue = "sharded")
+public class ShardedUserPointRepository implements CompareAndSetUserPointRepository {
+
+    private final Shard[] shards;
+
+    public ShardedUserPointRepository(PointStorageProperties properties) {
+        Shards.validate(properties.shards());
+        this.shards = new Shard[properties.shards()];
+        for (int i = 0; i < shards.length; i++)
+            shards[i] = new Shard();
+    }
+
+    @Override
+    public UserPoint findById(long userId) {
+        Shard shard = shardOf(userId);
+        shard.lock.readLock().lock();
+        try {
+            UserPoint userPoint = shard.balances.get(userId);
+            return userPoint == null ? UserPoint.empty(userId) : userPoint;
+        } finally {
+            shard.lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public UserPoint save(long userId, long point) {
+        UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+        Shard shard = shardOf(userId);
+        shard.lock.writeLock().lock();
+        try {
+            shard.balances.put(userId, userPoint);
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+        return userPoint;
+    }
+
+    /**
+     * 샤드 쓰기 락 안에서 저장된 잔액과 갱신 시각(버전)이 expected 와 같은지 확인하고 바꾼다.
+     */
+    @Override
+    public UserPoint compareAndSet(long userId, UserPoint expected, long point) {
+        Shard shard = shardOf(userId);
+        shard.lock.writeLock().lock();
+        try {
+            UserPoint current = shard.balances.get(userId);
+            boolean unchanged = current == null
+                    ? expected.point() == 0
+                    : current.point() == expected.point() && current.updateMillis() == expected.updateMillis();
+            if (!unchanged)
+                return null;
+
+            UserPoint userPoint = new UserPoint(userId, point, System.currentTimeMillis());
+            shard.balances.put(userId, userPoint);
+            return userPoint;
+        } finally {
+            shard.lock.writeLock().unlock();
+        }
+    }
+
+    private Shard shardOf(long userId) {
+        return shards[Shards.indexOf(userId, shards.length)];
+    }
+
+    private static final class Shard {
+        private final ReadWriteLock lock = new ReentrantReadWriteLock();
+        private final Map<Long, UserPoint> balances = new HashMap<>();
+    }
+}
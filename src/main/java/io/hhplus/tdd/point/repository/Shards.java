@@ -0,0 +1,20 @@
+package io.hhplus.tdd.point.repository;
+
+/**
+ * userId 를 샤드 번호로 나눈다. 연속된 userId 가 이웃 샤드에 몰리지 않도록 비트를 섞은 뒤 나눈다.
+ */
+final class Shards {
+
+    private Shards() {
+    }
+
+    static int indexOf(long userId, int shardCount) {
+        long mixed = userId * 0x9E3779B97F4A7C15L;
+        return (int) Long.remainderUnsigned(mixed ^ (mixed >>> 32), shardCount);
+    }
+
+    static void validate(int shardCount) {
+        if (shardCount < 1)
+            throw new IllegalArgumentException("샤드 수는 1 이상이어야 합니다. shards : " + shardCount);
+    }
+}
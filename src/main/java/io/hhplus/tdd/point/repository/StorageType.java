@@ -0,0 +1,15 @@
+package io.hhplus.tdd.point.repository;
+
+/**
+ * 저장소 구현 선택
+ * - TABLE : 제공된 UserPointTable / PointHistoryTable 을 그대로 사용한다
+ * - SHARDED : userId 해시로 나눈 샤드별로 따로 잠그는 메모리 저장소
+ * - OFF_HEAP : 잔액 전용. long 키 오픈 어드레싱 해시 테이블을 off-heap 메모리에 둔다
+ * - COLUMNAR : 이력 전용. 열별 원시 배열에 담고 PointHistory 는 조회할 때만 만든다
+ */
+public enum StorageType {
+    TABLE,
+    SHARDED,
+    OFF_HEAP,
+    COLUMNAR
+}
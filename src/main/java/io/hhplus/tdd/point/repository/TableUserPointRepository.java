@@ -0,0 +1,50 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * UserPointTable 을 그대로 사용하는 잔액 저장소.
+ * 테이블은 HashMap 이라 동시에 쓰면 맵이 깨질 수 있으므로, 조회끼리만 동시에 하고 저장은 한 번에 하나씩 한다.
+ * 유저 락은 같은 유저만 직렬화하므로 다른 유저의 요청이 테이블에 동시에 들어오는 것은 여기서 막는다.
+ */
+@Repository
+@ConditionalOnProperty(prefix = "point.storage", name = "balance", havingValue = "table", matchIfMissing = true)
+public class TableUserPointRepository implements UserPointRepository {
+
+    private final UserPointTable userPointTable;
+    private final PointMetrics metrics;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    public TableUserPointRepository(UserPointTable userPointTable, PointMetrics metrics) {
+        this.userPointTable = userPointTable;
+        this.metrics = metrics;
+    }
+
+    @Override
+    public UserPoint findById(long userId) {
+        lock.readLock().lock();
+        try {
+            return metrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> userPointTable.selectById(userId));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public UserPoint save(long userId, long point) {
+        lock.writeLock().lock();
+        try {
+            return metrics.recordTable(PointMetrics.USER_POINT_TABLE, "insertOrUpdate",
+                    () -> userPointTable.insertOrUpdate(userId, point));
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+
+/**
+ * 포인트 잔액 저장소
+ */
+public interface UserPointRepository {
+
+    /** 저장된 잔액이 없으면 0 포인트를 반환한다 */
+    UserPoint findById(long userId);
+
+    UserPoint save(long userId, long point);
+}
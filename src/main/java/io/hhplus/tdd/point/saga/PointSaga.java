@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.saga;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+/**
+ * 진행 중인 포인트 변경 기록. 단계 전환은 compare-and-set 으로만 하므로
+ * 요청 스레드와 재시도/sweeper 스레드 중 한쪽만 다음 단계를 맡는다.
+ */
+public final class PointSaga {
+
+    private static final AtomicReferenceFieldUpdater<PointSaga, SagaState> STATE =
+            AtomicReferenceFieldUpdater.newUpdater(PointSaga.class, SagaState.class, "state");
+
+    private final long id;
+    private final long userId;
+    private final long startedAtNanos;
+    private final PointSagaCoordinator.Compensator compensator;
+    private volatile SagaState state = SagaState.STARTED;
+    // state 를 BALANCE_APPLIED 로 바꾸기 전에 쓰므로 그 단계를 본 스레드는 값을 볼 수 있다
+    private long appliedDelta;
+    private volatile long compensation;
+    private volatile int attempts;
+    // HISTORY_RETRYING 으로 바꾸기 전에 쓴다. null 이면 보상 기록이다
+    private volatile Runnable historyRetry;
+
+    PointSaga(long id, long userId, long startedAtNanos, PointSagaCoordinator.Compensator compensator) {
+        this.id = id;
+        this.userId = userId;
+        this.startedAtNanos = startedAtNanos;
+        this.compensator = compensator;
+    }
+
+    public long id() {
+        return id;
+    }
+
+    public long userId() {
+        return userId;
+    }
+
+    public SagaState state() {
+        return state;
+    }
+
+    /** 잔액 단계에서 바꾼 금액 */
+    public long appliedDelta() {
+        return appliedDelta;
+    }
+
+    /** 되돌리려고 잔액에 더할 금액 */
+    public long compensation() {
+        return compensation;
+    }
+
+    long startedAtNanos() {
+        return startedAtNanos;
+    }
+
+    PointSagaCoordinator.Compensator compensator() {
+        return compensator;
+    }
+
+    Runnable historyRetry() {
+        return historyRetry;
+    }
+
+    void historyRetry(Runnable historyRetry) {
+        this.historyRetry = historyRetry;
+    }
+
+    int attempts() {
+        return attempts;
+    }
+
+    void attempts(int attempts) {
+        this.attempts = attempts;
+    }
+
+    void appliedDelta(long appliedDelta) {
+        this.appliedDelta = appliedDelta;
+    }
+
+    void compensation(long compensation) {
+        this.compensation = compensation;
+    }
+
+    boolean transition(SagaState from, SagaState to) {
+        return STATE.compareAndSet(this, from, to);
+    }
+}
@@ -0,0 +1,254 @@
+package io.hhplus.tdd.point.saga;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 포인트 변경을 변경 의도 기록 → 잔액 반영 → 이력 저장 단계로 나눠 추적하고, 중간에 실패하면 바꾼 금액만큼 되돌린다.
+ * 되돌릴 때는 이전 잔액으로 덮어쓰지 않고 금액 차이만 더하므로 그 사이 반영된 다른 요청을 지우지 않는다.
+ * 보상이 실패하면 백오프하며 백그라운드에서 다시 시도하고, sweeper 가 주기마다
+ * 재시도를 다 쓴 보상과 요청 스레드가 끝내지 못한 변경을 정리한다.
+ * WAL 에 기록해 이미 확정된 변경은 되돌리지 않고, 실패한 이력 저장만 같은 방식으로 다시 시도한다.
+ * 기록은 메모리에만 두고 완료된 변경은 바로 지우므로 보관하는 수는 진행 중인 변경 수를 넘지 않는다.
+ */
+@Component
+public class PointSagaCoordinator {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointSagaCoordinator.class);
+
+    private final ConcurrentHashMap<Long, PointSaga> inFlight = new ConcurrentHashMap<>();
+    private final AtomicLong ids = new AtomicLong();
+    private final PointSagaProperties properties;
+    private final PointMetrics metrics;
+    private final ScheduledExecutorService scheduler;
+
+    public PointSagaCoordinator(PointSagaProperties properties, PointMetrics metrics) {
+        if (properties.maxAttempts() < 1)
+            throw new IllegalArgumentException("보상 시도 횟수는 1 이상이어야 합니다. maxAttempts : " + properties.maxAttempts());
+
+        this.properties = properties;
+        this.metrics = metrics;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "point-saga");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        long intervalMillis = properties.sweepInterval().toMillis();
+        if (intervalMillis > 0)
+            scheduler.scheduleWithFixedDelay(this::sweepQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * 잔액에 delta 를 더해 변경을 되돌린다. knownBalance 는 호출자가 락 안에서 알고 있는 현재 잔액이며,
+     * 백그라운드 재시도처럼 모를 때는 null 이므로 직접 읽어야 한다. 잔액 규칙은 다시 검사하지 않는다.
+     */
+    public interface Compensator {
+        void apply(long userId, long delta, UserPoint knownBalance);
+    }
+
+    /** 잔액을 바꾸기 전에 변경 의도를 기록한다 */
+    public PointSaga begin(long userId, Compensator compensator) {
+        PointSaga saga = new PointSaga(ids.incrementAndGet(), userId, System.nanoTime(), compensator);
+        inFlight.put(saga.id(), saga);
+        return saga;
+    }
+
+    /**
+     * 잔액을 delta 만큼 바꿨음을 기록한다. sweeper 가 이미 취소한 변경이면 false 를 반환하며,
+     * 호출자는 바꾼 잔액을 compensate 로 되돌리고 실패로 응답해야 한다.
+     */
+    public boolean balanceApplied(PointSaga saga, long delta) {
+        saga.appliedDelta(delta);
+        return saga.transition(SagaState.STARTED, SagaState.BALANCE_APPLIED);
+    }
+
+    /** 이력 저장을 시작한다. sweeper 가 이미 되돌리기 시작했으면 false 를 반환하며, 호출자는 실패로 응답해야 한다 */
+    public boolean startHistory(PointSaga saga) {
+        return saga.transition(SagaState.BALANCE_APPLIED, SagaState.HISTORY_STARTED);
+    }
+
+    /** 모든 단계를 마쳤거나 잔액을 바꾸기 전에 끝났으므로 기록을 지운다 */
+    public void complete(PointSaga saga) {
+        inFlight.remove(saga.id(), saga);
+    }
+
+    /**
+     * 잔액에 delta 를 더해 되돌린다. 먼저 호출 스레드에서 knownBalance 로 한 번 시도하고,
+     * 실패하면 백그라운드에서 다시 시도한다. 호출 스레드에서 되돌렸으면 true 를 반환한다.
+     */
+    public boolean compensate(PointSaga saga, long delta, UserPoint knownBalance) {
+        if (!startCompensation(saga, delta))
+            return false;
+
+        if (attempt(saga, knownBalance))
+            return true;
+
+        scheduleRetry(saga);
+        return false;
+    }
+
+    /**
+     * WAL 에 기록해 확정된 변경의 이력 저장이 실패했으므로 잔액은 두고 이력만 백그라운드에서 다시 쓴다.
+     * 요청 스레드가 이미 한 번 시도했으므로 첫 재시도부터 백오프한다. 재시작하면 WAL 복구가 이력을 채운다.
+     */
+    public void retryHistory(long userId, Runnable write) {
+        PointSaga saga = new PointSaga(ids.incrementAndGet(), userId, System.nanoTime(), null);
+        saga.historyRetry(write);
+        saga.attempts(1);
+        saga.transition(SagaState.STARTED, SagaState.HISTORY_RETRYING);
+        inFlight.put(saga.id(), saga);
+        scheduleRetry(saga);
+    }
+
+    /** 진행 중인 변경 수 (보상 대기 포함) */
+    public int inFlightCount() {
+        return inFlight.size();
+    }
+
+    /** 유저에게 끝나지 않은 변경이나 보상이 남아 있는지 */
+    public boolean pending(long userId) {
+        for (PointSaga saga : inFlight.values()) {
+            if (saga.userId() == userId)
+                return true;
+        }
+        return false;
+    }
+
+    /** 재시도를 다 써서 sweeper 를 기다리는 보상과 이력 재저장 수 */
+    public long failedCount() {
+        return inFlight.values().stream().filter(saga -> saga.state() == SagaState.FAILED).count();
+    }
+
+    /**
+     * 재시도를 다 쓴 보상과 이력 재저장을 다시 시도하고, inDoubtAfter 가 지나도록 요청 스레드가 끝내지 못한 변경을 정리한다.
+     * - 잔액을 바꾸기 전이면 취소만 한다. 늦게 잔액을 바꾼 요청 스레드가 balanceApplied 에서 알아채고 되돌린다
+     * - 잔액을 바꿨고 이력을 쓰기 전이면 되돌린다
+     * - 이력을 쓰는 중이면 결과를 요청 스레드만 알 수 있으므로 기다린다
+     */
+    public void sweep() {
+        long deadline = System.nanoTime() - properties.inDoubtAfter().toNanos();
+        for (PointSaga saga : inFlight.values()) {
+            switch (saga.state()) {
+                case FAILED -> {
+                    if (saga.transition(SagaState.FAILED, retrying(saga))) {
+                        saga.attempts(0);
+                        retry(saga);
+                    }
+                }
+                case BALANCE_APPLIED -> {
+                    if (saga.startedAtNanos() - deadline < 0 && startCompensation(saga, -saga.appliedDelta())) {
+                        logger.warn("끝나지 않은 포인트 변경 되돌림 sagaId={}, userId={}, 금액={}",
+                                saga.id(), saga.userId(), saga.appliedDelta());
+                        retry(saga);
+                    }
+                }
+                case STARTED -> {
+                    if (saga.startedAtNanos() - deadline < 0 && saga.transition(SagaState.STARTED, SagaState.CANCELLED)) {
+                        logger.warn("잔액 반영 전에 멈춘 포인트 변경 취소 sagaId={}, userId={}", saga.id(), saga.userId());
+                        inFlight.remove(saga.id(), saga);
+                    }
+                }
+                default -> {
+                }
+            }
+        }
+    }
+
+    @PreDestroy
+    public void close() {
+        scheduler.shutdownNow();
+        if (!inFlight.isEmpty())
+            logger.warn("보상을 마치지 못한 포인트 변경이 남아 있습니다. 건수={}", inFlight.size());
+    }
+
+    private boolean startCompensation(PointSaga saga, long delta) {
+        for (SagaState from : new SagaState[]{SagaState.BALANCE_APPLIED, SagaState.HISTORY_STARTED, SagaState.CANCELLED}) {
+            if (saga.transition(from, SagaState.COMPENSATING)) {
+                saga.compensation(delta);
+                // sweeper 가 취소하며 지운 변경도 보상이 끝날 때까지는 다시 추적한다
+                inFlight.put(saga.id(), saga);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean attempt(PointSaga saga, UserPoint knownBalance) {
+        saga.attempts(saga.attempts() + 1);
+        Runnable historyRetry = saga.historyRetry();
+        if (historyRetry != null) {
+            try {
+                historyRetry.run();
+                inFlight.remove(saga.id(), saga);
+                logger.warn("포인트 이력 재저장 성공 sagaId={}, userId={}, 시도={}", saga.id(), saga.userId(), saga.attempts());
+                return true;
+            } catch (Exception e) {
+                logger.error("포인트 이력 재저장 실패 sagaId={}, userId={}, 시도={}", saga.id(), saga.userId(), saga.attempts(), e);
+                return false;
+            }
+        }
+
+        try {
+            saga.compensator().apply(saga.userId(), saga.compensation(), knownBalance);
+            inFlight.remove(saga.id(), saga);
+            metrics.rollback(true);
+            return true;
+        } catch (Exception e) {
+            metrics.rollback(false);
+            logger.error("포인트 보상 실패 sagaId={}, userId={}, 금액={}, 시도={}",
+                    saga.id(), saga.userId(), saga.compensation(), saga.attempts(), e);
+            return false;
+        }
+    }
+
+    private void retry(PointSaga saga) {
+        if (!attempt(saga, null))
+            scheduleRetry(saga);
+    }
+
+    // n 번째 실패 뒤 min(retryMax, retryBase * 2^(n-1)) 의 절반 ~ 전부 사이에서 기다린다. 다 쓰면 sweeper 에 넘긴다
+    private void scheduleRetry(PointSaga saga) {
+        int attempts = saga.attempts();
+        if (attempts >= properties.maxAttempts()) {
+            saga.transition(retrying(saga), SagaState.FAILED);
+            logger.error("포인트 {} 재시도 횟수 초과, sweeper 가 다시 시도합니다. sagaId={}, userId={}, 금액={}",
+                    saga.historyRetry() != null ? "이력 재저장" : "보상", saga.id(), saga.userId(), saga.compensation());
+            return;
+        }
+
+        long base = properties.retryBase().toNanos();
+        long ceiling = Math.min(properties.retryMax().toNanos(), base << Math.min(attempts - 1, 20));
+        long delay = ceiling / 2 + ThreadLocalRandom.current().nextLong(ceiling / 2 + 1);
+        try {
+            scheduler.schedule(() -> retry(saga), delay, TimeUnit.NANOSECONDS);
+        } catch (RejectedExecutionException e) {
+            // 종료 중이면 더 시도하지 않고 남겨 둔다
+            saga.transition(retrying(saga), SagaState.FAILED);
+        }
+    }
+
+    private static SagaState retrying(PointSaga saga) {
+        return saga.historyRetry() != null ? SagaState.HISTORY_RETRYING : SagaState.COMPENSATING;
+    }
+
+    private void sweepQuietly() {
+        try {
+            sweep();
+        } catch (Exception e) {
+            logger.error("포인트 변경 정리 실패", e);
+        }
+    }
+}
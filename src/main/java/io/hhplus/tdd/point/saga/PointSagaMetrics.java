@@ -0,0 +1,29 @@
+package io.hhplus.tdd.point.saga;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 진행 중이거나 보상을 기다리는 포인트 변경 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class PointSagaMetrics implements MeterBinder {
+
+    private final PointSagaCoordinator sagas;
+
+    public PointSagaMetrics(PointSagaCoordinator sagas) {
+        this.sagas = sagas;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.saga.in_flight", sagas, PointSagaCoordinator::inFlightCount)
+                .description("진행 중이거나 보상을 기다리는 포인트 변경 수")
+                .register(registry);
+        Gauge.builder("point.saga.failed", sagas, PointSagaCoordinator::failedCount)
+                .description("보상 재시도를 다 써서 sweeper 를 기다리는 포인트 변경 수")
+                .register(registry);
+    }
+}
@@ -0,0 +1,23 @@
+package io.hhplus.tdd.point.saga;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 포인트 변경 보상 설정
+ * - retryBase / retryMax : 보상이 n 번째 실패하면 min(retryMax, retryBase * 2^(n-1)) 뒤에 다시 시도한다
+ * - maxAttempts : 연달아 시도할 최대 횟수. 모두 실패하면 FAILED 로 두고 sweeper 주기마다 다시 시도한다
+ * - sweepInterval : 오래 끝나지 않은 변경과 FAILED 보상을 훑는 주기 (0 이면 훑지 않는다)
+ * - inDoubtAfter : 시작한 지 이 시간이 지나도 잔액 단계를 넘기지 못한 변경은 요청 스레드가 멈췄다고 보고 정리한다
+ */
+@ConfigurationProperties(prefix = "point.saga")
+public record PointSagaProperties(
+        @DefaultValue("50ms") Duration retryBase,
+        @DefaultValue("5s") Duration retryMax,
+        @DefaultValue("10") int maxAttempts,
+        @DefaultValue("30s") Duration sweepInterval,
+        @DefaultValue("1m") Duration inDoubtAfter
+) {
+}
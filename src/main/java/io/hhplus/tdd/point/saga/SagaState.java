@@ -0,0 +1,16 @@
+package io.hhplus.tdd.point.saga;
+
+/**
+ * 포인트 변경 한 건(또는 일괄 처리의 유저 한 그룹)의 진행 단계
+ * - STARTED : 변경 의도를 기록했고 잔액은 아직 바꾸지 않았다
+ * - BALANCE_APPLIED : 잔액을 바꿨고 이력은 아직 쓰기 전이다
+ * - HISTORY_STARTED : WAL 기록과 이력 저장 중이다. 이 단계부터는 요청 스레드만 결과를 안다
+ * - CANCELLED : 잔액 단계가 너무 오래 끝나지 않아 sweeper 가 취소했다. 늦게라도 잔액을 바꾼 요청 스레드가 보상한다
+ * - COMPENSATING : 바꾼 잔액을 되돌리는 중이다. 실패하면 백오프하며 다시 시도한다
+ * - HISTORY_RETRYING : WAL 에 기록해 확정된 변경의 이력 저장이 실패해 이력만 다시 쓰는 중이다. 잔액은 되돌리지 않는다
+ * - FAILED : 보상이나 이력 재저장의 재시도 횟수를 다 썼다. sweeper 가 주기마다 다시 시도한다
+ * 완료되거나 잔액을 바꾸기 전에 끝난 변경은 기록에서 지운다.
+ */
+public enum SagaState {
+    STARTED, BALANCE_APPLIED, HISTORY_STARTED, CANCELLED, COMPENSATING, HISTORY_RETRYING, FAILED
+}
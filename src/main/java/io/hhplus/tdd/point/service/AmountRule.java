@@ -0,0 +1,43 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.exception.PointValidationException;
+
+import static io.hhplus.tdd.point.PointPolicy.*;
+
+/**
+ * 충전/사용 금액 검증 규칙
+ * 검증 실패 예외는 정책 값으로 한 번만 만들어 두고 재사용한다. (스택 트레이스가 없어 공유해도 안전하다)
+ */
+enum AmountRule {
+    CHARGE("충전 금액은 ", POINT_CHARGE_UNIT),
+    USE("사용 금액은 ", POINT_USE_UNIT);
+
+    private final PointPolicy unit;
+    private final PointValidationException belowMinimum;
+    private final PointValidationException aboveMaximum;
+    private final PointValidationException unitMismatch;
+
+    AmountRule(String prefix, PointPolicy unit) {
+        this.unit = unit;
+        this.belowMinimum = new PointValidationException(prefix + MIN_AMOUNT.value() + "원 이상이어야 합니다");
+        this.aboveMaximum = new PointValidationException(prefix + MAX_AMOUNT.value() + "원을 초과할 수 없습니다");
+        this.unitMismatch = new PointValidationException(prefix + unit.value() + "원 단위 여야 합니다");
+    }
+
+    int unit() {
+        return unit.value();
+    }
+
+    PointValidationException belowMinimum() {
+        return belowMinimum;
+    }
+
+    PointValidationException aboveMaximum() {
+        return aboveMaximum;
+    }
+
+    PointValidationException unitMismatch() {
+        return unitMismatch;
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.config.PointAsyncProperties;
+import io.hhplus.tdd.point.config.PointExecutorConfig;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+
+/**
+ * PointService 를 전용 실행기에서 실행하고 결과를 CompletableFuture 로 돌려준다.
+ * 호출한 스레드(서블릿 스레드)는 저장소를 기다리지 않고 바로 반환된다.
+ * 쓰기와 조회는 bulkhead 를 따로 두어 한쪽이 몰려도 다른 쪽은 처리된다.
+ *
+ * timeout 은 응답에만 적용된다. 이미 시작한 충전/사용은 끝까지 실행되므로,
+ * 시간 초과 응답을 받은 클라이언트는 같은 Idempotency-Key 로 재시도해 결과를 확인한다.
+ */
+@Service
+public class PointAsyncService {
+
+    private final PointService pointService;
+    private final IdempotencyCache idempotencyCache;
+    private final PointBulkhead writes;
+    private final PointBulkhead reads;
+
+    public PointAsyncService(PointService pointService, IdempotencyCache idempotencyCache, PointAsyncProperties properties,
+                             @Qualifier(PointExecutorConfig.WRITE_EXECUTOR) Executor writeExecutor,
+                             @Qualifier(PointExecutorConfig.READ_EXECUTOR) Executor readExecutor) {
+        this.pointService = pointService;
+        this.idempotencyCache = idempotencyCache;
+        this.writes = new PointBulkhead("쓰기", writeExecutor, properties.write());
+        this.reads = new PointBulkhead("조회", readExecutor, properties.read());
+    }
+
+    public CompletableFuture<UserPoint> chargeAsync(Long userId, long chargeAmount) {
+        return chargeAsync(userId, chargeAmount, null);
+    }
+
+    /** idempotencyKey 가 있으면 같은 키의 재시도에는 다시 충전하지 않고 처음 결과를 돌려준다 */
+    public CompletableFuture<UserPoint> chargeAsync(Long userId, long chargeAmount, String idempotencyKey) {
+        return writes.withTimeout(idempotencyCache.executeAsync(idempotencyKey, userId, TransactionType.CHARGE, chargeAmount,
+                () -> writes.submit(() -> pointService.charge(userId, chargeAmount))));
+    }
+
+    public CompletableFuture<UserPoint> useAsync(Long userId, long useAmount) {
+        return useAsync(userId, useAmount, null);
+    }
+
+    /** idempotencyKey 가 있으면 같은 키의 재시도에는 다시 차감하지 않고 처음 결과를 돌려준다 */
+    public CompletableFuture<UserPoint> useAsync(Long userId, long useAmount, String idempotencyKey) {
+        return writes.withTimeout(idempotencyCache.executeAsync(idempotencyKey, userId, TransactionType.USE, useAmount,
+                () -> writes.submit(() -> pointService.use(userId, useAmount))));
+    }
+
+    public CompletableFuture<UserPoint> getBalanceAsync(Long userId) {
+        return reads.withTimeout(reads.submit(() -> pointService.getBalance(userId)));
+    }
+
+    public CompletableFuture<List<PointHistory>> getHistoriesAsync(Long userId) {
+        return reads.withTimeout(reads.submit(() -> pointService.getHistories(userId)));
+    }
+
+    public CompletableFuture<List<PointHistory>> getHistoriesAsync(Long userId, TransactionType type, Long fromMillis, Long toMillis) {
+        return reads.withTimeout(reads.submit(() -> pointService.getHistories(userId, type, fromMillis, toMillis)));
+    }
+
+    public CompletableFuture<PointHistoryPage> getHistoriesAsync(Long userId, PointHistoryQuery query) {
+        return reads.withTimeout(reads.submit(() -> pointService.getHistories(userId, query)));
+    }
+
+    /** 처리 중이거나 대기 중인 쓰기 요청 수 */
+    public int writesInFlight() {
+        return writes.inFlight();
+    }
+
+    /** 처리 중이거나 대기 중인 조회 요청 수 */
+    public int readsInFlight() {
+        return reads.inFlight();
+    }
+
+    /** 한도를 넘어 거절한 쓰기 요청 수 */
+    public long rejectedWrites() {
+        return writes.rejectedCount();
+    }
+
+    /** 한도를 넘어 거절한 조회 요청 수 */
+    public long rejectedReads() {
+        return reads.rejectedCount();
+    }
+}
@@ -0,0 +1,70 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointAsyncProperties;
+import io.hhplus.tdd.point.exception.PointBulkheadFullException;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 한 종류의 작업이 쓰는 실행기와 동시 처리 한도.
+ * 처리 중 + 대기 중인 작업이 maxConcurrent + maxQueued 를 넘으면 실행기에 넣지 않고 바로 거절하므로
+ * 한 종류의 작업이 몰려도 다른 종류의 작업이 쓸 스레드와 메모리를 차지하지 않는다.
+ */
+final class PointBulkhead {
+
+    private final String name;
+    private final Executor executor;
+    private final int capacity;
+    private final Semaphore permits;
+    private final long timeoutNanos;
+    private final LongAdder rejected = new LongAdder();
+
+    PointBulkhead(String name, Executor executor, PointAsyncProperties.Bulkhead properties) {
+        this.name = name;
+        this.executor = executor;
+        this.capacity = properties.maxConcurrent() + properties.maxQueued();
+        this.permits = new Semaphore(capacity);
+        this.timeoutNanos = properties.timeout().toNanos();
+    }
+
+    /** 작업을 실행기에 넣는다. 반환한 future 에는 timeout 을 걸지 않는다 */
+    <T> CompletableFuture<T> submit(Supplier<T> action) {
+        if (!permits.tryAcquire())
+            return reject();
+
+        CompletableFuture<T> task;
+        try {
+            task = CompletableFuture.supplyAsync(action, executor);
+        } catch (RejectedExecutionException e) {
+            permits.release();
+            return reject();
+        }
+        // 응답 timeout 이 아니라 작업이 실제로 끝났을 때 자리를 돌려주고, 돌려준 뒤에 완료된다
+        return task.whenComplete((result, failure) -> permits.release());
+    }
+
+    /** 작업 자체는 그대로 두고 응답만 timeout 으로 끝나는 future 를 반환한다 */
+    <T> CompletableFuture<T> withTimeout(CompletableFuture<T> task) {
+        return task.copy().orTimeout(timeoutNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /** 처리 중이거나 대기 중인 작업 수 */
+    int inFlight() {
+        return capacity - permits.availablePermits();
+    }
+
+    long rejectedCount() {
+        return rejected.sum();
+    }
+
+    private <T> CompletableFuture<T> reject() {
+        rejected.increment();
+        return CompletableFuture.failedFuture(new PointBulkheadFullException("처리 중인 " + name + " 요청이 너무 많습니다."));
+    }
+}
@@ -1,106 +1,517 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
-import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.BalanceCheck;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
 import io.hhplus.tdd.point.PointHistory;
-import io.hhplus.tdd.point.PointPolicy;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
 import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.config.PointBatchProperties;
+import io.hhplus.tdd.point.config.PointExecutorConfig;
 import io.hhplus.tdd.point.exception.*;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.ConcurrencyMode;
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.reconcile.ChangedUsers;
+import io.hhplus.tdd.point.repository.CompareAndSetUserPointRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.saga.PointSaga;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.wal.PointWal;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Service;
 
-import java.util.Comparator;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static io.hhplus.tdd.point.PointPolicy.*;
 
 @Service
 public class PointService {
 
-    private final UserPointTable pointTable;
-    private final PointHistoryTable pointHistoryTable;
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final UserLockManager lockManager;
+    private final PointHistoryWriter historyWriter;
+    private final BalanceCache balanceCache;
+    private final ExecutorService batchExecutor;
+    private final PointBatchProperties batchProperties;
+    private final PointMetrics metrics;
+    private final PointWal wal;
+    private final PointConcurrencyProperties concurrency;
+    private final ConcurrencyMode mode;
+    private final SingleFlight<Long, UserPoint> balanceReads = new SingleFlight<>();
+    private final UserMailboxes<PointCommand, Applied> mailboxes;
+    private final ChangedUsers changedUsers = new ChangedUsers();
+    private final PointSagaCoordinator sagas;
+    private final PointSagaCoordinator.Compensator compensator = this::applyDelta;
 
     private static final Logger logger = LoggerFactory.getLogger(PointService.class);
+    private static final int EXPORT_CHUNK_SIZE = 500;
+    private static final PointValidationException NO_USABLE_POINT = new PointValidationException("사용 가능한 포인트가 없습니다.");
+    private static final PointValidationException MISSING_TRANSACTION_TYPE = new PointValidationException("거래 유형이 없습니다.");
+    private static final BalanceConflict BALANCE_CONFLICT = new BalanceConflict();
     
-    public PointService(UserPointTable pointTable, PointHistoryTable pointHistoryTable) {
-        this.pointTable = pointTable;
-        this.pointHistoryTable = pointHistoryTable;
+    public PointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                        UserLockManager lockManager, PointHistoryWriter historyWriter, BalanceCache balanceCache,
+                        @Qualifier(PointExecutorConfig.BATCH_EXECUTOR) ExecutorService batchExecutor,
+                        PointBatchProperties batchProperties, PointMetrics metrics, PointWal wal,
+                        PointConcurrencyProperties concurrency,
+                        @Qualifier(PointExecutorConfig.MAILBOX_EXECUTOR) ExecutorService mailboxExecutor,
+                        PointSagaCoordinator sagas) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.lockManager = lockManager;
+        this.historyWriter = historyWriter;
+        this.balanceCache = balanceCache;
+        this.batchExecutor = batchExecutor;
+        this.batchProperties = batchProperties;
+        this.metrics = metrics;
+        this.wal = wal;
+        this.concurrency = concurrency;
+        this.sagas = sagas;
+        // WAL 복구는 유저별 마지막 레코드의 잔액을 쓰므로 저장 순서와 기록 순서가 같아야 한다. 락 없이는 보장할 수 없다
+        boolean optimisticSupported = userPointRepository instanceof CompareAndSetUserPointRepository && !wal.enabled();
+        this.mode = concurrency.mode() == ConcurrencyMode.OPTIMISTIC && !optimisticSupported
+                ? ConcurrencyMode.PESSIMISTIC : concurrency.mode();
+        if (concurrency.mode() == ConcurrencyMode.OPTIMISTIC && !optimisticSupported)
+            logger.warn("OPTIMISTIC 모드는 compare-and-set 을 지원하는 잔액 저장소에서 WAL 을 끈 경우에만 사용할 수 있어 PESSIMISTIC 으로 동작합니다. 저장소={}, WAL={}",
+                    userPointRepository.getClass().getSimpleName(), wal.enabled());
+        this.mailboxes = new UserMailboxes<>(mailboxExecutor, concurrency.mailbox().batchSize(), this::applyQueued);
+    }
+
+    /** 실제로 적용된 동시성 제어 방식 */
+    public ConcurrencyMode concurrencyMode() {
+        return mode;
+    }
+
+    /** 마지막 대조 이후 잔액이 바뀐 유저 */
+    public ChangedUsers changedUsers() {
+        return changedUsers;
+    }
+
+    /** ACTOR 모드에서 처리할 요청이 남아 있는 유저 대기열 수 */
+    public int activeMailboxCount() {
+        return mailboxes.activeCount();
+    }
+
+    /** ACTOR 모드에서 작업자가 잔액 저장 한 번으로 묶어 처리한 묶음 수 */
+    public long mailboxBatchCount() {
+        return mailboxes.batchCount();
+    }
+
+    /** ACTOR 모드에서 작업자가 처리한 요청 수 */
+    public long mailboxCommandCount() {
+        return mailboxes.commandCount();
     }
 
     // 최소 충전 금액은 1000원 최대 충전 금액은 100만원으로 한다
     public UserPoint charge(Long userId, long chargeAmount) {
-        validateUserId(userId);
-        validateAmount(chargeAmount, "충전 금액은 ", POINT_CHARGE_UNIT);
+        return metrics.recordOperation("charge", () -> {
+            validateUserId(userId);
+            validateAmount(chargeAmount, AmountRule.CHARGE);
+
+            // 잔액 조회 ~ 저장 구간은 같은 유저끼리 직렬화하여 동시 요청의 갱신 손실을 막는다
+            // WAL 동기화는 락을 놓은 뒤 기다려 다른 요청의 기록과 한 번에 동기화되게 한다
+            if (mode == ConcurrencyMode.ACTOR)
+                return awaitDurable(enqueue(new PointCommand(userId, chargeAmount, TransactionType.CHARGE)));
+            return awaitDurable(executeUpdate(userId, () -> chargeBalance(userId, chargeAmount)));
+        });
+    }
+
+    // 최소 사용 금액은 1000원 최대 사용 금액은 100만원으로 한다
+    public UserPoint use(Long userId, long useAmount) {
+        return metrics.recordOperation("use", () -> {
+            validateUserId(userId);
+            validateAmount(useAmount, AmountRule.USE);
+
+            if (mode == ConcurrencyMode.ACTOR)
+                return awaitDurable(enqueue(new PointCommand(userId, useAmount, TransactionType.USE)));
+            return awaitDurable(executeUpdate(userId, () -> useBalance(userId, useAmount)));
+        });
+    }
 
-        UserPoint currentPoint = pointTable.selectById(userId);
+    private Applied chargeBalance(Long userId, long chargeAmount) {
+        UserPoint currentPoint = readBalance(userId);
         long updatedBalance = currentPoint.point() + chargeAmount;
         validatePointBalance(updatedBalance);
 
-        // 잔액 충전 중이나 이력 업데이트시 에러날 때 rollback
-        try {
-            UserPoint updatedPoint = pointTable.insertOrUpdate(userId, updatedBalance);
-            try {
-                //  잔액을 넣는 것이 아닌 이력 관리를 위해 충전 금액을 넣음
-                pointHistoryTable.insert(userId, chargeAmount, TransactionType.CHARGE, System.currentTimeMillis());
-            } catch (Exception e) {
-                rollback(currentPoint);
-                logger.error("포인트 충전 실패로 인한 롤백 userId={}, 잔액={}", userId, currentPoint.point(), e);
-                throw new PointSaveException("포인트 이력 저장 실패", e);
-            }
+        //  잔액을 넣는 것이 아닌 이력 관리를 위해 충전 금액을 넣음
+        Applied applied = applyBalance(currentPoint, updatedBalance, chargeAmount, TransactionType.CHARGE);
 
-            logger.info("포인트 충전 완료 userId={}, 충전 포인트={} 잔액={}", userId, chargeAmount, updatedBalance);
-            return updatedPoint;
-        } catch (Exception e) {
-            logger.error("포인트 충전 실패 userId={}, 충전 금액={}", userId, chargeAmount, e);
-            throw new PointSaveException("포인트 잔액 저장 실패", e);
-        }
+        // 성공 로그는 요청마다 남으므로 debug 일 때만 인자를 박싱한다
+        if (logger.isDebugEnabled())
+            logger.debug("포인트 충전 완료 userId={}, 충전 포인트={} 잔액={}", userId, chargeAmount, updatedBalance);
+        return applied;
     }
 
-    // 최소 사용 금액은 1000원 최대 사용 금액은 100만원으로 한다
-    public UserPoint use(Long userId, long useAmount) {
-        validateUserId(userId);
-        validateAmount(useAmount, "사용 금액은 ", POINT_USE_UNIT);
-
-        UserPoint currentPoint = pointTable.selectById(userId);
+    private Applied useBalance(Long userId, long useAmount) {
+        UserPoint currentPoint = readBalance(userId);
         long currentBalance = currentPoint.point();
         if(currentBalance <= 0)
-            throw new PointValidationException("사용 가능한 포인트가 없습니다.");
+            throw NO_USABLE_POINT;
 
         long updatedBalance = currentBalance - useAmount;
         validatePointBalance(updatedBalance);
 
+        Applied applied = applyBalance(currentPoint, updatedBalance, useAmount, TransactionType.USE);
+
+        if (logger.isDebugEnabled())
+            logger.debug("포인트 사용 완료 userId={}, 사용 포인트={} 잔액={}", userId, useAmount, updatedBalance);
+        return applied;
+    }
+
+    /**
+     * 변경 의도를 기록한 뒤 잔액, WAL, 이력 순서로 반영한다. WAL 기록까지 실패하면 바꾼 금액만큼 되돌린다.
+     * 재시작하면 메모리 상태는 사라지고 WAL 로 복구하므로, 응답한 변경은 모두 WAL 에 남아 있어야 하고
+     * WAL 에 남지 않은 변경의 이력이 먼저 저장되어서도 안 된다. WAL 에 기록한 뒤에는 변경이 확정되므로
+     * 이력 저장이 실패해도 되돌리지 않고 이력만 다시 쓴다.
+     */
+    private Applied applyBalance(UserPoint currentPoint, long updatedBalance, long amount, TransactionType type) {
+        long userId = currentPoint.id();
+        PointSaga saga = sagas.begin(userId, compensator);
+        UserPoint updatedPoint;
         try {
-            UserPoint updatedPoint = pointTable.insertOrUpdate(userId, updatedBalance);
+            updatedPoint = storeBalance(currentPoint, updatedBalance);
+        } catch (BalanceConflict e) {
+            sagas.complete(saga);
+            throw e;
+        } catch (Exception e) {
+            sagas.complete(saga);
+            logger.error("포인트 잔액 저장 실패 userId={}, 금액={}", userId, amount, e);
+            throw new PointSaveException("포인트 잔액 저장 실패", e);
+        }
 
-            try {
-                pointHistoryTable.insert(userId, useAmount, TransactionType.USE, System.currentTimeMillis());
-            } catch (Exception e) {
-                rollback(currentPoint);
-                logger.error("포인트 사용 실패로 인한 롤백 userId={}, 잔액={}", userId, currentBalance, e);
+        long delta = updatedBalance - currentPoint.point();
+        if (!sagas.balanceApplied(saga, delta)) {
+            // 잔액을 바꾸는 사이 sweeper 가 멈춘 요청으로 보고 취소했다
+            sagas.compensate(saga, -delta, updatedPoint);
+            throw new PointSaveException("포인트 변경이 취소되었습니다. userId=" + userId);
+        }
+        if (!sagas.startHistory(saga))
+            throw new PointSaveException("포인트 변경이 되돌려졌습니다. userId=" + userId);
+
+        long sequence;
+        try {
+            sequence = wal.append(userId, amount, type, updatedPoint.point(), updatedPoint.updateMillis());
+        } catch (Exception e) {
+            sagas.compensate(saga, -delta, updatedPoint);
+            logger.error("포인트 변경 기록 실패로 인한 보상 userId={}, 잔액={}", userId, currentPoint.point(), e);
+            throw new PointSaveException("포인트 변경 기록 실패", e);
+        }
+
+        long historyMillis = System.currentTimeMillis();
+        try {
+            historyWriter.write(userId, amount, type, historyMillis);
+        } catch (Exception e) {
+            if (!wal.enabled()) {
+                sagas.compensate(saga, -delta, updatedPoint);
+                logger.error("포인트 이력 저장 실패로 인한 보상 userId={}, 잔액={}", userId, currentPoint.point(), e);
                 throw new PointSaveException("포인트 이력 저장 실패", e);
             }
+            logger.error("포인트 이력 저장 실패, 이력만 다시 저장합니다. userId={}, 금액={}", userId, amount, e);
+            sagas.retryHistory(userId, () -> historyWriter.write(userId, amount, type, historyMillis));
+        }
+
+        sagas.complete(saga);
+        return new Applied(updatedPoint, sequence);
+    }
+
+    // 락을 놓은 뒤 호출된다. 동기화에 실패하면 WAL 이 더 이상 기록을 받지 않으므로 되돌리지 않고 실패만 알린다
+    private UserPoint awaitDurable(Applied applied) {
+        wal.awaitDurable(applied.sequence());
+        return applied.point();
+    }
+
+    // 여러 유저에게 같은 금액을 한 번에 충전한다
+    public List<PointCommandResult> chargeAll(Collection<Long> userIds, long chargeAmount) {
+        return executeAll(toCommands(userIds, chargeAmount, TransactionType.CHARGE));
+    }
+
+    // 여러 유저에게서 같은 금액을 한 번에 사용한다
+    public List<PointCommandResult> useAll(Collection<Long> userIds, long useAmount) {
+        return executeAll(toCommands(userIds, useAmount, TransactionType.USE));
+    }
+
+    /**
+     * 일괄 충전/사용. 항목을 유저별로 묶어 유저 단위로 병렬 처리하고, 결과는 요청 순서대로 돌려준다.
+     * 한 유저의 항목은 락 한 번 안에서 요청 순서대로 반영하며 잔액 조회/저장은 한 번씩만 한다.
+     * 정책 위반 항목은 실패 결과로 남기고 나머지 항목은 계속 처리한다.
+     */
+    public List<PointCommandResult> executeAll(List<PointCommand> commands) {
+        return metrics.recordOperation("batch", () -> executeCommands(commands));
+    }
+
+    private List<PointCommandResult> executeCommands(List<PointCommand> commands) {
+        validateBatchSize(commands);
+
+        PointCommandResult[] results = new PointCommandResult[commands.size()];
+        Map<Long, List<Integer>> indexesByUser = new LinkedHashMap<>();
+        for (int i = 0; i < commands.size(); i++) {
+            PointCommand command = commands.get(i);
+            try {
+                validateUserId(command.userId());
+                if (command.type() == null)
+                    throw MISSING_TRANSACTION_TYPE;
+                indexesByUser.computeIfAbsent(command.userId(), id -> new ArrayList<>()).add(i);
+            } catch (IllegalArgumentException | PointValidationException e) {
+                results[i] = PointCommandResult.rejected(command, e.getMessage());
+            }
+        }
+
+        if (mode == ConcurrencyMode.ACTOR) {
+            enqueueAll(commands, indexesByUser, results);
+            return Arrays.asList(results);
+        }
+
+        List<CompletableFuture<Void>> groups = new ArrayList<>(indexesByUser.size());
+        indexesByUser.forEach((userId, indexes) -> groups.add(CompletableFuture
+                .runAsync(() -> wal.awaitDurable(executeUpdate(userId, () -> applyCommands(userId, commands, indexes,
+                        new ResultOutcomes(commands, results)))), batchExecutor)
+                .exceptionally(e -> {
+                    // 락 대기 초과, WAL 동기화 실패 등으로 그룹 전체를 처리하지 못한 경우
+                    logger.error("포인트 일괄 처리 실패 userId={}, 항목 수={}", userId, indexes.size(), e);
+                    for (int index : indexes)
+                        results[index] = PointCommandResult.rejected(commands.get(index), "포인트 일괄 처리 실패");
+                    return null;
+                })));
+        CompletableFuture.allOf(groups.toArray(CompletableFuture[]::new)).join();
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * ACTOR 모드의 일괄 처리. 항목을 유저 대기열에 요청 순서대로 넣고, 모두 끝나면 마지막 WAL 기록까지 한 번에 동기화한다.
+     * 같은 유저의 다른 요청과 섞여도 항목끼리의 순서는 유지된다.
+     */
+    private void enqueueAll(List<PointCommand> commands, Map<Long, List<Integer>> indexesByUser, PointCommandResult[] results) {
+        Map<Integer, CompletableFuture<Applied>> queued = new LinkedHashMap<>();
+        indexesByUser.forEach((userId, indexes) -> {
+            for (int index : indexes)
+                queued.put(index, mailboxes.submit(userId, commands.get(index)));
+        });
+
+        long sequence = 0;
+        for (Map.Entry<Integer, CompletableFuture<Applied>> entry : queued.entrySet()) {
+            PointCommand command = commands.get(entry.getKey());
+            try {
+                Applied applied = join(entry.getValue());
+                results[entry.getKey()] = PointCommandResult.applied(command, applied.point());
+                sequence = Math.max(sequence, applied.sequence());
+            } catch (RuntimeException e) {
+                results[entry.getKey()] = PointCommandResult.rejected(command, e.getMessage());
+            }
+        }
 
-            logger.info("포인트 사용 완료 userId={}, 사용 포인트={} 잔액={}", userId, useAmount, updatedBalance);
-            return updatedPoint;
+        try {
+            wal.awaitDurable(sequence);
         } catch (Exception e) {
-            logger.error("포인트 사용 실패 userId={}, 사용 금액={}", userId, useAmount, e);
-            throw new PointSaveException("포인트 사용 실패", e);
+            // WAL 동기화에 실패하면 반영한 항목도 기록이 남았다고 보장할 수 없다
+            logger.error("포인트 일괄 처리 WAL 동기화 실패 항목 수={}", queued.size(), e);
+            for (int index : queued.keySet())
+                results[index] = PointCommandResult.rejected(commands.get(index), "포인트 일괄 처리 실패");
         }
     }
 
-    public UserPoint getBalance(Long userId) {
-        validateUserId(userId);
+    // ACTOR 모드에서 요청을 유저 대기열에 넣고 작업자가 처리할 때까지 기다린다
+    private Applied enqueue(PointCommand command) {
+        return join(mailboxes.submit(command.userId(), command));
+    }
+
+    // 유저 대기열 작업자가 호출한다. 한 번에 꺼낸 요청을 들어온 순서대로 반영하고 잔액은 한 번만 저장한다
+    private void applyQueued(long userId, List<UserMailboxes.Envelope<PointCommand, Applied>> batch) {
+        List<PointCommand> commands = new ArrayList<>(batch.size());
+        List<Integer> indexes = new ArrayList<>(batch.size());
+        for (int i = 0; i < batch.size(); i++) {
+            commands.add(batch.get(i).command());
+            indexes.add(i);
+        }
+
+        // 잔액을 바꾸는 건 이 작업자뿐이지만, 백그라운드 보상 재시도가 끼어들지 않도록 유저 락을 잡는다
+        lockManager.executeWithLock(userId, () -> applyCommands(userId, commands, indexes, new CommandOutcomes() {
+            @Override
+            public void applied(int index, UserPoint point, long sequence) {
+                batch.get(index).result().complete(new Applied(point, sequence));
+            }
 
+            @Override
+            public void rejected(int index, RuntimeException cause) {
+                batch.get(index).result().completeExceptionally(cause);
+            }
+        }));
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 작업자가 던진 예외를 그대로 던져 PESSIMISTIC 모드와 같은 응답이 나가게 한다
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+
+    // 락 안에서(OPTIMISTIC 이면 충돌할 때마다 처음부터 다시, ACTOR 면 유저 대기열 작업자에서) 호출된다.
+    // 잔액을 한 번 읽어 항목을 차례로 반영하고 최종 잔액만 저장한다. 반영한 마지막 항목의 WAL sequence 를 반환한다.
+    private long applyCommands(long userId, List<PointCommand> commands, List<Integer> indexes, CommandOutcomes outcomes) {
+        UserPoint currentPoint = readBalance(userId);
+        long balance = currentPoint.point();
+        List<Integer> accepted = new ArrayList<>(indexes.size());
+        long[] balances = new long[indexes.size()];
+
+        for (int index : indexes) {
+            PointCommand command = commands.get(index);
+            try {
+                balance = nextBalance(balance, command);
+                balances[accepted.size()] = balance;
+                accepted.add(index);
+            } catch (PointValidationException e) {
+                outcomes.rejected(index, e);
+            }
+        }
+
+        if (accepted.isEmpty())
+            return 0;
+
+        PointSaga saga = sagas.begin(userId, compensator);
+        UserPoint updatedPoint;
         try {
-            UserPoint currentPoint = pointTable.selectById(userId);
-            validatePointBalance(currentPoint.point());
-            return currentPoint;
+            updatedPoint = storeBalance(currentPoint, balance);
+        } catch (BalanceConflict e) {
+            sagas.complete(saga);
+            throw e;
         } catch (Exception e) {
-            logger.error("포인트 조회 실패 userId={}", userId, e);
-            throw new PointRetrieveException("포인트 조회 실패 ", e);
+            sagas.complete(saga);
+            logger.error("포인트 일괄 잔액 저장 실패 userId={}, 잔액={}", userId, balance, e);
+            return rejectAll(accepted, outcomes, new PointSaveException("포인트 잔액 저장 실패", e));
         }
+
+        long delta = balance - currentPoint.point();
+        if (!sagas.balanceApplied(saga, delta)) {
+            sagas.compensate(saga, -delta, updatedPoint);
+            return rejectAll(accepted, outcomes, new PointSaveException("포인트 변경이 취소되었습니다. userId=" + userId));
+        }
+        if (!sagas.startHistory(saga))
+            return rejectAll(accepted, outcomes, new PointSaveException("포인트 변경이 되돌려졌습니다. userId=" + userId));
+
+        // WAL 기록에 실패한 항목은 그 금액만큼 되돌린다. WAL 에 남은 항목은 이력 저장이 실패해도 이력만 다시 쓴다
+        long compensation = 0;
+        long sequence = 0;
+        for (int i = 0; i < accepted.size(); i++) {
+            int index = accepted.get(i);
+            PointCommand command = commands.get(index);
+            UserPoint point = new UserPoint(userId, balances[i] - compensation, updatedPoint.updateMillis());
+            long appended;
+            try {
+                appended = wal.append(userId, command.amount(), command.type(), point.point(), point.updateMillis());
+            } catch (Exception e) {
+                logger.error("포인트 일괄 변경 기록 실패 userId={}, 금액={}", userId, command.amount(), e);
+                compensation += command.type() == TransactionType.CHARGE ? command.amount() : -command.amount();
+                outcomes.rejected(index, new PointSaveException("포인트 변경 기록 실패", e));
+                continue;
+            }
+
+            long historyMillis = System.currentTimeMillis();
+            try {
+                historyWriter.write(userId, command.amount(), command.type(), historyMillis);
+            } catch (Exception e) {
+                if (!wal.enabled()) {
+                    logger.error("포인트 일괄 이력 저장 실패 userId={}, 금액={}", userId, command.amount(), e);
+                    compensation += command.type() == TransactionType.CHARGE ? command.amount() : -command.amount();
+                    outcomes.rejected(index, new PointSaveException("포인트 이력 저장 실패", e));
+                    continue;
+                }
+                logger.error("포인트 일괄 이력 저장 실패, 이력만 다시 저장합니다. userId={}, 금액={}", userId, command.amount(), e);
+                sagas.retryHistory(userId, () -> historyWriter.write(userId, command.amount(), command.type(), historyMillis));
+            }
+            sequence = appended;
+            outcomes.applied(index, point, sequence);
+        }
+
+        if (compensation != 0)
+            sagas.compensate(saga, -compensation, updatedPoint);
+        else
+            sagas.complete(saga);
+
+        if (logger.isDebugEnabled())
+            logger.debug("포인트 일괄 처리 완료 userId={}, 반영 항목 수={} 잔액={}", userId, accepted.size(), balance - compensation);
+        return sequence;
+    }
+
+    private static long rejectAll(List<Integer> indexes, CommandOutcomes outcomes, PointSaveException failure) {
+        for (int index : indexes)
+            outcomes.rejected(index, failure);
+        return 0;
+    }
+
+    private static long nextBalance(long balance, PointCommand command) {
+        long updatedBalance;
+        if (command.type() == TransactionType.CHARGE) {
+            validateAmount(command.amount(), AmountRule.CHARGE);
+            updatedBalance = balance + command.amount();
+        } else {
+            validateAmount(command.amount(), AmountRule.USE);
+            if (balance <= 0)
+                throw NO_USABLE_POINT;
+            updatedBalance = balance - command.amount();
+        }
+
+        validatePointBalance(updatedBalance);
+        return updatedBalance;
+    }
+
+    private static List<PointCommand> toCommands(Collection<Long> userIds, long amount, TransactionType type) {
+        if (userIds == null)
+            throw new PointValidationException("일괄 처리 대상이 없습니다.");
+
+        return userIds.stream()
+                .map(userId -> new PointCommand(userId == null ? 0 : userId, amount, type))
+                .toList();
+    }
+
+    private void validateBatchSize(List<PointCommand> commands) {
+        if (commands == null || commands.isEmpty())
+            throw new PointValidationException("일괄 처리 대상이 없습니다.");
+
+        if (commands.size() > batchProperties.maxSize())
+            throw new PointValidationException("일괄 처리는 " + batchProperties.maxSize() + "건을 초과할 수 없습니다");
+    }
+
+    public UserPoint getBalance(Long userId) {
+        return metrics.recordOperation("getBalance", () -> {
+            validateUserId(userId);
+
+            try {
+                // 같은 유저의 동시 조회는 저장소를 한 번만 조회하고 결과를 나눠 받는다
+                UserPoint currentPoint = readBalanceShared(userId);
+                validatePointBalance(currentPoint.point());
+                return currentPoint;
+            } catch (Exception e) {
+                logger.error("포인트 조회 실패 userId={}", userId, e);
+                throw new PointRetrieveException("포인트 조회 실패 ", e);
+            }
+        });
     }
 
     private static void validatePointBalance(long balance) {
@@ -111,42 +522,312 @@ public class PointService {
             throw new NegativePointBalanceException(balance);
     }
 
-    private static void validateAmount(long useAmount, String prefix, PointPolicy pointUseUnit) {
-        if (useAmount < MIN_AMOUNT.value())
-            throw new PointValidationException(prefix + MIN_AMOUNT.value() + "원 이상이어야 합니다");
+    private static void validateAmount(long amount, AmountRule rule) {
+        if (amount < MIN_AMOUNT.value())
+            throw rule.belowMinimum();
 
-        if (useAmount > MAX_AMOUNT.value())
-            throw new PointValidationException(prefix + MAX_AMOUNT.value() + "원을 초과할 수 없습니다");
+        if (amount > MAX_AMOUNT.value())
+            throw rule.aboveMaximum();
 
-        if (useAmount % pointUseUnit.value() != 0)
-            throw new PointValidationException(prefix + pointUseUnit + "원 단위 여야 합니다");
+        if (amount % rule.unit() != 0)
+            throw rule.unitMismatch();
     }
 
     private static void validateUserId(Long userId) {
         if(userId == null || userId <= 0 )
-            throw new IllegalArgumentException("잘못된 값이 입력되었습니다. userId : " + userId);
+            throw new InvalidUserIdException(userId);
     }
 
-    private void rollback(UserPoint rollbackPoint) {
-        try {
-            pointTable.insertOrUpdate(rollbackPoint.id(), rollbackPoint.point());
-        } catch (Exception ex) {
-            logger.error("포인트 롤백 실패 userId={}, snapshot={}", rollbackPoint.id(), rollbackPoint.point(), ex);
+    // 보상 단계. 락 안이면 호출자가 알고 있는 잔액에 더하고, 백그라운드 재시도는 락을 잡고 저장소에서 다시 읽어 더한다.
+    // OPTIMISTIC 은 그 사이 다른 요청이 반영되었을 수 있으므로 항상 compare-and-set 으로 더한다
+    private void applyDelta(long userId, long delta, UserPoint knownBalance) {
+        if (mode == ConcurrencyMode.OPTIMISTIC)
+            compareAndAdd(userId, delta);
+        else if (knownBalance != null)
+            writeBalance(userId, knownBalance.point() + delta);
+        else
+            lockManager.executeWithLock(userId, () -> writeBalance(userId, userPointRepository.findById(userId).point() + delta));
+    }
+
+    // 캐시에 없을 때만 저장소를 조회하고, 조회 결과로 빈 자리를 채운다
+    private UserPoint readBalance(Long userId) {
+        UserPoint cached = balanceCache.get(userId);
+        if (cached != null)
+            return cached;
+
+        return loadBalance(userId);
+    }
+
+    // 락 밖에서 읽는 조회 전용. 캐시에 없으면 진행 중인 같은 유저의 저장소 조회에 붙는다
+    private UserPoint readBalanceShared(Long userId) {
+        UserPoint cached = balanceCache.get(userId);
+        if (cached != null)
+            return cached;
+
+        return balanceReads.execute(userId, () -> loadBalance(userId));
+    }
+
+    private UserPoint loadBalance(Long userId) {
+        long ticket = balanceCache.writeTicket(userId);
+        UserPoint currentPoint = userPointRepository.findById(userId);
+        balanceCache.fill(currentPoint, ticket);
+        return currentPoint;
+    }
+
+    /**
+     * PESSIMISTIC 이면 유저 락 안에서, OPTIMISTIC 이면 락 없이 update 를 실행한다.
+     * OPTIMISTIC 에서 update 가 잔액 충돌로 끝나면 잠시 기다렸다가 잔액 조회부터 다시 실행하므로 잔액 검증도 매번 다시 한다.
+     */
+    private <T> T executeUpdate(long userId, Supplier<T> update) {
+        if (mode != ConcurrencyMode.OPTIMISTIC)
+            return lockManager.executeWithLock(userId, update);
+
+        for (int attempt = 1; ; attempt++) {
+            try {
+                T result = update.get();
+                metrics.optimisticAttempt(false);
+                return result;
+            } catch (BalanceConflict e) {
+                metrics.optimisticAttempt(true);
+                // 캐시가 충돌한 잔액을 들고 있을 수 있으므로 다음 시도는 저장소에서 읽는다
+                balanceCache.invalidate(userId);
+                if (attempt >= concurrency.maxAttempts()) {
+                    metrics.optimisticExhausted();
+                    throw new PointUpdateConflictException(
+                            "동시 요청과 계속 충돌해 포인트를 반영하지 못했습니다. 다시 시도해 주세요. userId=" + userId);
+                }
+                backoff(attempt);
+            }
         }
     }
 
+    // 0 ~ min(backoffMax, backoffBase * 2^(attempt-1)) 사이에서 무작위로 기다려 충돌한 요청끼리 다시 부딪히지 않게 한다
+    private void backoff(int attempt) {
+        long base = concurrency.backoffBase().toNanos();
+        long ceiling = Math.min(concurrency.backoffMax().toNanos(), base << Math.min(attempt - 1, 20));
+        if (ceiling > 0)
+            LockSupport.parkNanos(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    // PESSIMISTIC 은 락 안이므로 그대로 저장하고, OPTIMISTIC 은 currentPoint 를 읽은 뒤로 잔액이 바뀌었으면 충돌로 끝낸다
+    private UserPoint storeBalance(UserPoint currentPoint, long balance) {
+        if (mode != ConcurrencyMode.OPTIMISTIC)
+            return writeBalance(currentPoint.id(), balance);
+
+        UserPoint updatedPoint = compareAndSetBalance(currentPoint, balance);
+        if (updatedPoint == null)
+            throw BALANCE_CONFLICT;
+        return updatedPoint;
+    }
+
+    // 락 없이 여러 요청이 저장하므로 결과로 캐시를 채우지 않고 비워, 다음 조회가 저장소에서 최신 값을 채우게 한다
+    private UserPoint compareAndSetBalance(UserPoint expected, long balance) {
+        // OPTIMISTIC 모드는 CompareAndSetUserPointRepository 일 때만 켜지므로 이 경로에서는 항상 변환된다
+        UserPoint updatedPoint = ((CompareAndSetUserPointRepository) userPointRepository)
+                .compareAndSet(expected.id(), expected, balance);
+        if (updatedPoint != null) {
+            balanceCache.invalidate(expected.id());
+            balanceReads.forget(expected.id());
+            changedUsers.mark(expected.id());
+        }
+        return updatedPoint;
+    }
+
+    // 이미 응답하지 않은 변경을 되돌리는 것이므로 잔액 규칙은 다시 검사하지 않는다
+    private void compareAndAdd(long userId, long delta) {
+        for (int attempt = 1; ; attempt++) {
+            UserPoint current = userPointRepository.findById(userId);
+            if (compareAndSetBalance(current, current.point() + delta) != null)
+                return;
+            if (attempt >= concurrency.maxAttempts())
+                throw new PointUpdateConflictException("포인트 보상 중 동시 요청과 계속 충돌했습니다. userId=" + userId);
+            backoff(attempt);
+        }
+    }
+
+    // 저장 결과가 불확실한 동안 이전 잔액이 캐시에서 나가지 않도록 먼저 비우고, 성공하면 결과로 채운다
+    private UserPoint writeBalance(long userId, long balance) {
+        balanceCache.invalidate(userId);
+        UserPoint updatedPoint = userPointRepository.save(userId, balance);
+        balanceCache.put(updatedPoint);
+        // 저장 전에 시작한 조회는 이전 잔액을 읽었을 수 있으므로 이후 조회가 붙지 않게 한다
+        balanceReads.forget(userId);
+        changedUsers.mark(userId);
+        return updatedPoint;
+    }
+
+    /**
+     * 잔액이 이력의 충전 합계 - 사용 합계와 같은지 확인한다. 대부분 같으므로 락 없이 먼저 비교하고,
+     * 다를 때만 유저 락 안에서 진행 중인 변경이 끝난 상태로 다시 비교한다. repair 이면 잔액을 이력 합계로 맞춘다.
+     * OPTIMISTIC 모드는 락이 잔액 변경을 막지 못해 이력 저장 전의 잔액을 볼 수 있으므로 맞추지 않고 보고만 한다.
+     */
+    public BalanceCheck checkBalance(long userId, boolean repair) {
+        long balance = userPointRepository.findById(userId).point();
+        long historyBalance = historyBalance(userId);
+        if (balance == historyBalance)
+            return new BalanceCheck(userId, balance, historyBalance, BalanceCheck.Status.MATCHED);
+
+        if (mode == ConcurrencyMode.OPTIMISTIC)
+            return recheckBalance(userId, false);
+        return lockManager.executeWithLock(userId, () -> recheckBalance(userId, repair));
+    }
+
+    private BalanceCheck recheckBalance(long userId, boolean repair) {
+        long balance = userPointRepository.findById(userId).point();
+        long historyBalance = historyBalance(userId);
+        if (balance == historyBalance)
+            return new BalanceCheck(userId, balance, historyBalance, BalanceCheck.Status.MATCHED);
+
+        // 대기열이나 복구 중 미뤄 둔 이력, 보상할 금액이 반영되면 맞춰질 수 있으므로 지금 맞추면 두 번 반영된다.
+        // 동기 모드에서도 pause 중에는 이력이 미뤄지므로 모드와 상관없이 남은 이력이 있으면 미룬다
+        if (historyWriter.pendingCount() > 0 || sagas.pending(userId))
+            return new BalanceCheck(userId, balance, historyBalance, BalanceCheck.Status.DEFERRED);
+
+        if (!repair) {
+            logger.warn("잔액과 이력 불일치 userId={}, 잔액={}, 이력 합계={}", userId, balance, historyBalance);
+            return new BalanceCheck(userId, balance, historyBalance, BalanceCheck.Status.MISMATCHED);
+        }
+
+        // 재시작 뒤 WAL 로 복구한 잔액이 맞추기 전으로 돌아가지 않도록 먼저 WAL 에 남기고 동기화까지 기다린다.
+        // 드문 경로라 락을 쥔 채 기다린다
+        long sequence = wal.appendAdjustment(userId, historyBalance - balance, historyBalance, System.currentTimeMillis());
+        wal.awaitDurable(sequence);
+        writeBalance(userId, historyBalance);
+        logger.warn("잔액을 이력 합계로 맞춤 userId={}, 잔액={}, 이력 합계={}", userId, balance, historyBalance);
+        return new BalanceCheck(userId, balance, historyBalance, BalanceCheck.Status.REPAIRED);
+    }
+
+    private long historyBalance(long userId) {
+        long balance = 0;
+        for (PointHistory history : pointHistoryRepository.findAllByUserId(userId))
+            balance += history.type() == TransactionType.CHARGE ? history.amount() : -history.amount();
+        return balance;
+    }
+
+    /** 진행 중인 잔액 조회에 붙어 저장소를 따로 조회하지 않은 getBalance 호출 수 */
+    public long coalescedBalanceReads() {
+        return balanceReads.coalescedCount();
+    }
+
     public List<PointHistory> getHistories(Long userId) {
-        validateUserId(userId);
-        UserPoint userPoint = pointTable.selectById(userId);
-        try {
-            List<PointHistory> pointHistories = pointHistoryTable.selectAllByUserId(userId);
-            if(pointHistories.isEmpty())
-                return pointHistories;
+        return metrics.recordOperation("getHistories", () -> {
+            validateUserId(userId);
+            // 잔액이 없는 유저도 이력은 빈 목록이므로 잔액을 조회하지 않는다
+            try {
+                // 저장소가 id 오름차순을 보장하므로 다시 정렬하지 않는다
+                return pointHistoryRepository.findAllByUserId(userId);
+            } catch (Exception e) {
+                logger.error("포인트 내역 조회 실패 userId={}", userId, e);
+                throw new PointHistoryRetrieveException("포인트 내역 조회 실패", e);
+            }
+        });
+    }
 
-            return pointHistories.stream().sorted(Comparator.comparing(PointHistory::id)).toList();
-        } catch (Exception e) {
-            logger.error("포인트 내역 조회 실패 userId={}", userId, e);
-            throw new PointHistoryRetrieveException("포인트 내역 조회 실패", e);
+    /**
+     * 조건(type, from, to)에 맞는 이력을 개수 제한 없이 id 오름차순으로 조회한다. 조건은 저장소에서 거른다.
+     */
+    public List<PointHistory> getHistories(Long userId, TransactionType type, Long fromMillis, Long toMillis) {
+        return metrics.recordOperation("getHistories", () -> {
+            validateUserId(userId);
+            PointHistoryQuery condition = PointHistoryQuery.all(type, fromMillis, toMillis);
+            validateHistoryCondition(condition);
+
+            try {
+                return pointHistoryRepository.findPage(userId, condition);
+            } catch (Exception e) {
+                logger.error("포인트 내역 조회 실패 userId={}", userId, e);
+                throw new PointHistoryRetrieveException("포인트 내역 조회 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 커서 기반 이력 조회. 다음 페이지 여부를 알기 위해 limit 보다 하나 더 조회한다.
+     */
+    public PointHistoryPage getHistories(Long userId, PointHistoryQuery query) {
+        return metrics.recordOperation("getHistories", () -> {
+            validateUserId(userId);
+            validateHistoryQuery(query);
+
+            try {
+                List<PointHistory> fetched = pointHistoryRepository.findPage(userId, query.withLimit(query.limit() + 1));
+                return PointHistoryPage.of(fetched, query.limit());
+            } catch (Exception e) {
+                logger.error("포인트 내역 조회 실패 userId={}, 커서={}", userId, query.afterId(), e);
+                throw new PointHistoryRetrieveException("포인트 내역 조회 실패", e);
+            }
+        });
+    }
+
+    /**
+     * 이력 내보내기. 조건 검증은 호출 시점에 끝내고, 이력은 소비하는 만큼만 유저별로 EXPORT_CHUNK_SIZE 씩 커서 조회한다.
+     * 전체 이력 수와 무관하게 한 번에 한 청크만 메모리에 올린다.
+     * userIds 가 비어 있으면 이력이 있는 모든 유저를 내보낸다.
+     */
+    public Stream<PointHistory> exportHistories(Collection<Long> userIds, Long fromMillis, Long toMillis) {
+        PointHistoryQuery condition = new PointHistoryQuery(null, EXPORT_CHUNK_SIZE, null, fromMillis, toMillis);
+        validateHistoryQuery(condition);
+
+        LongStream targets;
+        if (userIds == null || userIds.isEmpty()) {
+            targets = pointHistoryRepository.userIds();
+        } else {
+            userIds.forEach(PointService::validateUserId);
+            targets = userIds.stream().distinct().mapToLong(Long::longValue);
+        }
+
+        return targets.boxed().flatMap(userId -> exportUserHistories(userId, condition));
+    }
+
+    private Stream<PointHistory> exportUserHistories(long userId, PointHistoryQuery condition) {
+        return Stream.iterate(
+                        pointHistoryRepository.findPage(userId, condition),
+                        chunk -> !chunk.isEmpty(),
+                        chunk -> chunk.size() < condition.limit()
+                                ? List.of()
+                                : pointHistoryRepository.findPage(userId, condition.withAfterId(chunk.get(chunk.size() - 1).id())))
+                .flatMap(List::stream);
+    }
+
+    private static void validateHistoryQuery(PointHistoryQuery query) {
+        if (query.limit() < 1 || query.limit() > PointHistoryQuery.MAX_LIMIT)
+            throw new PointValidationException("조회 개수는 1 이상 " + PointHistoryQuery.MAX_LIMIT + " 이하여야 합니다");
+
+        validateHistoryCondition(query);
+    }
+
+    private static void validateHistoryCondition(PointHistoryQuery query) {
+        if (query.fromMillis() != null && query.toMillis() != null && query.fromMillis() > query.toMillis())
+            throw new PointValidationException("조회 시작 시각은 종료 시각보다 늦을 수 없습니다");
+    }
+
+    private record Applied(UserPoint point, long sequence) {
+    }
+
+    // applyCommands 의 항목별 결과를 받는다. index 는 applyCommands 에 넘긴 indexes 의 값이다
+    private interface CommandOutcomes {
+        void applied(int index, UserPoint point, long sequence);
+
+        void rejected(int index, RuntimeException cause);
+    }
+
+    // 일괄 처리 결과 배열에 요청 순서대로 채운다
+    private record ResultOutcomes(List<PointCommand> commands, PointCommandResult[] results) implements CommandOutcomes {
+        @Override
+        public void applied(int index, UserPoint point, long sequence) {
+            results[index] = PointCommandResult.applied(commands.get(index), point);
+        }
+
+        @Override
+        public void rejected(int index, RuntimeException cause) {
+            results[index] = PointCommandResult.rejected(commands.get(index), cause.getMessage());
+        }
+    }
+
+    // OPTIMISTIC 모드에서 읽은 잔액이 저장 전에 바뀌었음을 알린다. 재시도 흐름에만 쓰므로 스택 트레이스를 채우지 않는다
+    private static final class BalanceConflict extends RuntimeException {
+        private BalanceConflict() {
+            super("잔액이 바뀌어 다시 시도합니다.", null, false, false);
         }
     }
 }
@@ -0,0 +1,54 @@
+package io.hhplus.tdd.point.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * 잔액 조회 합치기, 비동기 처리 한도, 유저 대기열의 현재 상태를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class PointServiceMetrics implements MeterBinder {
+
+    private final PointService pointService;
+    private final PointAsyncService pointAsyncService;
+
+    public PointServiceMetrics(PointService pointService, PointAsyncService pointAsyncService) {
+        this.pointService = pointService;
+        this.pointAsyncService = pointAsyncService;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        FunctionCounter.builder("point.balance.coalesced", pointService, PointService::coalescedBalanceReads)
+                .description("진행 중인 같은 유저 조회에 붙어 저장소를 따로 조회하지 않은 잔액 조회 수")
+                .register(registry);
+        Gauge.builder("point.async.in_flight", pointAsyncService, PointAsyncService::writesInFlight)
+                .description("처리 중이거나 대기 중인 비동기 요청 수")
+                .tag("type", "write")
+                .register(registry);
+        Gauge.builder("point.async.in_flight", pointAsyncService, PointAsyncService::readsInFlight)
+                .description("처리 중이거나 대기 중인 비동기 요청 수")
+                .tag("type", "read")
+                .register(registry);
+        FunctionCounter.builder("point.async.rejected", pointAsyncService, PointAsyncService::rejectedWrites)
+                .description("처리 한도를 넘어 거절한 비동기 요청 수")
+                .tag("type", "write")
+                .register(registry);
+        FunctionCounter.builder("point.async.rejected", pointAsyncService, PointAsyncService::rejectedReads)
+                .description("처리 한도를 넘어 거절한 비동기 요청 수")
+                .tag("type", "read")
+                .register(registry);
+        Gauge.builder("point.mailbox.active", pointService, PointService::activeMailboxCount)
+                .description("처리할 요청이 남아 있는 유저 대기열 수")
+                .register(registry);
+        FunctionCounter.builder("point.mailbox.batches", pointService, PointService::mailboxBatchCount)
+                .description("유저 대기열 작업자가 잔액 저장 한 번으로 묶어 처리한 묶음 수")
+                .register(registry);
+        FunctionCounter.builder("point.mailbox.commands", pointService, PointService::mailboxCommandCount)
+                .description("유저 대기열 작업자가 처리한 요청 수. batches 증가량과 비교하면 묶음 크기를 알 수 있다")
+                .register(registry);
+    }
+}
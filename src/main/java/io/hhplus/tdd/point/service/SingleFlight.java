@@ -0,0 +1,61 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 같은 키의 조회가 진행 중이면 새로 조회하지 않고 진행 중인 조회 결과를 함께 받는다.
+ * 조회가 끝나면 바로 잊으므로 결과를 보관하지 않는다. 보관은 BalanceCache 가 맡는다.
+ */
+final class SingleFlight<K, V> {
+
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder coalesced = new LongAdder();
+
+    V execute(K key, Supplier<V> loader) {
+        CompletableFuture<V> owned = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, owned);
+        if (existing != null) {
+            coalesced.increment();
+            return join(existing);
+        }
+
+        try {
+            V value = loader.get();
+            owned.complete(value);
+            return value;
+        } catch (RuntimeException e) {
+            owned.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, owned);
+        }
+    }
+
+    /**
+     * 값이 바뀐 뒤에 들어온 호출이 바뀌기 전에 시작한 조회에 붙지 않도록 진행 중인 조회를 떼어 낸다.
+     * 이미 붙어 있던 호출은 그 조회 결과를 그대로 받는다.
+     */
+    void forget(K key) {
+        inFlight.remove(key);
+    }
+
+    /** 진행 중인 조회에 붙어 따로 조회하지 않은 호출 수 */
+    long coalescedCount() {
+        return coalesced.sum();
+    }
+
+    private static <V> V join(CompletableFuture<V> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            // 먼저 조회한 호출과 같은 예외를 던진다
+            if (e.getCause() instanceof RuntimeException cause)
+                throw cause;
+            throw e;
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package io.hhplus.tdd.point.service;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * userId 별 대기열(mailbox). 같은 유저의 명령은 한 번에 하나의 작업자만 들어온 순서대로 처리한다.
+ * 작업자는 대기열에 쌓인 명령을 batchSize 개까지 한 번에 꺼내 handler 에 넘기고, 남은 명령이 있으면 실행기에 다시 넣어
+ * 다른 유저의 대기열과 번갈아 처리되게 한다.
+ * 대기열은 명령이 있는 동안에만 보관하고 비면 바로 제거하므로 메모리 사용량은 처리 중인 유저 수를 넘지 않는다.
+ */
+final class UserMailboxes<C, R> {
+
+    private final ConcurrentHashMap<Long, Mailbox<C, R>> mailboxes = new ConcurrentHashMap<>();
+    private final Executor executor;
+    private final int batchSize;
+    private final BatchHandler<C, R> handler;
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder commands = new LongAdder();
+
+    UserMailboxes(Executor executor, int batchSize, BatchHandler<C, R> handler) {
+        this.executor = executor;
+        this.batchSize = batchSize;
+        this.handler = handler;
+    }
+
+    /**
+     * 한 번에 꺼낸 명령을 처리한다. 명령마다 result 를 완료해야 하며, 완료하지 않고 끝난 명령은 실패로 완료된다.
+     */
+    interface BatchHandler<C, R> {
+        void handle(long userId, List<Envelope<C, R>> batch);
+    }
+
+    record Envelope<C, R>(C command, CompletableFuture<R> result) {
+    }
+
+    CompletableFuture<R> submit(long userId, C command) {
+        Envelope<C, R> envelope = new Envelope<>(command, new CompletableFuture<>());
+        boolean[] idle = new boolean[1];
+        // 적재와 작업자 시작 여부 판단은 compute 안에서만 일어나므로 같은 유저에 대해 원자적으로 처리된다
+        mailboxes.compute(userId, (id, existing) -> {
+            Mailbox<C, R> target = existing == null ? new Mailbox<>() : existing;
+            target.pending.add(envelope);
+            if (!target.running) {
+                target.running = true;
+                idle[0] = true;
+            }
+            return target;
+        });
+
+        if (idle[0])
+            schedule(userId);
+        return envelope.result();
+    }
+
+    /** 명령이 남아 있는 유저 대기열 수 */
+    int activeCount() {
+        return mailboxes.size();
+    }
+
+    /** 작업자가 꺼내 처리한 묶음 수. commandCount 와 비교하면 한 번에 처리한 평균 명령 수를 알 수 있다 */
+    long batchCount() {
+        return batches.sum();
+    }
+
+    /** 작업자가 처리한 명령 수 */
+    long commandCount() {
+        return commands.sum();
+    }
+
+    private void schedule(long userId) {
+        try {
+            executor.execute(() -> drain(userId));
+        } catch (RejectedExecutionException e) {
+            // 실행기가 종료된 경우. 남은 명령을 모두 실패로 돌리고 대기열을 치운다
+            mailboxes.computeIfPresent(userId, (id, existing) -> {
+                existing.pending.forEach(envelope -> envelope.result().completeExceptionally(e));
+                return null;
+            });
+        }
+    }
+
+    private void drain(long userId) {
+        List<Envelope<C, R>> batch = take(userId);
+        try {
+            handler.handle(userId, batch);
+        } catch (RuntimeException e) {
+            batch.forEach(envelope -> envelope.result().completeExceptionally(e));
+        } finally {
+            for (Envelope<C, R> envelope : batch) {
+                if (!envelope.result().isDone())
+                    envelope.result().completeExceptionally(
+                            new IllegalStateException("대기열 명령이 처리 결과 없이 끝났습니다. userId=" + userId));
+            }
+            batches.increment();
+            commands.add(batch.size());
+        }
+
+        // 비었으면 여기서 제거하고, 남았으면 실행기 뒤로 다시 넣는다
+        if (mailboxes.computeIfPresent(userId, (id, existing) -> existing.pending.isEmpty() ? null : existing) != null)
+            schedule(userId);
+    }
+
+    private List<Envelope<C, R>> take(long userId) {
+        List<Envelope<C, R>> batch = new ArrayList<>();
+        mailboxes.computeIfPresent(userId, (id, existing) -> {
+            Envelope<C, R> envelope;
+            while (batch.size() < batchSize && (envelope = existing.pending.poll()) != null)
+                batch.add(envelope);
+            return existing;
+        });
+        return batch;
+    }
+
+    // pending, running 은 compute 안에서만 읽고 쓴다
+    private static final class Mailbox<C, R> {
+        private final ArrayDeque<Envelope<C, R>> pending = new ArrayDeque<>();
+        private boolean running;
+    }
+}
@@ -0,0 +1,253 @@
+package io.hhplus.tdd.point.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * WAL 의 한 지점(sequence)까지 반영한 유저별 잔액 스냅샷 파일을 관리한다.
+ *
+ * 파일 = magic(4) | version(4) | sequence(8) | 항목 * [userId(8) | balance(8) | updateMillis(8)] | 항목 수(8) | crc32c(4)
+ * - 항목은 userId 오름차순이라 다음 스냅샷을 이전 스냅샷과 바뀐 유저 목록의 병합으로 만든다
+ * - 임시 파일에 다 쓰고 fsync 한 뒤 이름을 바꾸므로 완성된 파일만 스냅샷으로 보인다
+ */
+public class BalanceSnapshotStore {
+
+    private static final int MAGIC = 0x50534E50;
+    private static final int VERSION = 1;
+    private static final int HEADER_BYTES = 16;
+    private static final int ENTRY_BYTES = 24;
+    private static final int TRAILER_BYTES = 12;
+    private static final String SUFFIX = ".snap";
+    private static final int BUFFER_BYTES = 1 << 16;
+    private static final Logger logger = LoggerFactory.getLogger(BalanceSnapshotStore.class);
+
+    private final Path directory;
+    private final int retained;
+    // 검증을 마친 가장 최근 스냅샷의 sequence. -1 이면 아직 찾지 않았다
+    private volatile long latest = -1;
+
+    @FunctionalInterface
+    public interface EntryConsumer {
+        void accept(long userId, long balance, long updateMillis);
+    }
+
+    public BalanceSnapshotStore(Path directory, int retained) {
+        if (retained < 1)
+            throw new IllegalArgumentException("남겨 둘 스냅샷 수는 1 이상이어야 합니다. retained : " + retained);
+
+        this.directory = directory;
+        this.retained = retained;
+    }
+
+    /** 읽을 수 있는 가장 최근 스냅샷의 sequence. 없으면 0 */
+    public long latestSequence() {
+        if (latest < 0)
+            latest = findLatest();
+        return latest;
+    }
+
+    /**
+     * 가장 최근 스냅샷의 항목을 userId 오름차순으로 넘기고 그 sequence 를 반환한다. 없으면 0 을 반환한다.
+     */
+    public long load(EntryConsumer consumer) {
+        long sequence = latestSequence();
+        if (sequence == 0)
+            return 0;
+
+        try (SnapshotReader reader = new SnapshotReader(path(sequence))) {
+            while (reader.next())
+                consumer.accept(reader.userId, reader.balance, reader.updateMillis);
+            reader.verify();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷을 읽을 수 없습니다. sequence : " + sequence, e);
+        }
+        return sequence;
+    }
+
+    /**
+     * baseSequence 스냅샷에 바뀐 유저의 잔액(changes)을 덮어 sequence 스냅샷을 만든다.
+     * changes 에 없는 유저는 이전 스냅샷 값을 그대로 옮기므로 메모리에는 바뀐 유저만 올린다.
+     */
+    public void write(long sequence, long baseSequence, Map<Long, WalRecord> changes) {
+        long[] userIds = changes.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        Path temp = directory.resolve(name(sequence) + ".tmp");
+        try {
+            Files.createDirectories(directory);
+            try (SnapshotReader base = baseSequence > 0 ? new SnapshotReader(path(baseSequence)) : null;
+                 FileOutputStream file = new FileOutputStream(temp.toFile());
+                 CheckedOutputStream checked = new CheckedOutputStream(new BufferedOutputStream(file, BUFFER_BYTES), new CRC32C());
+                 DataOutputStream out = new DataOutputStream(checked)) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeLong(sequence);
+
+                long count = 0;
+                int i = 0;
+                boolean hasBase = base != null && base.next();
+                while (hasBase || i < userIds.length) {
+                    if (hasBase && (i == userIds.length || base.userId < userIds[i])) {
+                        writeEntry(out, base.userId, base.balance, base.updateMillis);
+                        hasBase = base.next();
+                    } else {
+                        if (hasBase && base.userId == userIds[i])
+                            hasBase = base.next();
+                        WalRecord change = changes.get(userIds[i++]);
+                        writeEntry(out, change.userId(), change.balance(), change.updateMillis());
+                    }
+                    count++;
+                }
+                // 이전 스냅샷이 손상되었다면 새 스냅샷을 만들지 않는다
+                if (base != null)
+                    base.verify();
+
+                out.writeLong(count);
+                out.flush();
+                out.writeInt((int) checked.getChecksum().getValue());
+                out.flush();
+                file.getFD().sync();
+            }
+            Files.move(temp, path(sequence), StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            deleteQuietly(temp);
+            throw new UncheckedIOException("스냅샷을 만들 수 없습니다. sequence : " + sequence, e);
+        }
+
+        latest = sequence;
+        deleteOlder();
+    }
+
+    private long findLatest() {
+        List<Path> snapshots = snapshots();
+        for (int i = snapshots.size() - 1; i >= 0; i--) {
+            Path path = snapshots.get(i);
+            try (SnapshotReader reader = new SnapshotReader(path)) {
+                while (reader.next()) {
+                    // 끝까지 읽어야 crc 를 확인할 수 있다
+                }
+                reader.verify();
+                return reader.sequence;
+            } catch (IOException e) {
+                logger.warn("손상된 스냅샷을 건너뜁니다. snapshot={}", path.getFileName(), e);
+            }
+        }
+        return 0;
+    }
+
+    private void deleteOlder() {
+        List<Path> snapshots = snapshots();
+        for (Path path : snapshots.subList(0, Math.max(snapshots.size() - retained, 0)))
+            deleteQuietly(path);
+    }
+
+    private static void deleteQuietly(Path path) {
+        try {
+            Files.deleteIfExists(path);
+        } catch (IOException e) {
+            logger.warn("스냅샷 파일을 지우지 못했습니다. file={}", path.getFileName(), e);
+        }
+    }
+
+    private List<Path> snapshots() {
+        if (!Files.isDirectory(directory))
+            return List.of();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(BalanceSnapshotStore::sequenceOf))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("스냅샷 목록을 읽을 수 없습니다. directory : " + directory, e);
+        }
+    }
+
+    private Path path(long sequence) {
+        return directory.resolve(name(sequence));
+    }
+
+    private static String name(long sequence) {
+        return String.format("balances-%020d%s", sequence, SUFFIX);
+    }
+
+    private static long sequenceOf(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring("balances-".length(), name.length() - SUFFIX.length()));
+    }
+
+    private static void writeEntry(DataOutputStream out, long userId, long balance, long updateMillis) throws IOException {
+        out.writeLong(userId);
+        out.writeLong(balance);
+        out.writeLong(updateMillis);
+    }
+
+    private static final class SnapshotReader implements Closeable {
+        private final Path path;
+        private final CheckedInputStream checked;
+        private final DataInputStream in;
+        private final long entries;
+        private final long sequence;
+        private long remaining;
+        private long userId;
+        private long balance;
+        private long updateMillis;
+
+        private SnapshotReader(Path path) throws IOException {
+            long size = Files.size(path);
+            if (size < HEADER_BYTES + TRAILER_BYTES || (size - HEADER_BYTES - TRAILER_BYTES) % ENTRY_BYTES != 0)
+                throw new IOException("스냅샷 크기가 올바르지 않습니다. snapshot : " + path);
+
+            this.path = path;
+            this.checked = new CheckedInputStream(new BufferedInputStream(Files.newInputStream(path), BUFFER_BYTES), new CRC32C());
+            this.in = new DataInputStream(checked);
+            if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+                in.close();
+                throw new IOException("스냅샷 파일이 아닙니다. snapshot : " + path);
+            }
+            this.sequence = in.readLong();
+            this.entries = (size - HEADER_BYTES - TRAILER_BYTES) / ENTRY_BYTES;
+            this.remaining = entries;
+        }
+
+        boolean next() throws IOException {
+            if (remaining == 0)
+                return false;
+
+            userId = in.readLong();
+            balance = in.readLong();
+            updateMillis = in.readLong();
+            remaining--;
+            return true;
+        }
+
+        // 항목을 모두 읽은 뒤 호출한다
+        void verify() throws IOException {
+            long count = in.readLong();
+            int expected = (int) checked.getChecksum().getValue();
+            if (count != entries || in.readInt() != expected)
+                throw new IOException("스냅샷이 손상되었습니다. snapshot : " + path);
+        }
+
+        @Override
+        public void close() throws IOException {
+            in.close();
+        }
+    }
+}
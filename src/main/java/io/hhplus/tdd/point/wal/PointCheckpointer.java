@@ -0,0 +1,83 @@
+package io.hhplus.tdd.point.wal;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 마지막 스냅샷 이후 디스크에 동기화된 WAL 구간을 이전 스냅샷에 병합해 새 잔액 스냅샷을 만든다.
+ * 저장소를 훑지 않고 WAL 에서만 만들므로 쓰기를 멈추지 않아도 스냅샷은 정확히 그 sequence 시점의 잔액이다.
+ * 메모리에는 그 구간에서 잔액이 바뀐 유저만 올린다.
+ */
+public class PointCheckpointer {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointCheckpointer.class);
+
+    private final PointWal wal;
+    private final BalanceSnapshotStore store;
+    private final PointSnapshotProperties properties;
+    private final ScheduledExecutorService scheduler;
+
+    public PointCheckpointer(PointWal wal, BalanceSnapshotStore store, PointSnapshotProperties properties) {
+        this.wal = wal;
+        this.store = store;
+        this.properties = properties;
+        this.scheduler = properties.enabled() && wal.enabled()
+                ? Executors.newSingleThreadScheduledExecutor(runnable -> {
+                    Thread thread = new Thread(runnable, "point-checkpoint");
+                    thread.setDaemon(true);
+                    return thread;
+                })
+                : null;
+
+        if (scheduler != null) {
+            long intervalMillis = properties.interval().toMillis();
+            scheduler.scheduleWithFixedDelay(this::checkpointQuietly, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * 새 스냅샷을 만들고 그 sequence 를 반환한다. 쌓인 레코드가 minRecords 보다 적으면 이전 sequence 를 그대로 반환한다.
+     */
+    public synchronized long checkpoint(long minRecords) {
+        long base = store.latestSequence();
+        long target = wal.durableSequence();
+        if (target <= base || target - base < minRecords)
+            return base;
+
+        long startedAt = System.nanoTime();
+        Map<Long, WalRecord> changes = new HashMap<>();
+        wal.replay(base + 1, target, record -> changes.put(record.userId(), record));
+        store.write(target, base, changes);
+
+        logger.info("잔액 스냅샷 생성 sequence={}, 반영 레코드={}, 바뀐 유저={}, 소요={}ms",
+                target, target - base, changes.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return target;
+    }
+
+    // 종료할 때 남은 구간까지 스냅샷으로 남겨 다음 시작 때 읽을 WAL 을 줄인다
+    public void close() {
+        if (scheduler == null)
+            return;
+
+        scheduler.shutdownNow();
+        checkpointQuietly(1);
+    }
+
+    private void checkpointQuietly() {
+        checkpointQuietly(properties.minRecords());
+    }
+
+    private void checkpointQuietly(long minRecords) {
+        try {
+            checkpoint(minRecords);
+        } catch (Exception e) {
+            logger.error("잔액 스냅샷 생성 실패", e);
+        }
+    }
+}
@@ -0,0 +1,24 @@
+package io.hhplus.tdd.point.wal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * 잔액 스냅샷(체크포인트) 설정. WAL 이 켜져 있을 때만 동작한다
+ * - enabled : 주기적으로 잔액 스냅샷을 만들고, 시작할 때 스냅샷 이후 WAL 구간만 읽어 잔액을 복구한다
+ * - directory : 스냅샷 파일을 둘 디렉터리
+ * - interval : 체크포인트 주기
+ * - minRecords : 마지막 스냅샷 이후 쌓인 레코드가 이보다 적으면 이번 주기는 건너뛴다
+ * - retained : 남겨 둘 스냅샷 수. 가장 최근 파일이 손상되었을 때 이전 파일로 복구한다
+ */
+@ConfigurationProperties(prefix = "point.snapshot")
+public record PointSnapshotProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/snapshot") String directory,
+        @DefaultValue("1m") Duration interval,
+        @DefaultValue("10000") long minRecords,
+        @DefaultValue("2") int retained
+) {
+}
@@ -0,0 +1,436 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.LockSupport;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * 충전/사용을 고정 길이 레코드로 이어 붙이는 append-only 로그(WAL).
+ * 세그먼트 파일을 메모리 매핑해 쓰므로 기록은 메모리 복사로 끝나고, 디스크 동기화(fsync)는
+ * 전용 스레드가 그 사이 쌓인 레코드를 한 번에 처리한다 (group commit).
+ *
+ * 레코드 48 byte (little endian)
+ * sequence(8) | userId(8) | amount(8) | balance(8) | updateMillis(8) | type(1) | flags(1) | 예약(2) | crc32c(4)
+ * - sequence 는 1 부터 빈틈 없이 증가한다. 순번이 끊기거나 crc 가 맞지 않는 곳을 로그의 끝으로 본다
+ * - 세그먼트 파일 이름은 그 파일 첫 레코드의 sequence 다
+ * - flags 의 ADJUSTMENT 비트는 대조가 잔액을 이력 합계로 맞춘 기록이다. 잔액만 바꾸고 이력은 만들지 않는다
+ *
+ * 한 번 동기화에 실패하면 어디까지 디스크에 남았는지 알 수 없으므로 이후 기록을 모두 거부한다.
+ */
+public class PointWal {
+
+    static final int RECORD_BYTES = 48;
+    private static final int TYPE_OFFSET = 40;
+    private static final int FLAGS_OFFSET = 41;
+    private static final byte ADJUSTMENT = 1;
+    private static final int CRC_OFFSET = 44;
+    private static final String SUFFIX = ".wal";
+    private static final byte[] ZEROS = new byte[64 * 1024];
+    private static final TransactionType[] TYPES = TransactionType.values();
+    private static final Logger logger = LoggerFactory.getLogger(PointWal.class);
+
+    private final PointWalProperties properties;
+    private final Path directory;
+    private final int segmentBytes;
+
+    // appendLock 으로 보호한다
+    private final ReentrantLock appendLock = new ReentrantLock();
+    private final ByteBuffer scratch = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+    private final CRC32C crc = new CRC32C();
+    private MappedByteBuffer segment;
+    private int position;
+    private volatile long lastSequence;
+
+    // syncLock 으로 대기/통지한다
+    private final ReentrantLock syncLock = new ReentrantLock();
+    private final Condition syncRequested = syncLock.newCondition();
+    private final Condition synced = syncLock.newCondition();
+    private volatile long durableSequence;
+    private volatile RuntimeException failure;
+    private volatile boolean closed;
+    private final AtomicLong syncCount = new AtomicLong();
+    private final Thread flusher;
+
+    // 동기화 스레드만 사용한다
+    private MappedByteBuffer syncedSegment;
+    private int syncedPosition;
+
+    public PointWal(PointWalProperties properties) {
+        this.properties = properties;
+        this.directory = Path.of(properties.directory());
+        long size = properties.segmentSize().toBytes() / RECORD_BYTES * RECORD_BYTES;
+        if (size < RECORD_BYTES || size > Integer.MAX_VALUE)
+            throw new IllegalArgumentException("WAL 세그먼트 크기는 " + RECORD_BYTES + " byte 이상 2GB 미만이어야 합니다. segmentSize : " + properties.segmentSize());
+        this.segmentBytes = (int) size;
+        this.flusher = properties.enabled() && properties.fsync() ? new Thread(this::flushLoop, "point-wal-sync") : null;
+
+        if (!properties.enabled())
+            return;
+
+        try {
+            Files.createDirectories(directory);
+            openTail();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 을 열 수 없습니다. directory : " + directory, e);
+        }
+
+        if (flusher != null) {
+            flusher.setDaemon(true);
+            flusher.start();
+        }
+    }
+
+    public boolean enabled() {
+        return properties.enabled();
+    }
+
+    /**
+     * 레코드를 로그 끝에 붙이고 sequence 를 반환한다. 디스크 동기화는 기다리지 않는다.
+     * 꺼져 있으면 아무것도 하지 않고 0 을 반환한다.
+     */
+    public long append(long userId, long amount, TransactionType type, long balance, long updateMillis) {
+        return append(userId, amount, type, (byte) 0, balance, updateMillis);
+    }
+
+    /**
+     * 대조가 잔액을 balance 로 맞춘 것을 기록한다. 차이만큼의 충전/사용으로 남기되 복구할 때 이력은 만들지 않는다.
+     * 꺼져 있으면 아무것도 하지 않고 0 을 반환한다.
+     */
+    public long appendAdjustment(long userId, long difference, long balance, long updateMillis) {
+        TransactionType type = difference >= 0 ? TransactionType.CHARGE : TransactionType.USE;
+        return append(userId, Math.abs(difference), type, ADJUSTMENT, balance, updateMillis);
+    }
+
+    private long append(long userId, long amount, TransactionType type, byte flags, long balance, long updateMillis) {
+        if (!properties.enabled())
+            return 0;
+
+        appendLock.lock();
+        try {
+            throwIfFailed();
+            if (segment == null || position + RECORD_BYTES > segment.capacity())
+                roll();
+
+            long sequence = lastSequence + 1;
+            scratch.putLong(0, sequence)
+                    .putLong(8, userId)
+                    .putLong(16, amount)
+                    .putLong(24, balance)
+                    .putLong(32, updateMillis)
+                    .put(TYPE_OFFSET, (byte) type.ordinal())
+                    .put(FLAGS_OFFSET, flags);
+            crc.reset();
+            crc.update(scratch.array(), 0, CRC_OFFSET);
+            scratch.putInt(CRC_OFFSET, (int) crc.getValue());
+
+            segment.put(position, scratch.array(), 0, RECORD_BYTES);
+            position += RECORD_BYTES;
+            lastSequence = sequence;
+            return sequence;
+        } finally {
+            appendLock.unlock();
+        }
+    }
+
+    /**
+     * sequence 까지 디스크에 동기화될 때까지 기다린다.
+     * 기다리는 동안 다른 요청이 붙인 레코드도 같은 fsync 로 함께 동기화된다.
+     */
+    public void awaitDurable(long sequence) {
+        if (flusher == null)
+            return;
+        // 동기화에 실패한 뒤에는 어디까지 디스크에 남았는지 알 수 없으므로 이미 동기화된 sequence 도 성공으로 돌려주지 않는다
+        throwIfFailed();
+        if (sequence <= durableSequence)
+            return;
+
+        syncLock.lock();
+        try {
+            syncRequested.signal();
+            while (durableSequence < sequence) {
+                throwIfFailed();
+                if (closed)
+                    throw new PointSaveException("WAL 이 닫혀 동기화를 기다릴 수 없습니다. sequence=" + sequence);
+                synced.await();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PointSaveException("WAL 동기화 대기 중 인터럽트 sequence=" + sequence, e);
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    /** 로그를 처음부터 지금까지 붙인 레코드까지 순서대로 읽는다 */
+    public long replay(Consumer<WalRecord> consumer) {
+        return replay(1, lastSequence, consumer);
+    }
+
+    /**
+     * fromSequence ~ toSequence 구간을 순서대로 읽는다. 레코드 길이가 고정이라 구간 시작 위치를 바로 찾는다.
+     * 이미 붙인 구간만 읽으므로 기록하는 중에도 별도 매핑으로 읽을 수 있다.
+     */
+    public long replay(long fromSequence, long toSequence, Consumer<WalRecord> consumer) {
+        if (!properties.enabled() || fromSequence > toSequence)
+            return 0;
+
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        CRC32C checksum = new CRC32C();
+        List<Path> segments = segments();
+        long expected = fromSequence;
+        long count = 0;
+        for (int i = 0; i < segments.size() && expected <= toSequence; i++) {
+            // 다음 세그먼트가 expected 이하에서 시작하면 이 세그먼트에는 읽을 레코드가 없다
+            if (i + 1 < segments.size() && firstSequence(segments.get(i + 1)) <= expected)
+                continue;
+
+            long first = firstSequence(segments.get(i));
+            if (first > expected)
+                break;
+
+            MappedByteBuffer buffer = map(segments.get(i), FileChannel.MapMode.READ_ONLY, 0);
+            for (int offset = (int) ((expected - first) * RECORD_BYTES);
+                 offset + RECORD_BYTES <= buffer.capacity() && expected <= toSequence; offset += RECORD_BYTES) {
+                if (!read(buffer, offset, expected, record, checksum))
+                    break;
+
+                consumer.accept(new WalRecord(expected, record.getLong(8), record.getLong(16),
+                        TYPES[record.get(TYPE_OFFSET)], record.getLong(24), record.getLong(32),
+                        (record.get(FLAGS_OFFSET) & ADJUSTMENT) != 0));
+                expected++;
+                count++;
+            }
+        }
+
+        if (expected <= toSequence)
+            throw new IllegalStateException("WAL 을 sequence " + expected + " 부터 읽을 수 없습니다. toSequence : " + toSequence);
+        return count;
+    }
+
+    /** 마지막으로 붙인 레코드의 sequence */
+    public long lastSequence() {
+        return lastSequence;
+    }
+
+    /** 디스크 동기화가 끝난 마지막 sequence */
+    public long durableSequence() {
+        return flusher == null ? lastSequence : durableSequence;
+    }
+
+    /** 지금까지 실행한 fsync 횟수 */
+    public long syncCount() {
+        return syncCount.get();
+    }
+
+    public void close() {
+        if (!properties.enabled() || closed)
+            return;
+
+        closed = true;
+        if (flusher != null) {
+            syncLock.lock();
+            try {
+                syncRequested.signal();
+            } finally {
+                syncLock.unlock();
+            }
+            try {
+                flusher.join(TimeUnit.SECONDS.toMillis(10));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        // 남은 레코드를 호출 스레드에서 마저 동기화하고 기다리던 요청을 깨운다
+        if (flusher == null || !flusher.isAlive())
+            sync();
+    }
+
+    // 마지막 세그먼트에서 이어 쓸 위치를 찾는다
+    private void openTail() throws IOException {
+        List<Path> segments = segments();
+        if (segments.isEmpty())
+            return;
+
+        Path last = segments.get(segments.size() - 1);
+        MappedByteBuffer buffer = map(last, FileChannel.MapMode.READ_WRITE, 0);
+        ByteBuffer record = ByteBuffer.allocate(RECORD_BYTES).order(ByteOrder.LITTLE_ENDIAN);
+        long expected = firstSequence(last);
+        int offset = 0;
+        while (offset + RECORD_BYTES <= buffer.capacity() && read(buffer, offset, expected, record, crc)) {
+            offset += RECORD_BYTES;
+            expected++;
+        }
+
+        // 끝 뒤에 남은 찢긴 레코드나 이전 레코드가 다음 복구 때 이어서 읽히지 않도록 지운다
+        for (int i = offset; i < buffer.capacity(); i += ZEROS.length)
+            buffer.put(i, ZEROS, 0, Math.min(ZEROS.length, buffer.capacity() - i));
+        buffer.force();
+
+        segment = buffer;
+        position = offset;
+        lastSequence = expected - 1;
+        durableSequence = lastSequence;
+        logger.info("WAL 을 열었습니다. segment={}, lastSequence={}", last.getFileName(), lastSequence);
+    }
+
+    // appendLock 안에서 호출된다
+    private void roll() {
+        try {
+            // 다 쓴 세그먼트는 넘어가기 전에 끝까지 동기화해 둔다
+            if (segment != null && properties.fsync())
+                force(segment, 0, segment.capacity());
+
+            segment = map(directory.resolve(String.format("%020d%s", lastSequence + 1, SUFFIX)),
+                    FileChannel.MapMode.READ_WRITE, segmentBytes);
+            position = 0;
+        } catch (RuntimeException e) {
+            fail(e);
+            throwIfFailed();
+        }
+    }
+
+    private void flushLoop() {
+        while (true) {
+            syncLock.lock();
+            try {
+                // 실패한 뒤에는 동기화할 수 없으므로 닫힐 때까지 기다리기만 한다
+                while (!closed && (failure != null || durableSequence >= lastSequence))
+                    syncRequested.await();
+                if (closed)
+                    return;
+            } catch (InterruptedException e) {
+                return;
+            } finally {
+                syncLock.unlock();
+            }
+
+            // 잠시 기다려 더 많은 레코드를 한 번의 fsync 로 묶는다
+            if (!properties.groupCommitDelay().isZero())
+                LockSupport.parkNanos(properties.groupCommitDelay().toNanos());
+            sync();
+        }
+    }
+
+    private void sync() {
+        MappedByteBuffer target;
+        int end;
+        long sequence;
+        appendLock.lock();
+        try {
+            target = segment;
+            end = position;
+            sequence = lastSequence;
+        } finally {
+            appendLock.unlock();
+        }
+
+        // 실패한 뒤에 붙은 레코드는 디스크에 남았다고 할 수 없으므로 durableSequence 를 올리지 않는다.
+        // 기다리던 요청은 fail 에서 깨워 실패를 받는다
+        if (failure != null)
+            return;
+
+        if (target != null) {
+            // 그 사이 세그먼트가 바뀌었다면 이전 세그먼트는 roll 에서 이미 동기화되었다
+            int from = target == syncedSegment ? syncedPosition : 0;
+            try {
+                if (end > from)
+                    force(target, from, end - from);
+            } catch (RuntimeException e) {
+                fail(e);
+                return;
+            }
+            syncedSegment = target;
+            syncedPosition = end;
+            syncCount.incrementAndGet();
+        }
+
+        syncLock.lock();
+        try {
+            durableSequence = Math.max(durableSequence, sequence);
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    // 디스크 동기화 실패를 재현하는 테스트에서 바꿔 끼운다
+    void force(MappedByteBuffer target, int from, int length) {
+        target.force(from, length);
+    }
+
+    private void fail(RuntimeException e) {
+        logger.error("WAL 기록 실패. 이후 포인트 변경을 받지 않습니다.", e);
+        failure = e;
+        syncLock.lock();
+        try {
+            synced.signalAll();
+        } finally {
+            syncLock.unlock();
+        }
+    }
+
+    private void throwIfFailed() {
+        if (failure != null)
+            throw new PointSaveException("WAL 기록 실패로 포인트 변경을 받을 수 없습니다.", failure);
+    }
+
+    private List<Path> segments() {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(path -> path.getFileName().toString().endsWith(SUFFIX))
+                    .sorted(Comparator.comparingLong(PointWal::firstSequence))
+                    .toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트 목록을 읽을 수 없습니다. directory : " + directory, e);
+        }
+    }
+
+    private static long firstSequence(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    // size 가 0 이면 파일 크기만큼 매핑한다. 매핑은 채널을 닫아도 유지된다
+    private static MappedByteBuffer map(Path path, FileChannel.MapMode mode, long size) {
+        StandardOpenOption[] options = mode == FileChannel.MapMode.READ_ONLY
+                ? new StandardOpenOption[]{StandardOpenOption.READ}
+                : new StandardOpenOption[]{StandardOpenOption.READ, StandardOpenOption.WRITE, StandardOpenOption.CREATE};
+        try (FileChannel channel = FileChannel.open(path, options)) {
+            return channel.map(mode, 0, size == 0 ? channel.size() : size);
+        } catch (IOException e) {
+            throw new UncheckedIOException("WAL 세그먼트를 매핑할 수 없습니다. segment : " + path, e);
+        }
+    }
+
+    // buffer 의 offset 레코드를 record 로 복사하고, sequence 와 crc 가 맞는지 확인한다
+    private static boolean read(ByteBuffer buffer, int offset, long expected, ByteBuffer record, CRC32C checksum) {
+        buffer.get(offset, record.array(), 0, RECORD_BYTES);
+        if (record.getLong(0) != expected)
+            return false;
+
+        checksum.reset();
+        checksum.update(record.array(), 0, CRC_OFFSET);
+        return record.getInt(CRC_OFFSET) == (int) checksum.getValue();
+    }
+}
@@ -0,0 +1,33 @@
+package io.hhplus.tdd.point.wal;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+/**
+ * WAL 기록 수, 동기화 횟수, 동기화를 기다리는 레코드 수를 scrape 시점에 읽어 노출한다.
+ */
+@Component
+public class PointWalMetrics implements MeterBinder {
+
+    private final PointWal wal;
+
+    public PointWalMetrics(PointWal wal) {
+        this.wal = wal;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("point.wal.unsynced", wal, log -> log.lastSequence() - log.durableSequence())
+                .description("디스크 동기화를 기다리는 WAL 레코드 수")
+                .register(registry);
+        FunctionCounter.builder("point.wal.records", wal, PointWal::lastSequence)
+                .description("WAL 에 기록한 레코드 수")
+                .register(registry);
+        FunctionCounter.builder("point.wal.syncs", wal, PointWal::syncCount)
+                .description("WAL fsync 횟수. records 증가량과 비교하면 group commit 크기를 알 수 있다")
+                .register(registry);
+    }
+}
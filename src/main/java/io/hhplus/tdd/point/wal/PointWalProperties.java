@@ -0,0 +1,25 @@
+package io.hhplus.tdd.point.wal;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * 포인트 변경 로그(WAL) 설정
+ * - enabled : 충전/사용을 WAL 에 기록하고 시작할 때 WAL 로 잔액과 이력을 복구한다
+ * - directory : 세그먼트 파일을 둘 디렉터리
+ * - segmentSize : 세그먼트 파일 하나의 크기. 가득 차면 다음 파일로 넘어간다
+ * - fsync : true 면 응답 전에 디스크 동기화를 기다린다. false 면 프로세스 장애에는 안전하지만 OS 장애 시 유실될 수 있다
+ * - groupCommitDelay : 동기화 전에 다른 요청의 기록이 더 모이도록 기다리는 시간
+ */
+@ConfigurationProperties(prefix = "point.wal")
+public record PointWalProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("data/wal") String directory,
+        @DefaultValue("64MB") DataSize segmentSize,
+        @DefaultValue("true") boolean fsync,
+        @DefaultValue("0ms") Duration groupCommitDelay
+) {
+}
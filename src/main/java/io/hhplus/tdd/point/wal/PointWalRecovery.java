@@ -0,0 +1,99 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 시작할 때 잔액 스냅샷과 WAL 로 저장소를 복구한다.
+ * 잔액은 가장 최근 스냅샷을 읽고 그 뒤의 WAL 만 다시 읽으므로 이력 길이와 상관없이 복구된다.
+ * 이력은 WAL 전체를 레코드 순서대로 백그라운드에서 다시 저장하고, 그동안 새 이력은 PointHistoryWriter 가
+ * queueCapacity 개까지 미뤄 둔다. 저장 완료를 기다리는 요청은 복구가 끝나 그 이력이 저장될 때까지 기다린다.
+ * 이력 id 는 저장소가 새로 발급하므로 재시작 전과 다를 수 있다.
+ * 이력을 복구하는 동안에는 이력 저장소가 잔액보다 뒤처져 있으므로 대조는 restoring 을 보고 판단을 미뤄야 한다.
+ */
+public class PointWalRecovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(PointWalRecovery.class);
+
+    private final UserPointRepository userPointRepository;
+    private final PointHistoryRepository pointHistoryRepository;
+    private final BalanceSnapshotStore snapshotStore;
+    private volatile boolean restoring;
+
+    public PointWalRecovery(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                            BalanceSnapshotStore snapshotStore) {
+        this.userPointRepository = userPointRepository;
+        this.pointHistoryRepository = pointHistoryRepository;
+        this.snapshotStore = snapshotStore;
+    }
+
+    /** 잔액을 복구하고, 스냅샷 이후 다시 읽은 WAL 레코드 수를 반환한다 */
+    public long recoverBalances(PointWal wal) {
+        long startedAt = System.nanoTime();
+        Map<Long, Long> balances = new HashMap<>();
+        long snapshot = snapshotStore.load((userId, balance, updateMillis) -> balances.put(userId, balance));
+        long last = wal.lastSequence();
+        if (snapshot > last) {
+            // WAL 이 스냅샷보다 짧다면 WAL 을 지웠거나 다른 디렉터리를 가리키고 있다. 스냅샷 값을 그대로 쓴다
+            logger.warn("잔액 스냅샷이 WAL 보다 앞서 있습니다. snapshot={}, wal={}", snapshot, last);
+            last = snapshot;
+        }
+
+        long records = snapshot < last
+                ? wal.replay(snapshot + 1, last, record -> balances.put(record.userId(), record.balance()))
+                : 0;
+        balances.forEach(userPointRepository::save);
+
+        if (snapshot > 0 || records > 0)
+            logger.info("잔액 복구 완료 스냅샷={}, WAL 레코드={}, 유저={}, 소요={}ms",
+                    snapshot, records, balances.size(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        return records;
+    }
+
+    /** WAL 로 이력을 다시 저장하는 중인지. 한 번 끝나면 다시 true 가 되지 않는다 */
+    public boolean restoring() {
+        return restoring;
+    }
+
+    /**
+     * 지금까지 WAL 에 붙은 이력을 백그라운드에서 순서대로 다시 저장한다. 읽은 레코드 수로 완료된다.
+     * 끝날 때까지 writer 를 멈춰 두므로 새 이력은 복구된 이력 뒤에 저장된다.
+     */
+    public CompletableFuture<Long> restoreHistories(PointWal wal, PointHistoryWriter writer) {
+        long end = wal.lastSequence();
+        if (!wal.enabled() || end == 0)
+            return CompletableFuture.completedFuture(0L);
+
+        restoring = true;
+        writer.pause();
+        long startedAt = System.nanoTime();
+        // 대조가 잔액을 맞춘 기록은 이력이 없던 변경이므로 건너뛴다
+        CompletableFuture<Long> restored = CompletableFuture.supplyAsync(() -> wal.replay(1, end, record -> {
+            if (!record.adjustment())
+                pointHistoryRepository.save(record.userId(), record.amount(), record.type(), record.updateMillis());
+        }), runnable -> {
+            Thread thread = new Thread(runnable, "point-history-restore");
+            thread.setDaemon(true);
+            thread.start();
+        });
+
+        return restored.whenComplete((records, failure) -> {
+            writer.resume();
+            // 미뤄 둔 이력까지 저장한 뒤에 끝났다고 알린다
+            restoring = false;
+            if (failure != null)
+                logger.error("WAL 이력 복구 실패", failure);
+            else
+                logger.info("WAL 이력 복구 완료 레코드={}, 소요={}ms",
+                        records, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+        });
+    }
+}
@@ -0,0 +1,18 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+
+/**
+ * WAL 에 남는 충전/사용 한 건. balance 는 반영 후 잔액이라 복구할 때 다시 계산하지 않는다.
+ * adjustment 이면 대조가 잔액을 이력 합계로 맞춘 기록으로, amount 는 맞추며 바뀐 차이이고 이력은 없다.
+ */
+public record WalRecord(
+        long sequence,
+        long userId,
+        long amount,
+        TransactionType type,
+        long balance,
+        long updateMillis,
+        boolean adjustment
+) {
+}
@@ -0,0 +1,88 @@
+package io.hhplus.tdd;
+
+import io.hhplus.tdd.point.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.exception.InvalidUserIdException;
+import io.hhplus.tdd.point.exception.NegativePointBalanceException;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("ApiControllerAdvice - 예외 응답")
+public class ApiControllerAdviceTest {
+
+    private final ApiControllerAdvice advice = new ApiControllerAdvice();
+
+    @Test
+    @DisplayName("입력 검증 예외는 400 과 검증 메시지로 응답한다")
+    void givenValidationException_whenHandle_thenBadRequest() {
+        // when
+        ResponseEntity<ErrorResponse> amount = advice.handleValidationException(
+                new PointValidationException("충전 금액은 1000원 이상이어야 합니다"));
+        ResponseEntity<ErrorResponse> userId = advice.handleValidationException(new InvalidUserIdException(-1L));
+
+        // then
+        assertThat(amount.getStatusCode().value()).isEqualTo(400);
+        assertThat(amount.getBody().message()).isEqualTo("충전 금액은 1000원 이상이어야 합니다");
+        assertThat(userId.getStatusCode().value()).isEqualTo(400);
+    }
+
+    @Test
+    @DisplayName("잔액 규칙 위반은 422 로 응답한다")
+    void givenBalanceRuleException_whenHandle_thenUnprocessableEntity() {
+        // when
+        ResponseEntity<ErrorResponse> response = advice.handleBalanceRuleException(new NegativePointBalanceException(-1_000L));
+
+        // then
+        assertThat(response.getStatusCode().value()).isEqualTo(422);
+        assertThat(response.getBody().code()).isEqualTo("422");
+    }
+
+    @Test
+    @DisplayName("다른 요청에 쓴 Idempotency-Key 는 409 로 응답한다")
+    void givenIdempotencyKeyConflict_whenHandle_thenConflict() {
+        // when
+        ResponseEntity<ErrorResponse> response = advice.handleIdempotencyKeyConflict(
+                new IdempotencyKeyConflictException("이미 다른 요청에 사용한 Idempotency-Key 입니다. key=a"));
+
+        // then
+        assertThat(response.getStatusCode().value()).isEqualTo(409);
+        assertThat(response.getBody().code()).isEqualTo("409");
+    }
+
+    @Test
+    @DisplayName("처리 시간 초과는 반영 여부를 알 수 없으므로 504 와 같은 Idempotency-Key 로 다시 요청하라는 안내로 응답한다")
+    void givenTimeout_whenHandle_thenGatewayTimeoutWithRetryHint() {
+        // when
+        ResponseEntity<ErrorResponse> response = advice.handleTimeout(new TimeoutException());
+
+        // then
+        assertThat(response.getStatusCode().value()).isEqualTo(504);
+        assertThat(response.getBody().code()).isEqualTo("504");
+        assertThat(response.getBody().message()).contains("반영 여부를 알 수 없습니다", "Idempotency-Key");
+    }
+
+    @Test
+    @DisplayName("그 외 예외는 내부 정보를 숨기고 500 으로 응답한다")
+    void givenUnexpectedException_whenHandle_thenInternalServerError() {
+        // when
+        ResponseEntity<ErrorResponse> response = advice.handleException(new PointSaveException("포인트 잔액 저장 실패"));
+
+        // then
+        assertThat(response.getStatusCode().value()).isEqualTo(500);
+        assertThat(response.getBody().message()).isEqualTo("에러가 발생했습니다.");
+    }
+
+    @Test
+    @DisplayName("검증 예외는 스택 트레이스를 채우지 않는다")
+    void givenValidationException_whenCreated_thenHasNoStackTrace() {
+        assertThat(new PointValidationException("잘못된 금액").getStackTrace()).isEmpty();
+        assertThat(new NegativePointBalanceException(-1L).getStackTrace()).isEmpty();
+        assertThat(new InvalidUserIdException(0L).getStackTrace()).isEmpty();
+    }
+}
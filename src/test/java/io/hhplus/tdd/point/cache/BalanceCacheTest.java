@@ -0,0 +1,103 @@
+package io.hhplus.tdd.point.cache;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("BalanceCache - 잔액 캐시")
+public class BalanceCacheTest {
+
+    @Test
+    @DisplayName("저장한 잔액을 조회하면 hit, 없는 유저를 조회하면 miss 로 집계한다")
+    void givenCachedBalance_whenGet_thenCountsHitAndMiss() {
+        // given
+        BalanceCache cache = cache(100, Duration.ofMinutes(1));
+        UserPoint point = new UserPoint(1L, 10_000L, System.currentTimeMillis());
+        cache.put(point);
+
+        // when
+        UserPoint hit = cache.get(1L);
+        UserPoint miss = cache.get(2L);
+
+        // then
+        assertThat(hit).isEqualTo(point);
+        assertThat(miss).isNull();
+        assertThat(cache.stats().hitCount()).isEqualTo(1L);
+        assertThat(cache.stats().missCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("최대 크기를 넘으면 가장 오래 사용하지 않은 유저부터 제거한다")
+    void givenFullSegment_whenPut_thenEvictsLeastRecentlyUsed() {
+        // given - 세그먼트당 2개, 1/17/33 은 같은 세그먼트에 들어가는 userId
+        BalanceCache cache = cache(32, Duration.ofMinutes(1));
+        cache.put(new UserPoint(1L, 1000L, 0L));
+        cache.put(new UserPoint(17L, 1000L, 0L));
+        cache.get(1L);
+
+        // when
+        cache.put(new UserPoint(33L, 1000L, 0L));
+
+        // then
+        assertThat(cache.get(1L)).isNotNull();
+        assertThat(cache.get(17L)).isNull();
+        assertThat(cache.get(33L)).isNotNull();
+        assertThat(cache.stats().evictionCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("많은 유저를 넣어도 최대 크기를 넘지 않는다")
+    void givenManyUsers_whenPut_thenSizeIsBounded() {
+        // given
+        BalanceCache cache = cache(16, Duration.ofMinutes(1));
+
+        // when
+        for (long userId = 1; userId <= 1000; userId++)
+            cache.put(new UserPoint(userId, 1000L, 0L));
+
+        // then
+        BalanceCacheStats stats = cache.stats();
+        assertThat(stats.size()).isLessThanOrEqualTo(16L);
+        assertThat(stats.evictionCount()).isEqualTo(1000L - stats.size());
+    }
+
+    @Test
+    @DisplayName("TTL 이 지난 항목은 miss 로 처리하고 제거한다")
+    void givenExpiredEntry_whenGet_thenReturnsNull() throws InterruptedException {
+        // given
+        BalanceCache cache = cache(100, Duration.ofMillis(1));
+        cache.put(new UserPoint(1L, 1000L, 0L));
+        Thread.sleep(10);
+
+        // when
+        UserPoint expired = cache.get(1L);
+
+        // then
+        assertThat(expired).isNull();
+        assertThat(cache.stats().expirationCount()).isEqualTo(1L);
+        assertThat(cache.stats().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("조회 도중 쓰기가 있었다면 조회한 값으로 캐시를 채우지 않는다")
+    void givenWriteDuringRead_whenFill_thenKeepsNewerValue() {
+        // given
+        BalanceCache cache = cache(100, Duration.ofMinutes(1));
+        long ticket = cache.writeTicket(1L);
+        cache.invalidate(1L);  // 다른 요청의 저장
+
+        // when
+        cache.fill(new UserPoint(1L, 1000L, 0L), ticket);
+
+        // then
+        assertThat(cache.get(1L)).isNull();
+    }
+
+    private static BalanceCache cache(int maximumSize, Duration ttl) {
+        return new BalanceCache(new BalanceCacheProperties(true, maximumSize, ttl));
+    }
+}
@@ -0,0 +1,318 @@
+package io.hhplus.tdd.point.history;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("PointHistoryWriter - 이력 지연 저장")
+public class PointHistoryWriterTest {
+
+    // 저장 실패한 이력을 다시 저장하는 간격을 짧게 두고 sweeper 는 끈다
+    private final PointSagaCoordinator sagas = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(1),
+            Duration.ofMillis(5), 10, Duration.ZERO, Duration.ofMinutes(1)), metrics());
+
+    @AfterEach
+    void tearDown() {
+        sagas.close();
+    }
+
+    @Test
+    @DisplayName("WRITE_BEHIND 모드는 종료 시 대기열에 남은 이력을 모두 저장한다")
+    void givenWriteBehind_whenShutdown_thenFlushesQueuedHistories() {
+        // given
+        InMemoryPointHistoryTable table = new InMemoryPointHistoryTable();
+        PointHistoryWriter writer = new PointHistoryWriter(repository(table), properties(HistoryAck.QUEUED, 10_000), metrics(), sagas);
+
+        // when
+        for (int i = 0; i < 100; i++)
+            writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());
+        writer.shutdown();
+
+        // then
+        assertThat(table.selectAllByUserId(1L)).hasSize(100);
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("WRITTEN 확인 모드에서 백그라운드 저장이 실패하면 호출자에게 예외를 전달한다")
+    void givenWrittenAck_whenInsertFails_thenThrowsToCaller() {
+        // given
+        InMemoryPointHistoryTable failingTable = new InMemoryPointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                throw new RuntimeException("이력 저장 실패");
+            }
+        };
+        PointHistoryWriter writer = new PointHistoryWriter(repository(failingTable), properties(HistoryAck.WRITTEN, 10_000), metrics(), sagas);
+
+        // when&then
+        assertThatThrownBy(() -> writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis()))
+                .isInstanceOf(PointSaveException.class);
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("QUEUED 확인 모드에서 백그라운드 저장이 실패하면 이미 돌아간 요청 대신 이력만 다시 저장한다")
+    void givenQueuedAck_whenInsertFails_thenRetriesHistoryInBackground() throws Exception {
+        // given - 첫 저장만 실패한다
+        AtomicInteger attempts = new AtomicInteger();
+        InMemoryPointHistoryTable flakyTable = new InMemoryPointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                if (attempts.incrementAndGet() == 1)
+                    throw new RuntimeException("이력 저장 실패");
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter writer = new PointHistoryWriter(repository(flakyTable), properties(HistoryAck.QUEUED, 10_000), metrics(), sagas);
+
+        // when
+        writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());
+        writer.shutdown();
+
+        // then
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (sagas.inFlightCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertThat(sagas.pending(1L)).isFalse();
+        assertThat(flakyTable.selectAllByUserId(1L)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("종료가 시작된 뒤 대기열에 넣은 이력도 잃지 않고 저장한다")
+    void givenShutdownRace_whenWrite_thenNoHistoryIsLost() throws Exception {
+        // given
+        InMemoryPointHistoryTable table = new InMemoryPointHistoryTable();
+        PointHistoryWriter writer = new PointHistoryWriter(repository(table), properties(HistoryAck.QUEUED, 10_000), metrics(), sagas);
+        int requestCount = 200;
+
+        // when - 절반쯤 넣었을 때 종료한다
+        CountDownLatch halfway = new CountDownLatch(requestCount / 2);
+        Thread closer = new Thread(() -> {
+            try {
+                halfway.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writer.shutdown();
+        });
+        closer.start();
+        writeConcurrently(requestCount, i -> {
+            writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());
+            halfway.countDown();
+        });
+        closer.join();
+
+        // then
+        assertThat(table.selectAllByUserId(1L)).hasSize(requestCount);
+        assertThat(writer.pendingCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("대기열이 가득 차면 offerTimeout 이후 저장 실패로 처리한다")
+    void givenFullQueue_whenWrite_thenThrowsAfterTimeout() {
+        // given
+        CountDownLatch release = new CountDownLatch(1);
+        InMemoryPointHistoryTable blockingTable = new InMemoryPointHistoryTable() {
+            @Override
+            public PointHistory insert(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insert(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter writer = new PointHistoryWriter(repository(blockingTable), properties(HistoryAck.QUEUED, 1), metrics(), sagas);
+        writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());  // 백그라운드 스레드가 잡고 대기
+        writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());  // 대기열을 채움
+
+        // when&then
+        assertThatThrownBy(() -> writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis()))
+                .isInstanceOf(PointSaveException.class);
+
+        release.countDown();
+        writer.shutdown();
+        assertThat(blockingTable.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("GROUP_COMMIT 모드는 동시에 들어온 이력을 모아 저장하고 저장이 끝난 뒤 요청을 돌려보낸다")
+    void givenGroupCommit_whenWriteConcurrently_thenCommitsInBatches() throws Exception {
+        // given - 첫 이력 뒤 200ms 동안 더 모은다
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        PointHistoryWriter writer = new PointHistoryWriter(repository,
+                groupCommitProperties(10, Duration.ofMillis(200)), new PointMetrics(registry), sagas);
+        int requestCount = 20;
+
+        // when
+        writeConcurrently(requestCount, i -> writer.write(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+
+        // then - 요청이 돌아온 시점에는 이미 저장되어 있다
+        assertThat(repository.findAllByUserId(1L)).hasSize(requestCount);
+        DistributionSummary commits = registry.get("point.history.commit.size").summary();
+        assertThat(commits.totalAmount()).isEqualTo(requestCount);
+        assertThat(commits.count()).isLessThan(requestCount);
+        assertThat(commits.max()).isLessThanOrEqualTo(10);
+        writer.shutdown();
+    }
+
+    @Test
+    @DisplayName("GROUP_COMMIT 모드에서 묶음 중 일부 이력 저장이 실패하면 그 요청에만 예외를 전달한다")
+    void givenGroupCommit_whenOneInsertFails_thenOnlyThatCallerFails() throws Exception {
+        // given - userId 2 의 이력만 실패하는 저장소
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository() {
+            @Override
+            public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+                if (userId == 2L)
+                    throw new RuntimeException("이력 저장 실패");
+                return super.save(userId, amount, type, updateMillis);
+            }
+        };
+        PointHistoryWriter writer = new PointHistoryWriter(repository,
+                groupCommitProperties(10, Duration.ofMillis(100)), metrics(), sagas);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // when
+            Future<?> succeeded = executor.submit(() -> writer.write(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+            Future<?> failed = executor.submit(() -> writer.write(2L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+
+            // then
+            succeeded.get(5, TimeUnit.SECONDS);
+            assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(PointSaveException.class);
+            assertThat(repository.findAllByUserId(1L)).hasSize(1);
+        } finally {
+            executor.shutdownNow();
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("GROUP_COMMIT 모드는 저장이 느린 테이블 저장소로 만들면 시작할 때 실패한다")
+    void givenTableRepository_whenGroupCommit_thenFailsFast() {
+        assertThatThrownBy(() -> new PointHistoryWriter(repository(new PointHistoryTable()),
+                groupCommitProperties(64, Duration.ofMillis(1)), metrics(), sagas))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("pause 중 WRITTEN 확인 요청은 resume 이 이력을 저장한 뒤에 돌아간다")
+    void givenPausedWriter_whenWrittenAck_thenReturnsOnlyAfterResumeInserts() throws Exception {
+        // given
+        InMemoryPointHistoryTable table = new InMemoryPointHistoryTable();
+        PointHistoryWriter writer = new PointHistoryWriter(repository(table), properties(HistoryAck.WRITTEN, 10), metrics(), sagas);
+        writer.pause();
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            // when
+            Future<?> waiting = executor.submit(() -> writer.write(1L, 1000L, TransactionType.CHARGE, System.currentTimeMillis()));
+            awaitPending(writer, 1);
+
+            // then
+            assertThat(waiting.isDone()).isFalse();
+            writer.resume();
+            waiting.get(5, TimeUnit.SECONDS);
+            assertThat(table.selectAllByUserId(1L)).hasSize(1);
+            assertThat(writer.pendingCount()).isZero();
+        } finally {
+            executor.shutdownNow();
+            writer.shutdown();
+        }
+    }
+
+    @Test
+    @DisplayName("pause 중 미뤄 둔 이력이 queueCapacity 만큼 차면 offerTimeout 이후 저장 실패로 처리한다")
+    void givenFullDeferredList_whenWrite_thenThrowsAfterTimeout() {
+        // given
+        InMemoryPointHistoryTable table = new InMemoryPointHistoryTable();
+        PointHistoryWriter writer = new PointHistoryWriter(repository(table), properties(HistoryAck.QUEUED, 2), metrics(), sagas);
+        writer.pause();
+        writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());
+        writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis());
+
+        // when&then
+        assertThatThrownBy(() -> writer.write(1L, 1000L, TransactionType.USE, System.currentTimeMillis()))
+                .isInstanceOf(PointSaveException.class);
+
+        writer.resume();
+        writer.shutdown();
+        assertThat(table.selectAllByUserId(1L)).hasSize(2);
+    }
+
+    private static void awaitPending(PointHistoryWriter writer, int count) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (writer.pendingCount() < count && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertThat(writer.pendingCount()).isEqualTo(count);
+    }
+
+    private static void writeConcurrently(int requestCount, IntConsumer request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(requestCount);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(requestCount);
+        try {
+            for (int i = 0; i < requestCount; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    request.accept(index);
+                    return null;
+                }));
+            }
+            startGate.countDown();
+
+            for (Future<?> future : futures)
+                future.get(10, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static PointHistoryProperties properties(HistoryAck ack, int queueCapacity) {
+        return new PointHistoryProperties(HistoryWriteMode.WRITE_BEHIND, ack, queueCapacity,
+                Duration.ofMillis(100), Duration.ofSeconds(10), 64, Duration.ofMillis(1));
+    }
+
+    private static PointHistoryProperties groupCommitProperties(int batchSize, Duration batchWait) {
+        return new PointHistoryProperties(HistoryWriteMode.GROUP_COMMIT, HistoryAck.QUEUED, 10_000,
+                Duration.ofMillis(100), Duration.ofSeconds(10), batchSize, batchWait);
+    }
+
+    private static IndexedPointHistoryRepository repository(PointHistoryTable table) {
+        return new IndexedPointHistoryRepository(table, metrics());
+    }
+
+    private static PointMetrics metrics() {
+        return new PointMetrics(new SimpleMeterRegistry());
+    }
+}
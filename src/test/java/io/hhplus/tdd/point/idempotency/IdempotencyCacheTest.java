@@ -0,0 +1,101 @@
+package io.hhplus.tdd.point.idempotency;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.IdempotencyKeyConflictException;
+import io.hhplus.tdd.point.exception.NegativePointBalanceException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("IdempotencyCache - Idempotency-Key 중복 요청 캐시")
+public class IdempotencyCacheTest {
+
+    private static IdempotencyCache cache(int maximumSize, Duration ttl) {
+        return new IdempotencyCache(new IdempotencyProperties(maximumSize, ttl));
+    }
+
+    @Test
+    @DisplayName("같은 키로 재시도하면 다시 실행하지 않고 처음 결과를 반환한다")
+    void givenCompletedKey_whenRetry_thenReturnsOriginalResult() {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+        UserPoint first = cache.execute("key-1", 1L, TransactionType.CHARGE, 1_000L,
+                () -> new UserPoint(1L, 1_000L * executions.incrementAndGet(), 0L));
+
+        // when
+        UserPoint retried = cache.execute("key-1", 1L, TransactionType.CHARGE, 1_000L,
+                () -> new UserPoint(1L, 1_000L * executions.incrementAndGet(), 0L));
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(cache.replayCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("같은 키로 다른 금액을 요청하면 충돌로 거절하고, 실패한 요청의 키는 다시 쓸 수 있다")
+    void givenMismatchedOrFailedKey_whenExecute_thenRejectsOrRetries() {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+        cache.execute("key-1", 1L, TransactionType.CHARGE, 1_000L, () -> new UserPoint(1L, 1_000L, 0L));
+        assertThatThrownBy(() -> cache.execute("key-2", 1L, TransactionType.USE, 5_000L, () -> {
+            throw new NegativePointBalanceException(0L);
+        })).isInstanceOf(NegativePointBalanceException.class);
+
+        // when&then
+        assertThatThrownBy(() -> cache.execute("key-1", 1L, TransactionType.CHARGE, 2_000L, () -> new UserPoint(1L, 3_000L, 0L)))
+                .isInstanceOf(IdempotencyKeyConflictException.class);
+        assertThat(cache.execute("key-2", 1L, TransactionType.USE, 5_000L, () -> new UserPoint(1L, 0L, 0L)).point())
+                .isEqualTo(0L);
+    }
+
+    @Test
+    @DisplayName("처리 중인 키로 동시에 들어온 요청은 한 번만 실행하고 같은 결과를 받는다")
+    void givenConcurrentDuplicates_whenExecute_thenCoalescesIntoOneExecution() throws Exception {
+        // given
+        IdempotencyCache cache = cache(100, Duration.ofMinutes(1));
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch startGate = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        List<Future<UserPoint>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> {
+                startGate.await();
+                return cache.execute("key-1", 1L, TransactionType.CHARGE, 1_000L, () -> {
+                    sleep(100);
+                    return new UserPoint(1L, 1_000L * executions.incrementAndGet(), 0L);
+                });
+            }));
+        }
+        startGate.countDown();
+
+        // then
+        for (Future<UserPoint> result : results)
+            assertThat(result.get().point()).isEqualTo(1_000L);
+        assertThat(executions.get()).isEqualTo(1);
+        executor.shutdown();
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.hhplus.tdd.point.metrics;
+
+import io.hhplus.tdd.point.exception.MaxPointBalanceExceededException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("PointMetrics - 계측")
+public class PointMetricsTest {
+
+    private MeterRegistry registry;
+    private PointMetrics metrics;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new PointMetrics(registry);
+    }
+
+    @Test
+    @DisplayName("기능 처리 시간을 기능별 타이머에 기록한다")
+    void givenOperation_whenRecordOperation_thenRecordsTimer() {
+        // when
+        metrics.recordOperation("charge", () -> 1L);
+        metrics.recordOperation("charge", () -> 2L);
+
+        // then
+        assertThat(registry.get("point.operation").tag("operation", "charge").timer().count()).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("예외가 나면 예외 타입별로 세고 예외는 그대로 던진다")
+    void givenFailingOperation_whenRecordOperation_thenCountsByExceptionType() {
+        // when & then
+        assertThatThrownBy(() -> metrics.recordOperation("charge", () -> {
+            throw new MaxPointBalanceExceededException(1_000_000L, 1_010_000L);
+        })).isInstanceOf(MaxPointBalanceExceededException.class);
+
+        assertThat(registry.get("point.errors")
+                .tag("operation", "charge")
+                .tag("exception", "MaxPointBalanceExceededException")
+                .counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("point.operation").tag("operation", "charge").timer().count()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("테이블 호출 시간과 롤백 결과를 따로 기록한다")
+    void givenTableCallAndRollback_whenRecord_thenRecordsSeparately() {
+        // when
+        metrics.recordTable(PointMetrics.USER_POINT_TABLE, "selectById", () -> 1L);
+        metrics.rollback(true);
+        metrics.rollback(false);
+        metrics.rollback(false);
+
+        // then
+        assertThat(registry.get("point.table").tag("table", "user_point").tag("call", "selectById").timer().count())
+                .isEqualTo(1L);
+        assertThat(registry.get("point.rollbacks").tag("result", "success").counter().count()).isEqualTo(1.0);
+        assertThat(registry.get("point.rollbacks").tag("result", "failure").counter().count()).isEqualTo(2.0);
+    }
+}
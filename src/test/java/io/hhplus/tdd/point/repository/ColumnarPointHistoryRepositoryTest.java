@@ -0,0 +1,123 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("ColumnarPointHistoryRepository - 열 단위 이력 저장소")
+public class ColumnarPointHistoryRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 이력을 유저별로 id 오름차순으로 되살려 조회한다")
+    void givenSavedHistories_whenFindAllByUserId_thenMaterializesInIdOrder() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        long now = System.currentTimeMillis();
+        repository.save(1L, 10_000L, TransactionType.CHARGE, now);
+        repository.save(2L, 20_000L, TransactionType.CHARGE, now + 1);
+        repository.save(1L, 1_000L, TransactionType.USE, now + 2);
+
+        // when
+        List<PointHistory> histories = repository.findAllByUserId(1L);
+
+        // then
+        assertThat(histories)
+                .extracting(PointHistory::id, PointHistory::userId, PointHistory::amount, PointHistory::type, PointHistory::updateMillis)
+                .containsExactly(
+                        tuple(1L, 1L, 10_000L, TransactionType.CHARGE, now),
+                        tuple(3L, 1L, 1_000L, TransactionType.USE, now + 2)
+                );
+        assertThat(repository.findAllByUserId(3L)).isEmpty();
+        assertThat(repository.userIds()).containsExactlyInAnyOrder(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("int 범위를 벗어나는 금액과 시각도 원래 값 그대로 조회한다")
+    void givenWideValues_whenFindAllByUserId_thenKeepsOriginalValues() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        long now = System.currentTimeMillis();
+        repository.save(1L, 1_000L, TransactionType.CHARGE, now);
+        repository.save(1L, Long.MAX_VALUE, TransactionType.CHARGE, 1L);
+        repository.save(1L, Integer.MIN_VALUE, TransactionType.USE, now + 1);
+
+        // when
+        List<PointHistory> histories = repository.findAllByUserId(1L);
+
+        // then
+        assertThat(histories)
+                .extracting(PointHistory::amount, PointHistory::updateMillis)
+                .containsExactly(
+                        tuple(1_000L, now),
+                        tuple(Long.MAX_VALUE, 1L),
+                        tuple((long) Integer.MIN_VALUE, now + 1)
+                );
+    }
+
+    @Test
+    @DisplayName("청크 경계를 넘어도 커서와 필터 조건대로 조회한다")
+    void givenRowsAcrossChunks_whenFindPage_thenReturnsNextWindow() {
+        // given
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        int rows = ColumnarPointHistoryRepository.CHUNK_ROWS + 10;
+        for (int i = 0; i < rows; i++) {
+            TransactionType type = i % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            repository.save(i % 2, 1_000L, type, i);
+        }
+        long afterId = ColumnarPointHistoryRepository.CHUNK_ROWS - 4;
+
+        // when
+        List<PointHistory> page = repository.findPage(0L,
+                new PointHistoryQuery(afterId, 4, TransactionType.CHARGE, null, null));
+
+        // then
+        assertThat(repository.size()).isEqualTo(rows);
+        assertThat(page)
+                .extracting(PointHistory::id, PointHistory::updateMillis)
+                .containsExactly(
+                        tuple(afterId + 1, afterId),
+                        tuple(afterId + 3, afterId + 2),
+                        tuple(afterId + 5, afterId + 4),
+                        tuple(afterId + 7, afterId + 6)
+                );
+    }
+
+    @Test
+    @DisplayName("건너뛰기 지점 경계를 넘나드는 커서로 끝까지 넘겨도 전체 조회와 같은 이력을 같은 순서로 돌려준다")
+    void givenManyRows_whenPageThroughAll_thenMatchesFullList() {
+        // given - 유저 1 의 행이 다른 유저 행 사이에 불규칙하게 끼어 있다
+        ColumnarPointHistoryRepository repository = new ColumnarPointHistoryRepository();
+        for (int i = 0; i < 1_000; i++) {
+            TransactionType type = i % 3 == 0 ? TransactionType.USE : TransactionType.CHARGE;
+            repository.save(i % 7 == 0 || i % 5 == 0 ? 1L : 2L, 1_000L, type, i);
+        }
+        List<PointHistory> expected = repository.findAllByUserId(1L).stream()
+                .filter(history -> history.type() == TransactionType.CHARGE)
+                .toList();
+
+        // when
+        List<PointHistory> paged = new ArrayList<>();
+        Long cursor = null;
+        while (true) {
+            List<PointHistory> page = repository.findPage(1L, new PointHistoryQuery(cursor, 7, TransactionType.CHARGE, null, null));
+            if (page.isEmpty())
+                break;
+            paged.addAll(page);
+            cursor = page.get(page.size() - 1).id();
+        }
+
+        // then
+        assertThat(paged).isEqualTo(expected);
+        List<PointHistory> all = repository.findAllByUserId(1L);
+        for (int i = 0; i + 1 < all.size(); i++)
+            assertThat(repository.findPage(1L, PointHistoryQuery.first(1).withAfterId(all.get(i).id()))).containsExactly(all.get(i + 1));
+    }
+}
@@ -0,0 +1,90 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+
+@DisplayName("IndexedPointHistoryRepository - 유저별 이력 인덱스")
+public class IndexedPointHistoryRepositoryTest {
+
+    @Test
+    @DisplayName("저장한 이력을 유저별로 id 오름차순으로 조회한다")
+    void givenSavedHistories_whenFindAllByUserId_thenReturnsOnlyThatUserInIdOrder() {
+        // given
+        IndexedPointHistoryRepository repository = new IndexedPointHistoryRepository(new InMemoryPointHistoryTable(), new PointMetrics(new SimpleMeterRegistry()));
+        repository.save(1L, 10_000L, TransactionType.CHARGE, System.currentTimeMillis());
+        repository.save(2L, 20_000L, TransactionType.CHARGE, System.currentTimeMillis());
+        repository.save(1L, 1_000L, TransactionType.USE, System.currentTimeMillis());
+
+        // when
+        List<PointHistory> histories = repository.findAllByUserId(1L);
+
+        // then
+        assertThat(histories)
+                .extracting(PointHistory::id, PointHistory::amount, PointHistory::type)
+                .containsExactly(
+                        tuple(1L, 10_000L, TransactionType.CHARGE),
+                        tuple(3L, 1_000L, TransactionType.USE)
+                );
+        assertThat(repository.findAllByUserId(3L)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("id 가 역순으로 들어와도 id 오름차순을 유지한다")
+    void givenOutOfOrderIds_whenAdd_thenKeepsIdOrder() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        index.add(new PointHistory(2L, 1L, 1_000L, TransactionType.USE, System.currentTimeMillis()));
+        index.add(new PointHistory(1L, 1L, 10_000L, TransactionType.CHARGE, System.currentTimeMillis()));
+        index.add(new PointHistory(3L, 1L, 1_000L, TransactionType.USE, System.currentTimeMillis()));
+
+        // when
+        List<PointHistory> histories = index.findAllByUserId(1L);
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(1L, 2L, 3L);
+    }
+
+    @Test
+    @DisplayName("커서 다음의 이력부터 limit 개만 조회한다")
+    void givenCursor_whenFindPage_thenReturnsNextWindow() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        for (long id = 1; id <= 10; id++)
+            index.add(new PointHistory(id, 1L, 1_000L, TransactionType.USE, id));
+
+        // when
+        List<PointHistory> page = index.findPage(1L, new PointHistoryQuery(4L, 3, null, null, null));
+
+        // then
+        assertThat(page).extracting(PointHistory::id).containsExactly(5L, 6L, 7L);
+    }
+
+    @Test
+    @DisplayName("트랜잭션 종류와 시간 범위 조건에 맞는 이력만 조회한다")
+    void givenTypeAndTimeRange_whenFindPage_thenFiltersHistories() {
+        // given
+        PointHistoryIndex index = new PointHistoryIndex();
+        for (long id = 1; id <= 10; id++) {
+            TransactionType type = id % 2 == 0 ? TransactionType.CHARGE : TransactionType.USE;
+            index.add(new PointHistory(id, 1L, 1_000L, type, id * 100));
+        }
+
+        // when - updateMillis 300 이상 800 미만의 충전 이력
+        List<PointHistory> page = index.findPage(1L,
+                new PointHistoryQuery(null, 10, TransactionType.CHARGE, 300L, 800L));
+
+        // then
+        assertThat(page).extracting(PointHistory::id).containsExactly(4L, 6L);
+    }
+}
@@ -0,0 +1,116 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("OffHeapUserPointRepository - off-heap 잔액 저장소")
+public class OffHeapUserPointRepositoryTest {
+
+    private static OffHeapUserPointRepository repository(long capacity) {
+        return new OffHeapUserPointRepository(new PointStorageProperties(StorageType.OFF_HEAP, StorageType.TABLE, 1, capacity));
+    }
+
+    @Test
+    @DisplayName("저장한 잔액을 다시 읽고, 저장하지 않은 유저는 0 포인트를 반환한다")
+    void givenSavedBalances_whenFindById_thenReturnsLatest() {
+        // given
+        OffHeapUserPointRepository repository = repository(10_000);
+        for (long userId = 1; userId <= 10_000; userId++)
+            repository.save(userId, userId * 10L);
+        repository.save(42L, 1_000_000L);
+
+        // when & then
+        assertThat(repository.findById(42L).point()).isEqualTo(1_000_000L);
+        assertThat(repository.findById(10_000L).point()).isEqualTo(100_000L);
+        assertThat(repository.findById(10_001L).point()).isZero();
+        assertThat(repository.size()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("읽은 뒤로 잔액이 바뀌지 않았을 때만 CAS 로 갱신한다")
+    void givenExpectedPoint_whenCompareAndSet_thenUpdatesOnlyOnMatch() {
+        // given
+        OffHeapUserPointRepository repository = repository(16);
+        UserPoint empty = repository.findById(1L);
+
+        // when
+        UserPoint first = repository.compareAndSet(1L, empty, 10_000L);
+        UserPoint stale = repository.compareAndSet(1L, empty, 20_000L);
+        UserPoint second = repository.compareAndSet(1L, first, 15_000L);
+
+        // then
+        assertThat(first.point()).isEqualTo(10_000L);
+        assertThat(stale).isNull();
+        assertThat(second.point()).isEqualTo(15_000L);
+        assertThat(repository.findById(1L)).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("잔액이 같아도 읽은 뒤에 다른 쓰기가 반영되었으면 CAS 는 실패한다")
+    void givenRewrittenSameBalance_whenCompareAndSet_thenConflicts() throws Exception {
+        // given - 읽은 뒤 다른 쓰기가 잔액을 바꿨다가 같은 값으로 되돌렸다
+        OffHeapUserPointRepository repository = repository(16);
+        repository.save(1L, 10_000L);
+        UserPoint read = repository.findById(1L);
+        Thread.sleep(2);
+        repository.save(1L, 20_000L);
+        repository.save(1L, 10_000L);
+
+        // when
+        UserPoint updated = repository.compareAndSet(1L, read, 30_000L);
+
+        // then
+        assertThat(updated).isNull();
+        assertThat(repository.findById(1L).point()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 같은 유저를 CAS 로 증가시켜도 갱신이 유실되지 않는다")
+    void givenConcurrentCompareAndSet_whenIncrement_thenNoLostUpdate() throws Exception {
+        // given
+        OffHeapUserPointRepository repository = repository(16);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        // when
+        IntStream.range(0, 8).forEach(i -> executor.submit(() -> {
+            for (int n = 0; n < 1_000; n++) {
+                while (true) {
+                    UserPoint current = repository.findById(7L);
+                    if (repository.compareAndSet(7L, current, current.point() + 1) != null)
+                        break;
+                }
+            }
+        }));
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        // then
+        assertThat(repository.findById(7L).point()).isEqualTo(8_000L);
+    }
+
+    @Test
+    @DisplayName("등록된 유저가 용량에 이르면 빈 슬롯이 남아 있어도 새 유저는 거절하고 기존 유저는 계속 저장한다")
+    void givenFullStore_whenSaveNewUser_thenThrows() {
+        // given - 용량 3 이면 슬롯은 4 개다
+        OffHeapUserPointRepository repository = repository(3);
+        for (long userId = 1; userId <= 3; userId++)
+            repository.save(userId, 1_000L);
+
+        // when & then
+        assertThatThrownBy(() -> repository.save(4L, 1_000L))
+                .isInstanceOf(IllegalStateException.class);
+        assertThat(repository.size()).isEqualTo(3L);
+        assertThat(repository.save(3L, 2_000L).point()).isEqualTo(2_000L);
+        assertThat(repository.findById(3L).point()).isEqualTo(2_000L);
+        assertThat(repository.findById(4L).point()).isZero();
+    }
+}
@@ -0,0 +1,72 @@
+package io.hhplus.tdd.point.repository;
+
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryQuery;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("Sharded 저장소 - 샤드별 잔액/이력")
+public class ShardedPointRepositoryTest {
+
+    private final PointStorageProperties properties = new PointStorageProperties(StorageType.SHARDED, StorageType.SHARDED, 4, 0);
+
+    @Test
+    @DisplayName("저장하지 않은 유저는 0 포인트, 저장한 유저는 마지막 잔액을 반환한다")
+    void givenSavedBalances_whenFindById_thenReturnsLatest() {
+        // given
+        ShardedUserPointRepository repository = new ShardedUserPointRepository(properties);
+        for (long userId = 1; userId <= 100; userId++)
+            repository.save(userId, userId * 1_000L);
+        repository.save(7L, 50_000L);
+
+        // when & then
+        assertThat(repository.findById(7L).point()).isEqualTo(50_000L);
+        assertThat(repository.findById(100L).point()).isEqualTo(100_000L);
+        assertThat(repository.findById(101L).point()).isZero();
+    }
+
+    @Test
+    @DisplayName("compare-and-set 은 읽은 뒤로 잔액이 바뀌지 않은 경우에만 저장한다")
+    void givenStaleExpected_whenCompareAndSet_thenRejects() {
+        // given
+        ShardedUserPointRepository repository = new ShardedUserPointRepository(properties);
+        UserPoint empty = repository.findById(1L);
+
+        // when
+        UserPoint first = repository.compareAndSet(1L, empty, 10_000L);
+        UserPoint stale = repository.compareAndSet(1L, empty, 20_000L);
+        UserPoint second = repository.compareAndSet(1L, first, 15_000L);
+
+        // then
+        assertThat(first.point()).isEqualTo(10_000L);
+        assertThat(stale).isNull();
+        assertThat(second.point()).isEqualTo(15_000L);
+        assertThat(repository.findById(1L)).isEqualTo(second);
+    }
+
+    @Test
+    @DisplayName("이력 id 는 샤드와 무관하게 전역으로 증가하고 유저별로 나누어 조회된다")
+    void givenHistoriesAcrossShards_whenFind_thenIdsAreGlobalAndPerUser() {
+        // given
+        ShardedPointHistoryRepository repository = new ShardedPointHistoryRepository(properties);
+        for (long userId = 1; userId <= 10; userId++) {
+            repository.save(userId, 10_000L, TransactionType.CHARGE, 1L);
+            repository.save(userId, 1_000L, TransactionType.USE, 2L);
+        }
+
+        // when
+        List<PointHistory> histories = repository.findAllByUserId(3L);
+        List<PointHistory> page = repository.findPage(3L, PointHistoryQuery.first(1).withAfterId(histories.get(0).id()));
+
+        // then
+        assertThat(histories).extracting(PointHistory::id).containsExactly(5L, 6L);
+        assertThat(page).extracting(PointHistory::type).containsExactly(TransactionType.USE);
+        assertThat(repository.userIds().sorted().toArray()).containsExactly(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L);
+    }
+}
@@ -0,0 +1,160 @@
+package io.hhplus.tdd.point.saga;
+
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PointSagaCoordinator - 포인트 변경 보상")
+public class PointSagaCoordinatorTest {
+
+    private static final long USER_ID = 1L;
+
+    private PointSagaCoordinator coordinator;
+
+    @AfterEach
+    void tearDown() {
+        if (coordinator != null)
+            coordinator.close();
+    }
+
+    // sweeper 는 테스트에서 직접 호출한다. inDoubtAfter 가 0 이면 진행 중인 변경은 모두 멈춘 것으로 본다
+    private PointSagaCoordinator coordinator(int maxAttempts, Duration inDoubtAfter) {
+        coordinator = new PointSagaCoordinator(new PointSagaProperties(Duration.ofMillis(1), Duration.ofMillis(5),
+                maxAttempts, Duration.ZERO, inDoubtAfter), new PointMetrics(new SimpleMeterRegistry()));
+        return coordinator;
+    }
+
+    @Test
+    @DisplayName("보상이 실패하면 잔액을 모르는 채로 백그라운드에서 다시 시도해 금액 차이를 되돌린다")
+    void givenFailingCompensation_whenCompensate_thenRetriesAsyncWithDelta() throws Exception {
+        // given - 처음 두 번은 실패한다
+        PointSagaCoordinator coordinator = coordinator(10, Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+        List<UserPoint> knownBalances = new CopyOnWriteArrayList<>();
+        UserPoint unknown = new UserPoint(0, 0, 0);
+        List<Long> deltas = new CopyOnWriteArrayList<>();
+        PointSaga saga = coordinator.begin(USER_ID, (userId, delta, knownBalance) -> {
+            knownBalances.add(knownBalance == null ? unknown : knownBalance);
+            deltas.add(delta);
+            if (calls.incrementAndGet() <= 2)
+                throw new IllegalStateException("저장소 오류");
+        });
+        UserPoint written = new UserPoint(USER_ID, 30_000L, 0);
+        assertThat(coordinator.balanceApplied(saga, 10_000L)).isTrue();
+        assertThat(coordinator.startHistory(saga)).isTrue();
+
+        // when
+        boolean compensatedInline = coordinator.compensate(saga, -10_000L, written);
+
+        // then
+        assertThat(compensatedInline).isFalse();
+        awaitDrained(coordinator);
+        assertThat(deltas).containsOnly(-10_000L);
+        assertThat(knownBalances).containsExactly(written, unknown, unknown);
+    }
+
+    @Test
+    @DisplayName("재시도를 다 쓴 보상은 FAILED 로 남고 sweeper 가 다시 시도한다")
+    void givenExhaustedRetries_whenSweep_thenRedrivesFailedCompensation() throws Exception {
+        // given
+        PointSagaCoordinator coordinator = coordinator(2, Duration.ofMinutes(1));
+        AtomicInteger calls = new AtomicInteger();
+        PointSaga saga = coordinator.begin(USER_ID, (userId, delta, knownBalance) -> {
+            if (calls.incrementAndGet() <= 2)
+                throw new IllegalStateException("저장소 오류");
+        });
+        coordinator.balanceApplied(saga, -5_000L);
+        coordinator.startHistory(saga);
+        coordinator.compensate(saga, 5_000L, null);
+        awaitState(saga, SagaState.FAILED);
+        assertThat(coordinator.failedCount()).isEqualTo(1L);
+
+        // when
+        coordinator.sweep();
+
+        // then
+        assertThat(calls.get()).isEqualTo(3);
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("잔액 반영 전에 멈춘 변경은 취소되고, 늦게 잔액을 바꾼 요청은 balanceApplied 가 false 라 스스로 되돌린다")
+    void givenStalledBeforeBalance_whenSweep_thenCancelsAndLateWriterCompensates() {
+        // given
+        PointSagaCoordinator coordinator = coordinator(10, Duration.ZERO);
+        List<Long> deltas = new CopyOnWriteArrayList<>();
+        PointSaga saga = coordinator.begin(USER_ID, (userId, delta, knownBalance) -> deltas.add(delta));
+
+        // when
+        coordinator.sweep();
+
+        // then
+        assertThat(saga.state()).isEqualTo(SagaState.CANCELLED);
+        assertThat(coordinator.inFlightCount()).isZero();
+        assertThat(coordinator.balanceApplied(saga, 10_000L)).isFalse();
+        assertThat(coordinator.compensate(saga, -10_000L, new UserPoint(USER_ID, 10_000L, 0))).isTrue();
+        assertThat(deltas).containsExactly(-10_000L);
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("잔액을 바꾼 뒤 이력 단계로 넘어가지 못한 변경은 sweeper 가 바꾼 금액만큼 되돌린다")
+    void givenStalledAfterBalance_whenSweep_thenCompensatesAppliedDelta() {
+        // given
+        PointSagaCoordinator coordinator = coordinator(10, Duration.ZERO);
+        List<Long> deltas = new CopyOnWriteArrayList<>();
+        PointSaga saga = coordinator.begin(USER_ID, (userId, delta, knownBalance) -> deltas.add(delta));
+        coordinator.balanceApplied(saga, 10_000L);
+
+        // when
+        coordinator.sweep();
+
+        // then
+        assertThat(deltas).containsExactly(-10_000L);
+        assertThat(coordinator.startHistory(saga)).isFalse();
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("WAL 에 기록한 변경의 이력 저장이 실패하면 잔액은 두고 이력만 백그라운드에서 다시 쓴다")
+    void givenFailingHistory_whenRetryHistory_thenRewritesUntilSucceeded() throws Exception {
+        // given - 요청 스레드의 시도 뒤 재시도도 한 번 더 실패한다
+        PointSagaCoordinator coordinator = coordinator(10, Duration.ofMinutes(1));
+        AtomicInteger writes = new AtomicInteger();
+
+        // when
+        coordinator.retryHistory(USER_ID, () -> {
+            if (writes.incrementAndGet() <= 1)
+                throw new IllegalStateException("저장소 오류");
+        });
+
+        // then
+        awaitDrained(coordinator);
+        assertThat(writes.get()).isEqualTo(2);
+    }
+
+    private static void awaitDrained(PointSagaCoordinator coordinator) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (coordinator.inFlightCount() > 0 && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertThat(coordinator.inFlightCount()).isZero();
+    }
+
+    private static void awaitState(PointSaga saga, SagaState state) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (saga.state() != state && System.nanoTime() < deadline)
+            Thread.sleep(1);
+        assertThat(saga.state()).isEqualTo(state);
+    }
+}
@@ -0,0 +1,82 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.config.PointAsyncProperties;
+import io.hhplus.tdd.point.exception.PointBulkheadFullException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeoutException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("PointBulkhead - 비동기 처리 한도")
+public class PointBulkheadTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("처리 중 + 대기 중인 작업이 한도에 차면 실행기에 넣지 않고 바로 거절한다")
+    void givenFullBulkhead_whenSubmit_thenRejectsImmediately() throws Exception {
+        // given - 처리 1개, 대기 1개
+        PointBulkhead bulkhead = new PointBulkhead("쓰기", executor,
+                new PointAsyncProperties.Bulkhead(1, 1, Duration.ofSeconds(1)));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> running = bulkhead.submit(() -> await(release, 1));
+        CompletableFuture<Integer> queued = bulkhead.submit(() -> 2);
+
+        // when
+        CompletableFuture<Integer> rejected = bulkhead.submit(() -> 3);
+
+        // then
+        assertThatThrownBy(rejected::get).hasCauseInstanceOf(PointBulkheadFullException.class);
+        assertThat(bulkhead.inFlight()).isEqualTo(2);
+        release.countDown();
+        assertThat(running.get()).isEqualTo(1);
+        assertThat(queued.get()).isEqualTo(2);
+        assertThat(bulkhead.rejectedCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("응답은 timeout 으로 끝나도 작업은 끝까지 실행되고, 끝난 뒤에 자리를 돌려준다")
+    void givenSlowTask_whenTimeout_thenTaskKeepsRunningUntilDone() throws Exception {
+        // given
+        PointBulkhead bulkhead = new PointBulkhead("조회", executor,
+                new PointAsyncProperties.Bulkhead(1, 0, Duration.ofMillis(50)));
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Integer> task = bulkhead.submit(() -> await(release, 1));
+
+        // when
+        CompletableFuture<Integer> response = bulkhead.withTimeout(task);
+
+        // then
+        assertThatThrownBy(response::get)
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(TimeoutException.class);
+        assertThat(bulkhead.inFlight()).isEqualTo(1);
+        release.countDown();
+        assertThat(task.get()).isEqualTo(1);
+        assertThat(bulkhead.submit(() -> 2).get()).isEqualTo(2);
+    }
+
+    private static int await(CountDownLatch latch, int value) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return value;
+    }
+}
@@ -0,0 +1,94 @@
+package io.hhplus.tdd.point.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.InMemoryUserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.config.PointAsyncProperties;
+import io.hhplus.tdd.point.controller.PointController;
+import io.hhplus.tdd.point.exception.InvalidUserIdException;
+import io.hhplus.tdd.point.idempotency.IdempotencyCache;
+import io.hhplus.tdd.point.idempotency.IdempotencyProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("PointAsyncService - 비동기 조회/충전/사용")
+public class PointServiceAsyncTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private InMemoryPointHistoryTable pointHistoryTable;
+    private PointService service;
+    private PointAsyncService asyncService;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryTable = new InMemoryPointHistoryTable();
+        service = PointServiceFixtures.pointService(new InMemoryUserPointTable(), pointHistoryTable);
+        PointAsyncProperties.Bulkhead bulkhead = new PointAsyncProperties.Bulkhead(4, 16, Duration.ofSeconds(5));
+        asyncService = new PointAsyncService(service,
+                new IdempotencyCache(new IdempotencyProperties(100, Duration.ofMinutes(1))),
+                new PointAsyncProperties(bulkhead, bulkhead), executor, executor);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("같은 Idempotency-Key 로 두 번 충전해도 한 번만 충전하고 같은 결과를 반환한다")
+    void givenSameIdempotencyKey_whenChargeAsyncTwice_thenChargesOnce() throws Exception {
+        // when
+        UserPoint first = asyncService.chargeAsync(1L, 10_000L, "charge-1").get();
+        UserPoint retried = asyncService.chargeAsync(1L, 10_000L, "charge-1").get();
+
+        // then
+        assertThat(retried).isEqualTo(first);
+        assertThat(asyncService.getBalanceAsync(1L).get().point()).isEqualTo(10_000L);
+        assertThat(asyncService.getHistoriesAsync(1L).get()).hasSize(1);
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).hasSize(1);
+    }
+
+    @Test
+    @DisplayName("검증에 실패하면 같은 예외로 완료된 future 를 반환한다")
+    void givenInvalidUserId_whenGetBalanceAsync_thenCompletesExceptionally() {
+        assertThatThrownBy(() -> asyncService.getBalanceAsync(0L).get())
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(InvalidUserIdException.class);
+    }
+
+    @Test
+    @DisplayName("이력 조회에 after 와 limit 이 모두 없으면 페이지 크기와 상관없이 전체 이력을 반환한다")
+    void givenNoPagingParameters_whenHistory_thenReturnsAllHistories() throws Exception {
+        // given
+        PointController controller = new PointController(service, asyncService, new ObjectMapper());
+        // 최대 보유 포인트를 넘지 않도록 충전과 사용을 번갈아 150 건을 쌓는다
+        for (int i = 0; i < 75; i++) {
+            service.charge(1L, 10_000L);
+            service.use(1L, 10_000L);
+        }
+
+        // when
+        ResponseEntity<List<PointHistory>> all = controller.history(1L, null, null, null, null, null).get();
+        ResponseEntity<List<PointHistory>> page = controller.history(1L, null, 10, null, null, null).get();
+
+        // then
+        assertThat(all.getBody()).hasSize(150);
+        assertThat(all.getHeaders().containsKey("X-Next-Cursor")).isFalse();
+        assertThat(page.getBody()).hasSize(10);
+        assertThat(page.getHeaders().getFirst("X-Next-Cursor")).isNotNull();
+    }
+}
@@ -0,0 +1,118 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("PointService - 잔액 캐시")
+public class PointServiceBalanceCacheTest {
+
+    @Mock
+    private UserPointTable userPointTable;
+
+    @Mock
+    private PointHistoryTable pointHistoryTable;
+
+    private BalanceCache balanceCache;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        balanceCache = PointServiceFixtures.balanceCache(true);
+        service = PointServiceFixtures.pointService(userPointTable, pointHistoryTable, balanceCache);
+    }
+
+    @Test
+    @DisplayName("같은 유저를 반복 조회하면 테이블은 한 번만 조회한다")
+    void givenCachedUser_whenGetBalanceTwice_thenSelectsOnce() {
+        // given
+        Long userId = 1L;
+        UserPoint point = new UserPoint(userId, 10_000L, System.currentTimeMillis());
+        when(userPointTable.selectById(userId)).thenReturn(point);
+
+        // when
+        service.getBalance(userId);
+        UserPoint cached = service.getBalance(userId);
+
+        // then
+        assertThat(cached).isEqualTo(point);
+        verify(userPointTable, times(1)).selectById(userId);
+        assertThat(balanceCache.stats().hitCount()).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("충전에 성공하면 저장된 잔액으로 캐시를 갱신한다")
+    void givenCharge_whenGetBalance_thenReturnsWrittenThroughBalance() {
+        // given
+        Long userId = 1L;
+        UserPoint updatedPoint = new UserPoint(userId, 10_000L, System.currentTimeMillis());
+        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(userPointTable.insertOrUpdate(userId, 10_000L)).thenReturn(updatedPoint);
+
+        // when
+        service.charge(userId, 10_000L);
+        UserPoint balance = service.getBalance(userId);
+
+        // then
+        assertThat(balance).isEqualTo(updatedPoint);
+        verify(userPointTable, times(1)).selectById(userId);
+    }
+
+    @Test
+    @DisplayName("이력 저장 실패로 롤백하면 캐시도 롤백된 잔액을 가진다")
+    void givenHistoryFailure_whenRollback_thenCacheHoldsRestoredBalance() {
+        // given
+        Long userId = 1L;
+        UserPoint initPoint = new UserPoint(userId, 20_000L, System.currentTimeMillis());
+        UserPoint restoredPoint = new UserPoint(userId, 20_000L, System.currentTimeMillis());
+        when(userPointTable.selectById(userId)).thenReturn(initPoint);
+        when(userPointTable.insertOrUpdate(userId, 30_000L))
+                .thenReturn(new UserPoint(userId, 30_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 20_000L)).thenReturn(restoredPoint);
+        when(pointHistoryTable.insert(eq(userId), anyLong(), eq(TransactionType.CHARGE), anyLong()))
+                .thenThrow(new RuntimeException("이력 저장 실패"));
+
+        // when
+        assertThatThrownBy(() -> service.charge(userId, 10_000L))
+                .isInstanceOf(PointSaveException.class);
+
+        // then
+        assertThat(balanceCache.get(userId)).isEqualTo(restoredPoint);
+    }
+
+    @Test
+    @DisplayName("롤백까지 실패하면 캐시를 비워 다음 조회가 테이블을 읽게 한다")
+    void givenRollbackFailure_whenCharge_thenInvalidatesCache() {
+        // given
+        Long userId = 1L;
+        when(userPointTable.selectById(userId)).thenReturn(new UserPoint(userId, 20_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 30_000L))
+                .thenReturn(new UserPoint(userId, 30_000L, System.currentTimeMillis()));
+        when(userPointTable.insertOrUpdate(userId, 20_000L)).thenThrow(new RuntimeException("롤백 실패"));
+        when(pointHistoryTable.insert(eq(userId), anyLong(), eq(TransactionType.CHARGE), anyLong()))
+                .thenThrow(new RuntimeException("이력 저장 실패"));
+
+        // when
+        assertThatThrownBy(() -> service.charge(userId, 10_000L))
+                .isInstanceOf(PointSaveException.class);
+
+        // then
+        assertThat(balanceCache.get(userId)).isNull();
+    }
+}
@@ -0,0 +1,131 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.InMemoryUserPointTable;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointCommandResult;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.*;
+
+@DisplayName("PointService - 일괄 충전/사용")
+public class PointServiceBatchTest {
+
+    private InMemoryUserPointTable userPointTable;
+    private InMemoryPointHistoryTable pointHistoryTable;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = spy(new InMemoryUserPointTable());
+        pointHistoryTable = new InMemoryPointHistoryTable();
+        service = PointServiceFixtures.pointService(userPointTable, pointHistoryTable);
+    }
+
+    @Test
+    @DisplayName("항목별 결과를 요청 순서대로 반환하고 정책 위반 항목만 실패한다")
+    void givenMixedCommands_whenExecuteAll_thenReturnsResultsInOrder() {
+        // given
+        List<PointCommand> commands = List.of(
+                new PointCommand(1L, 10_000L, TransactionType.CHARGE),
+                new PointCommand(2L, 500L, TransactionType.CHARGE),
+                new PointCommand(1L, 3_000L, TransactionType.USE),
+                new PointCommand(-1L, 10_000L, TransactionType.CHARGE),
+                new PointCommand(2L, 20_000L, TransactionType.CHARGE)
+        );
+
+        // when
+        List<PointCommandResult> results = service.executeAll(commands);
+
+        // then
+        assertThat(results).extracting(PointCommandResult::success)
+                .containsExactly(true, false, true, false, true);
+        assertThat(results.get(0).point().point()).isEqualTo(10_000L);
+        assertThat(results.get(1).errorMessage()).isEqualTo("충전 금액은 1000원 이상이어야 합니다");
+        assertThat(results.get(2).point().point()).isEqualTo(7_000L);
+        assertThat(results.get(3).errorMessage()).contains("userId : -1");
+        assertThat(results.get(4).point().point()).isEqualTo(20_000L);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(7_000L);
+        assertThat(userPointTable.selectById(2L).point()).isEqualTo(20_000L);
+    }
+
+    @Test
+    @DisplayName("한 유저의 여러 항목은 잔액을 한 번만 조회하고 한 번만 저장한다")
+    void givenManyCommandsForSameUser_whenExecuteAll_thenWritesBalanceOnce() {
+        // given
+        Long userId = 1L;
+        List<PointCommand> commands = Collections.nCopies(50,
+                new PointCommand(userId, 10_000L, TransactionType.CHARGE));
+
+        // when
+        List<PointCommandResult> results = service.executeAll(commands);
+
+        // then
+        assertThat(results).allMatch(PointCommandResult::success);
+        assertThat(results.get(49).point().point()).isEqualTo(500_000L);
+        verify(userPointTable, times(1)).selectById(userId);
+        verify(userPointTable, times(1)).insertOrUpdate(anyLong(), anyLong());
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(50);
+    }
+
+    @Test
+    @DisplayName("잔액이 부족한 사용 항목만 실패하고 이후 항목은 계속 반영된다")
+    void givenInsufficientBalance_whenExecuteAll_thenOnlyThatCommandFails() {
+        // given
+        Long userId = 1L;
+        userPointTable.insertOrUpdate(userId, 5_000L);
+        List<PointCommand> commands = List.of(
+                new PointCommand(userId, 10_000L, TransactionType.USE),
+                new PointCommand(userId, 10_000L, TransactionType.CHARGE),
+                new PointCommand(userId, 10_000L, TransactionType.USE)
+        );
+
+        // when
+        List<PointCommandResult> results = service.executeAll(commands);
+
+        // then
+        assertThat(results).extracting(PointCommandResult::success).containsExactly(false, true, true);
+        assertThat(results.get(0).errorMessage()).contains("0보다 작을 수 없습니다");
+        assertThat(userPointTable.selectById(userId).point()).isEqualTo(5_000L);
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(2);
+    }
+
+    @Test
+    @DisplayName("여러 유저에게 같은 금액을 한 번에 충전한다")
+    void givenUserIds_whenChargeAll_thenChargesEveryUser() {
+        // given
+        List<Long> userIds = LongStream.rangeClosed(1, 100).boxed().toList();
+
+        // when
+        List<PointCommandResult> results = service.chargeAll(userIds, 10_000L);
+
+        // then
+        assertThat(results).hasSize(100).allMatch(PointCommandResult::success);
+        assertThat(userPointTable.selectById(100L).point()).isEqualTo(10_000L);
+    }
+
+    @Test
+    @DisplayName("최대 건수를 넘거나 비어 있는 일괄 요청은 거부한다")
+    void givenInvalidBatchSize_whenExecuteAll_thenThrows() {
+        // given
+        List<PointCommand> tooMany = Collections.nCopies(PointServiceFixtures.BATCH_PROPERTIES.maxSize() + 1,
+                new PointCommand(1L, 10_000L, TransactionType.CHARGE));
+
+        // when & then
+        assertThatThrownBy(() -> service.executeAll(tooMany))
+                .isInstanceOf(PointValidationException.class);
+        assertThatThrownBy(() -> service.executeAll(List.of()))
+                .isInstanceOf(PointValidationException.class);
+    }
+}
@@ -0,0 +1,334 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.InMemoryUserPointTable;
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.UserPoint;
+import io.hhplus.tdd.point.exception.NegativePointBalanceException;
+import io.hhplus.tdd.point.exception.PointUpdateConflictException;
+import io.hhplus.tdd.point.lock.ConcurrencyMode;
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointStorageProperties;
+import io.hhplus.tdd.point.repository.ShardedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.ShardedUserPointRepository;
+import io.hhplus.tdd.point.repository.StorageType;
+import io.hhplus.tdd.point.repository.TableUserPointRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.IntConsumer;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService - 동시성")
+public class PointServiceConcurrencyTest {
+
+    private static final int THREAD_COUNT = 64;
+
+    private InMemoryUserPointTable userPointTable;
+    private InMemoryPointHistoryTable pointHistoryTable;
+    private UserLockManager lockManager;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        userPointTable = new InMemoryUserPointTable();
+        pointHistoryTable = new InMemoryPointHistoryTable();
+        lockManager = PointServiceFixtures.lockManager();
+        IndexedPointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(pointHistoryTable, PointServiceFixtures.metrics());
+        service = new PointService(new TableUserPointRepository(userPointTable, PointServiceFixtures.metrics()),
+                pointHistoryRepository, lockManager,
+                PointServiceFixtures.syncHistoryWriter(pointHistoryRepository), PointServiceFixtures.balanceCache(true),
+                PointServiceFixtures.batchExecutor(), PointServiceFixtures.BATCH_PROPERTIES,
+                PointServiceFixtures.metrics(), PointServiceFixtures.disabledWal(), PointServiceFixtures.PESSIMISTIC,
+                PointServiceFixtures.mailboxExecutor(), PointServiceFixtures.sagas(PointServiceFixtures.metrics()));
+    }
+
+    @Test
+    @DisplayName("한 유저에게 1000건의 사용 요청이 동시에 들어와도 갱신 손실 없이 모두 반영된다")
+    void givenConcurrentUsesOnSameUser_whenUse_thenNoLostUpdate() throws Exception {
+        // given
+        long userId = 1L;
+        int requestCount = 1000;
+        userPointTable.insertOrUpdate(userId, 1_000_000L);
+
+        // when
+        runConcurrently(requestCount, i -> service.use(userId, 1000L));
+
+        // then
+        assertThat(service.getBalance(userId).point()).isZero();
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(requestCount);
+        assertThat(lockManager.activeLockCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("여러 유저에게 1000건의 충전 요청이 섞여 들어와도 유저별 잔액이 정확하다")
+    void givenConcurrentChargesOnManyUsers_whenCharge_thenEachBalanceIsExact() throws Exception {
+        // given
+        int userCount = 10;
+        int requestCountPerUser = 100;
+
+        // when
+        runConcurrently(userCount * requestCountPerUser, i -> service.charge((long) (i % userCount) + 1, 10_000L));
+
+        // then
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(service.getBalance(userId).point()).isEqualTo(1_000_000L);
+            assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(requestCountPerUser);
+        }
+        assertThat(lockManager.activeLockCount()).isZero();
+    }
+
+    @Test
+    @DisplayName("제공된 테이블을 그대로 써도 여러 유저의 동시 충전이 모두 반영되고 이력 id 가 겹치지 않는다")
+    void givenProvidedTables_whenChargeConcurrentlyOnManyUsers_thenIdsAreUniqueAndBalancesExact() throws Exception {
+        // given - 스레드 안전하지 않은 실제 테이블. 호출마다 최대 200~300ms 걸리므로 건수는 작게 둔다
+        UserPointTable tableUserPoints = new UserPointTable();
+        PointHistoryTable tableHistories = new PointHistoryTable();
+        IndexedPointHistoryRepository pointHistoryRepository =
+                new IndexedPointHistoryRepository(tableHistories, PointServiceFixtures.metrics());
+        PointService tableService = PointServiceFixtures.pointService(tableUserPoints, pointHistoryRepository,
+                PointServiceFixtures.balanceCache(true));
+        int userCount = 3;
+        int requestCountPerUser = 2;
+
+        // when
+        runConcurrently(userCount * requestCountPerUser, i -> tableService.charge((long) (i % userCount) + 1, 10_000L));
+
+        // then
+        List<Long> ids = LongStream.rangeClosed(1, userCount)
+                .boxed()
+                .flatMap(userId -> tableHistories.selectAllByUserId(userId).stream())
+                .map(PointHistory::id)
+                .toList();
+        assertThat(ids).hasSize(userCount * requestCountPerUser).doesNotHaveDuplicates();
+        for (long userId = 1; userId <= userCount; userId++) {
+            assertThat(tableUserPoints.selectById(userId).point()).isEqualTo(20_000L);
+            assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(requestCountPerUser);
+        }
+    }
+
+    @Test
+    @DisplayName("샤드 저장소에서도 여러 유저의 동시 충전이 모두 반영되고 이력 id 가 겹치지 않는다")
+    void givenShardedStorage_whenChargeConcurrently_thenEachBalanceIsExact() throws Exception {
+        // given
+        PointStorageProperties properties = new PointStorageProperties(StorageType.SHARDED, StorageType.SHARDED, 8, 0);
+        ShardedPointHistoryRepository pointHistoryRepository = new ShardedPointHistoryRepository(properties);
+        PointService shardedService = PointServiceFixtures.pointService(new ShardedUserPointRepository(properties),
+                pointHistoryRepository, PointServiceFixtures.balanceCache(false));
+        int userCount = 100;
+        int requestCountPerUser = 20;
+
+        // when
+        runConcurrently(userCount * requestCountPerUser, i -> shardedService.charge((long) (i % userCount) + 1, 10_000L));
+
+        // then
+        long distinctIds = LongStream.rangeClosed(1, userCount)
+                .boxed()
+                .flatMap(userId -> pointHistoryRepository.findAllByUserId(userId).stream())
+                .mapToLong(PointHistory::id)
+                .distinct()
+                .count();
+        assertThat(distinctIds).isEqualTo((long) userCount * requestCountPerUser);
+        for (long userId = 1; userId <= userCount; userId++)
+            assertThat(shardedService.getBalance(userId).point()).isEqualTo(200_000L);
+    }
+
+    @Test
+    @DisplayName("같은 유저의 잔액 조회가 동시에 몰리면 진행 중인 테이블 조회 결과를 나눠 받는다")
+    void givenConcurrentReadsOnFewUsers_whenGetBalance_thenCoalescesTableReads() throws Exception {
+        // given - 캐시를 끄고 조회마다 50ms 걸리는 테이블
+        AtomicInteger selects = new AtomicInteger();
+        InMemoryUserPointTable slowTable = new InMemoryUserPointTable() {
+            @Override
+            public UserPoint selectById(Long id) {
+                selects.incrementAndGet();
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.selectById(id);
+            }
+        };
+        int userCount = 4;
+        int requestCount = THREAD_COUNT * 10;
+        for (long userId = 1; userId <= userCount; userId++)
+            slowTable.insertOrUpdate(userId, userId * 1_000L);
+        PointService coalescingService = PointServiceFixtures.pointService(slowTable, pointHistoryTable,
+                PointServiceFixtures.balanceCache(false));
+
+        // when
+        runConcurrently(requestCount, i -> {
+            long userId = i % userCount + 1;
+            assertThat(coalescingService.getBalance(userId).point()).isEqualTo(userId * 1_000L);
+        });
+
+        // then
+        assertThat(selects.get() + coalescingService.coalescedBalanceReads()).isEqualTo((long) requestCount);
+        assertThat(selects.get()).isLessThan(requestCount / 4);
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC 모드에서 한 유저에게 충전이 동시에 몰려도 충돌한 요청을 다시 시도해 모두 반영한다")
+    void givenOptimisticMode_whenChargeConcurrently_thenRetriesConflictsWithoutLostUpdate() throws Exception {
+        // given - 충돌이 잦아도 포기하지 않도록 재시도 횟수를 넉넉히 준다
+        PointStorageProperties properties = new PointStorageProperties(StorageType.SHARDED, StorageType.SHARDED, 8, 0);
+        ShardedPointHistoryRepository pointHistoryRepository = new ShardedPointHistoryRepository(properties);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PointService optimisticService = PointServiceFixtures.pointService(new ShardedUserPointRepository(properties),
+                pointHistoryRepository, PointServiceFixtures.balanceCache(true), PointServiceFixtures.disabledWal(),
+                new PointMetrics(registry),
+                new PointConcurrencyProperties(ConcurrencyMode.OPTIMISTIC, 1_000, Duration.ofNanos(1_000), Duration.ofMillis(1),
+                        PointServiceFixtures.PESSIMISTIC.mailbox()));
+        long userId = 1L;
+        int requestCount = 1000;
+
+        // when
+        runConcurrently(requestCount, i -> optimisticService.charge(userId, 1_000L));
+
+        // then
+        assertThat(optimisticService.concurrencyMode()).isEqualTo(ConcurrencyMode.OPTIMISTIC);
+        assertThat(optimisticService.getBalance(userId).point()).isEqualTo(1_000_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(userId)).hasSize(requestCount);
+        assertThat(registry.get("point.optimistic.attempts").tag("result", "applied").counter().count())
+                .isEqualTo(requestCount);
+        assertThat(registry.get("point.optimistic.exhausted").counter().count()).isZero();
+    }
+
+    @Test
+    @DisplayName("OPTIMISTIC 모드에서 재시도 횟수를 다 쓰도록 충돌하면 잔액을 바꾸지 않고 충돌 예외를 던진다")
+    void givenAlwaysConflictingStore_whenCharge_thenThrowsConflictAfterMaxAttempts() {
+        // given - compare-and-set 이 항상 실패하는 저장소
+        PointStorageProperties properties = new PointStorageProperties(StorageType.SHARDED, StorageType.SHARDED, 8, 0);
+        ShardedUserPointRepository conflictingRepository = new ShardedUserPointRepository(properties) {
+            @Override
+            public UserPoint compareAndSet(long userId, UserPoint expected, long point) {
+                return null;
+            }
+        };
+        conflictingRepository.save(1L, 10_000L);
+        MeterRegistry registry = new SimpleMeterRegistry();
+        PointService optimisticService = PointServiceFixtures.pointService(conflictingRepository,
+                new ShardedPointHistoryRepository(properties), PointServiceFixtures.balanceCache(false),
+                PointServiceFixtures.disabledWal(), new PointMetrics(registry),
+                new PointConcurrencyProperties(ConcurrencyMode.OPTIMISTIC, 3, Duration.ZERO, Duration.ZERO,
+                        PointServiceFixtures.PESSIMISTIC.mailbox()));
+
+        // when & then
+        assertThatThrownBy(() -> optimisticService.charge(1L, 1_000L))
+                .isInstanceOf(PointUpdateConflictException.class);
+        assertThat(conflictingRepository.findById(1L).point()).isEqualTo(10_000L);
+        assertThat(registry.get("point.optimistic.attempts").tag("result", "conflict").counter().count()).isEqualTo(3);
+        assertThat(registry.get("point.optimistic.exhausted").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("compare-and-set 을 지원하지 않는 테이블 저장소에서는 OPTIMISTIC 설정이어도 유저 락으로 동작한다")
+    void givenTableStore_whenOptimisticConfigured_thenFallsBackToPessimistic() {
+        // given & when
+        PointService fallbackService = PointServiceFixtures.pointService(
+                new TableUserPointRepository(userPointTable, PointServiceFixtures.metrics()),
+                new IndexedPointHistoryRepository(pointHistoryTable, PointServiceFixtures.metrics()),
+                PointServiceFixtures.balanceCache(false), PointServiceFixtures.disabledWal(), PointServiceFixtures.metrics(),
+                PointServiceFixtures.concurrency(ConcurrencyMode.OPTIMISTIC));
+
+        // then
+        assertThat(fallbackService.concurrencyMode()).isEqualTo(ConcurrencyMode.PESSIMISTIC);
+        assertThat(fallbackService.charge(1L, 1_000L).point()).isEqualTo(1_000L);
+    }
+
+    @Test
+    @DisplayName("ACTOR 모드에서 한 유저에게 요청이 몰리면 쌓인 요청을 잔액 저장 한 번으로 묶고 이력은 요청마다 남긴다")
+    void givenActorMode_whenChargeConcurrently_thenFoldsBalanceWritesAndKeepsEveryHistory() throws Exception {
+        // given - 저장마다 1ms 걸려 작업자가 저장하는 동안 요청이 쌓이는 테이블
+        AtomicInteger writes = new AtomicInteger();
+        InMemoryUserPointTable slowTable = new InMemoryUserPointTable() {
+            @Override
+            public UserPoint insertOrUpdate(long id, long amount) {
+                writes.incrementAndGet();
+                try {
+                    Thread.sleep(1);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.insertOrUpdate(id, amount);
+            }
+        };
+        IndexedPointHistoryRepository pointHistoryRepository = new IndexedPointHistoryRepository(pointHistoryTable, PointServiceFixtures.metrics());
+        PointService actorService = PointServiceFixtures.pointService(
+                new TableUserPointRepository(slowTable, PointServiceFixtures.metrics()), pointHistoryRepository,
+                PointServiceFixtures.balanceCache(true), PointServiceFixtures.disabledWal(), PointServiceFixtures.metrics(),
+                PointServiceFixtures.concurrency(ConcurrencyMode.ACTOR));
+        long userId = 1L;
+        int requestCount = 1000;
+
+        // when
+        runConcurrently(requestCount, i -> actorService.charge(userId, 1_000L));
+
+        // then
+        assertThat(actorService.concurrencyMode()).isEqualTo(ConcurrencyMode.ACTOR);
+        assertThat(actorService.getBalance(userId).point()).isEqualTo(1_000_000L);
+        assertThat(pointHistoryTable.selectAllByUserId(userId)).hasSize(requestCount);
+        assertThat(writes.get()).isLessThan(requestCount);
+    }
+
+    @Test
+    @DisplayName("ACTOR 모드에서도 잔액 정책 위반은 PESSIMISTIC 모드와 같은 예외로 돌려주고 잔액을 바꾸지 않는다")
+    void givenActorMode_whenUseMoreThanBalance_thenThrowsSameValidationException() {
+        // given
+        PointService actorService = PointServiceFixtures.pointService(
+                new TableUserPointRepository(userPointTable, PointServiceFixtures.metrics()),
+                new IndexedPointHistoryRepository(pointHistoryTable, PointServiceFixtures.metrics()),
+                PointServiceFixtures.balanceCache(false), PointServiceFixtures.disabledWal(), PointServiceFixtures.metrics(),
+                PointServiceFixtures.concurrency(ConcurrencyMode.ACTOR));
+        userPointTable.insertOrUpdate(1L, 1_000L);
+
+        // when & then
+        assertThatThrownBy(() -> actorService.use(1L, 2_000L)).isInstanceOf(NegativePointBalanceException.class);
+        assertThat(userPointTable.selectById(1L).point()).isEqualTo(1_000L);
+        assertThat(pointHistoryTable.selectAllByUserId(1L)).isEmpty();
+    }
+
+    private static void runConcurrently(int requestCount, IntConsumer request) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(THREAD_COUNT);
+        CountDownLatch startGate = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(requestCount);
+        try {
+            for (int i = 0; i < requestCount; i++) {
+                int index = i;
+                futures.add(executor.submit(() -> {
+                    startGate.await();
+                    request.accept(index);
+                    return null;
+                }));
+            }
+            startGate.countDown();
+
+            // 실패한 요청이 있으면 get() 에서 예외가 전파된다
+            for (Future<?> future : futures)
+                future.get(30, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.PointHistoryTable;
+import io.hhplus.tdd.database.UserPointTable;
+import io.hhplus.tdd.point.cache.BalanceCache;
+import io.hhplus.tdd.point.cache.BalanceCacheProperties;
+import io.hhplus.tdd.point.config.PointBatchProperties;
+import io.hhplus.tdd.point.config.PointExecutorConfig;
+import io.hhplus.tdd.point.history.HistoryAck;
+import io.hhplus.tdd.point.history.HistoryWriteMode;
+import io.hhplus.tdd.point.history.PointHistoryProperties;
+import io.hhplus.tdd.point.history.PointHistoryWriter;
+import io.hhplus.tdd.point.lock.ConcurrencyMode;
+import io.hhplus.tdd.point.lock.PointConcurrencyProperties;
+import io.hhplus.tdd.point.lock.UserLockManager;
+import io.hhplus.tdd.point.lock.UserLockProperties;
+import io.hhplus.tdd.point.metrics.PointMetrics;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import io.hhplus.tdd.point.repository.TableUserPointRepository;
+import io.hhplus.tdd.point.repository.UserPointRepository;
+import io.hhplus.tdd.point.saga.PointSagaCoordinator;
+import io.hhplus.tdd.point.saga.PointSagaProperties;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * 테스트에서 사용할 PointService 를 조립한다.
+ */
+final class PointServiceFixtures {
+
+    static final PointBatchProperties BATCH_PROPERTIES = new PointBatchProperties(10_000, 8);
+    static final PointConcurrencyProperties PESSIMISTIC = concurrency(ConcurrencyMode.PESSIMISTIC);
+
+    // 데몬 스레드로 만들어지므로 테스트 간에 공유하고 따로 종료하지 않는다
+    private static final ExecutorService BATCH_EXECUTOR = new PointExecutorConfig().pointBatchExecutor(BATCH_PROPERTIES, false);
+    private static final ExecutorService MAILBOX_EXECUTOR = new PointExecutorConfig().pointMailboxExecutor(PESSIMISTIC, false);
+
+    private PointServiceFixtures() {
+    }
+
+    static UserLockManager lockManager() {
+        return new UserLockManager(new UserLockProperties(false, Duration.ofSeconds(5)));
+    }
+
+    static PointConcurrencyProperties concurrency(ConcurrencyMode mode) {
+        return new PointConcurrencyProperties(mode, 10, Duration.ofMillis(1), Duration.ofMillis(50),
+                new PointConcurrencyProperties.Mailbox(256, 8));
+    }
+
+    static PointHistoryProperties historyProperties(HistoryWriteMode mode, HistoryAck ack) {
+        return new PointHistoryProperties(mode, ack, 10_000, Duration.ofMillis(100), Duration.ofSeconds(10),
+                64, Duration.ofMillis(1));
+    }
+
+    static PointHistoryWriter syncHistoryWriter(PointHistoryRepository pointHistoryRepository) {
+        PointMetrics metrics = metrics();
+        return syncHistoryWriter(pointHistoryRepository, metrics, sagas(metrics));
+    }
+
+    static PointHistoryWriter syncHistoryWriter(PointHistoryRepository pointHistoryRepository, PointMetrics metrics,
+                                                PointSagaCoordinator sagas) {
+        return new PointHistoryWriter(pointHistoryRepository, historyProperties(HistoryWriteMode.SYNC, HistoryAck.QUEUED),
+                metrics, sagas);
+    }
+
+    static PointMetrics metrics() {
+        return new PointMetrics(new SimpleMeterRegistry());
+    }
+
+    // 백그라운드 보상 재시도가 검증 도중 끼어들지 않도록 재시도 간격을 길게 두고 sweeper 는 끈다
+    static PointSagaCoordinator sagas(PointMetrics metrics) {
+        return new PointSagaCoordinator(new PointSagaProperties(Duration.ofMinutes(1), Duration.ofMinutes(1), 10,
+                Duration.ZERO, Duration.ofMinutes(1)), metrics);
+    }
+
+    // 파일을 만들지 않도록 꺼 둔 WAL
+    static PointWal disabledWal() {
+        return new PointWal(new PointWalProperties(false, "build/wal", DataSize.ofMegabytes(64), true, Duration.ZERO));
+    }
+
+    static ExecutorService batchExecutor() {
+        return BATCH_EXECUTOR;
+    }
+
+    static ExecutorService mailboxExecutor() {
+        return MAILBOX_EXECUTOR;
+    }
+
+    static BalanceCache balanceCache(boolean enabled) {
+        return new BalanceCache(new BalanceCacheProperties(enabled, 10_000, Duration.ofSeconds(30)));
+    }
+
+    // 테이블 호출 여부를 검증하는 테스트가 많으므로 기본으로는 캐시를 끈다
+    static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable) {
+        return pointService(userPointTable, pointHistoryTable, balanceCache(false));
+    }
+
+    static PointService pointService(UserPointTable userPointTable, PointHistoryTable pointHistoryTable,
+                                     BalanceCache balanceCache) {
+        return pointService(userPointTable, new IndexedPointHistoryRepository(pointHistoryTable, metrics()), balanceCache);
+    }
+
+    static PointService pointService(UserPointTable userPointTable, PointHistoryRepository pointHistoryRepository,
+                                     BalanceCache balanceCache) {
+        return pointService(new TableUserPointRepository(userPointTable, metrics()), pointHistoryRepository, balanceCache);
+    }
+
+    static PointService pointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                                     BalanceCache balanceCache) {
+        return pointService(userPointRepository, pointHistoryRepository, balanceCache, disabledWal());
+    }
+
+    static PointService pointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                                     BalanceCache balanceCache, PointWal wal) {
+        return pointService(userPointRepository, pointHistoryRepository, balanceCache, wal, metrics(), PESSIMISTIC);
+    }
+
+    static PointService pointService(UserPointRepository userPointRepository, PointHistoryRepository pointHistoryRepository,
+                                     BalanceCache balanceCache, PointWal wal, PointMetrics metrics,
+                                     PointConcurrencyProperties concurrency) {
+        PointSagaCoordinator sagas = sagas(metrics);
+        return new PointService(userPointRepository, pointHistoryRepository, lockManager(),
+                syncHistoryWriter(pointHistoryRepository, metrics, sagas), balanceCache, BATCH_EXECUTOR, BATCH_PROPERTIES,
+                metrics, wal, concurrency, MAILBOX_EXECUTOR, sagas);
+    }
+}
@@ -0,0 +1,98 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.database.InMemoryPointHistoryTable;
+import io.hhplus.tdd.database.InMemoryUserPointTable;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import io.hhplus.tdd.point.repository.IndexedPointHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("PointService - 포인트 내역 내보내기")
+public class PointServiceHistoryExportTest {
+
+    private IndexedPointHistoryRepository pointHistoryRepository;
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        pointHistoryRepository = new IndexedPointHistoryRepository(new InMemoryPointHistoryTable(), PointServiceFixtures.metrics());
+        service = PointServiceFixtures.pointService(new InMemoryUserPointTable(), pointHistoryRepository,
+                PointServiceFixtures.balanceCache(false));
+    }
+
+    @Test
+    @DisplayName("청크 크기보다 많은 이력도 빠짐없이 id 순서대로 내보낸다")
+    void givenManyHistories_whenExport_thenStreamsAllInIdOrder() {
+        // given
+        for (int i = 0; i < 1_234; i++)
+            pointHistoryRepository.save(1L, 1_000L, TransactionType.CHARGE, i);
+
+        // when
+        List<PointHistory> exported;
+        try (Stream<PointHistory> histories = service.exportHistories(List.of(1L), null, null)) {
+            exported = histories.toList();
+        }
+
+        // then
+        assertThat(exported).hasSize(1_234);
+        assertThat(exported).isSortedAccordingTo((a, b) -> Long.compare(a.id(), b.id()));
+    }
+
+    @Test
+    @DisplayName("유저 목록과 시간 범위 조건에 맞는 이력만 내보낸다")
+    void givenUserSetAndTimeRange_whenExport_thenFiltersHistories() {
+        // given
+        for (long millis = 0; millis < 10; millis++) {
+            pointHistoryRepository.save(1L, 1_000L, TransactionType.CHARGE, millis);
+            pointHistoryRepository.save(2L, 1_000L, TransactionType.USE, millis);
+            pointHistoryRepository.save(3L, 1_000L, TransactionType.USE, millis);
+        }
+
+        // when
+        List<PointHistory> exported;
+        try (Stream<PointHistory> histories = service.exportHistories(List.of(1L, 2L), 5L, 8L)) {
+            exported = histories.toList();
+        }
+
+        // then
+        assertThat(exported).hasSize(6);
+        assertThat(exported).allSatisfy(history -> {
+            assertThat(history.userId()).isLessThanOrEqualTo(2L);
+            assertThat(history.updateMillis()).isBetween(5L, 7L);
+        });
+    }
+
+    @Test
+    @DisplayName("유저를 지정하지 않으면 이력이 있는 모든 유저를 내보낸다")
+    void givenNoUserIds_whenExport_thenStreamsEveryUser() {
+        // given
+        pointHistoryRepository.save(1L, 1_000L, TransactionType.CHARGE, 0L);
+        pointHistoryRepository.save(2L, 1_000L, TransactionType.CHARGE, 0L);
+
+        // when
+        List<PointHistory> exported;
+        try (Stream<PointHistory> histories = service.exportHistories(null, null, null)) {
+            exported = histories.toList();
+        }
+
+        // then
+        assertThat(exported).extracting(PointHistory::userId).containsOnly(1L, 2L);
+    }
+
+    @Test
+    @DisplayName("시간 범위가 뒤집혀 있으면 스트림을 만들기 전에 예외를 발생한다")
+    void givenInvalidRange_whenExport_thenThrowsImmediately() {
+        // when&then
+        assertThatThrownBy(() -> service.exportHistories(List.of(1L), 10L, 5L))
+                .isInstanceOf(PointValidationException.class);
+    }
+}
@@ -1,19 +1,21 @@
 package io.hhplus.tdd.point.service;
 
-import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.PointHistoryPage;
+import io.hhplus.tdd.point.PointHistoryQuery;
 import io.hhplus.tdd.point.TransactionType;
-import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.exception.PointHistoryRetrieveException;
 import io.hhplus.tdd.point.exception.PointRetrieveException;
+import io.hhplus.tdd.point.exception.PointValidationException;
+import io.hhplus.tdd.point.repository.PointHistoryRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -32,22 +34,25 @@ public class PointServiceHistoryRetrieveTest {
     private UserPointTable userPointTable;  // Mock 객체 생성
 
     @Mock
-    private PointHistoryTable pointHistoryTable;  // Mock 객체 생성
+    private PointHistoryRepository pointHistoryRepository;  // Mock 객체 생성
 
-    @InjectMocks
-    private PointService service;  // Mock으로 실제 객체 주입
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        service = PointServiceFixtures.pointService(userPointTable, pointHistoryRepository,
+                PointServiceFixtures.balanceCache(false));  // Mock으로 실제 객체 주입
+    }
 
     @Test
     @DisplayName("사용자의 포인트 내역을 조회한다(레코드 존재)")
     void givenPointHistories_whenRetrievePointHistories_thenReturnsCurrentPointHistory() {
         // given
         Long userId = 1L;
-        UserPoint point = new UserPoint(userId, 9000L, System.currentTimeMillis());
         PointHistory chargeHistory = new PointHistory(1, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis());
         PointHistory useHistory = new PointHistory(2, userId, 1000L, TransactionType.USE, System.currentTimeMillis());
         List<PointHistory> list = List.of(chargeHistory, useHistory);
-        when(userPointTable.selectById(userId)).thenReturn(point);
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(list);
+        when(pointHistoryRepository.findAllByUserId(userId)).thenReturn(list);
 
         // when
         List<PointHistory> pointHistories = service.getHistories(userId);
@@ -59,34 +64,8 @@ public class PointServiceHistoryRetrieveTest {
                                 tuple(1L, userId, 10000L, TransactionType.CHARGE),
                                 tuple(2L, userId, 1000L, TransactionType.USE)
                         );
-        verify(userPointTable).selectById(userId);
-        verify(pointHistoryTable).selectAllByUserId(userId);
-    }
-
-    @Test
-    @DisplayName("사용자의 포인트 내역을 조회할 때 정렬이 된 리스트를 리턴한다(레코드 존재)")
-    void givenPointHistories_whenRetrievePointHistories_thenReturnSortedByIdAsc() {
-        // given
-        Long userId = 1L;
-        UserPoint point = new UserPoint(userId, 9000L, System.currentTimeMillis());
-        PointHistory chargeHistory = new PointHistory(1, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis());
-        PointHistory useHistory = new PointHistory(2, userId, 1000L, TransactionType.USE, System.currentTimeMillis());
-        List<PointHistory> list = List.of(useHistory, chargeHistory);
-        when(userPointTable.selectById(userId)).thenReturn(point);
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(list);
-
-        // when
-        List<PointHistory> pointHistories = service.getHistories(userId);
-
-        // then
-        assertThat(pointHistories)
-                .extracting(PointHistory::id, PointHistory::userId, PointHistory::amount, PointHistory::type)
-                .containsExactly(
-                        tuple(1L, userId, 10000L, TransactionType.CHARGE),
-                        tuple(2L, userId, 1000L, TransactionType.USE)
-                );
-        verify(userPointTable).selectById(userId);
-        verify(pointHistoryTable).selectAllByUserId(userId);
+        verifyNoInteractions(userPointTable);
+        verify(pointHistoryRepository).findAllByUserId(userId);
     }
 
     @Test
@@ -94,16 +73,15 @@ public class PointServiceHistoryRetrieveTest {
     void givenNoRecord_whenRetrievePointHistories_thenReturnsEmptyList() {
         // given
         Long userId = 99999L;
-        // 현재 selectById는 null을 반환하지 않으므로, mock도 empty를 반환하도록 설정
-        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
+        when(pointHistoryRepository.findAllByUserId(userId)).thenReturn(List.of());
 
         // when
         List<PointHistory> histories = service.getHistories(userId);
 
         // then
         assertThat(histories).isEmpty();
-        verify(userPointTable).selectById(userId);
-        verify(pointHistoryTable).selectAllByUserId(userId);
+        verifyNoInteractions(userPointTable);
+        verify(pointHistoryRepository).findAllByUserId(userId);
     }
 
     @ParameterizedTest
@@ -115,7 +93,7 @@ public class PointServiceHistoryRetrieveTest {
         assertThatThrownBy(() -> service.getHistories(userId))
                 .isInstanceOf(IllegalArgumentException.class);
 
-        verifyNoInteractions(userPointTable, pointHistoryTable);
+        verifyNoInteractions(userPointTable, pointHistoryRepository);
     }
 
     @ParameterizedTest
@@ -123,13 +101,10 @@ public class PointServiceHistoryRetrieveTest {
     @ValueSource(longs = {1L, Long.MAX_VALUE})
     void givenBoundaryUserId_whenRetrievePointHistories_thenReturnPoint(Long userId) {
         // Given
-        long expectedPoint = userId == 1L ? 1000L : 2000L; // 테스트용 포인트 값
-        UserPoint mockPoint = new UserPoint(userId, expectedPoint, System.currentTimeMillis());
         PointHistory chargeHistory = new PointHistory(1, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis());
         PointHistory useHistory = new PointHistory(2, userId, 1000L, TransactionType.USE, System.currentTimeMillis());
         List<PointHistory> list = List.of(chargeHistory, useHistory);
-        when(userPointTable.selectById(userId)).thenReturn(mockPoint);
-        when(pointHistoryTable.selectAllByUserId(userId)).thenReturn(list);
+        when(pointHistoryRepository.findAllByUserId(userId)).thenReturn(list);
 
         // When
         List<PointHistory> pointHistories = service.getHistories(userId);
@@ -141,8 +116,8 @@ public class PointServiceHistoryRetrieveTest {
                         tuple(1L, userId, 10000L, TransactionType.CHARGE),
                         tuple(2L, userId, 1000L, TransactionType.USE)
                 );
-        verify(userPointTable).selectById(userId);
-        verify(pointHistoryTable).selectAllByUserId(userId);
+        verifyNoInteractions(userPointTable);
+        verify(pointHistoryRepository).findAllByUserId(userId);
     }
 
     @Test
@@ -150,11 +125,83 @@ public class PointServiceHistoryRetrieveTest {
     void givenDatabaseError_whenRetrievePointHistories_thenThrowsServiceException() {
         // Given
         Long userId = 1L;
-        when(userPointTable.selectById(userId)).thenReturn(UserPoint.empty(userId));
-        when(pointHistoryTable.selectAllByUserId(userId)).thenThrow(new RuntimeException("이력 조회 실패"));
+        when(pointHistoryRepository.findAllByUserId(userId)).thenThrow(new RuntimeException("이력 조회 실패"));
 
         // When & Then
         assertThatThrownBy(() -> service.getHistories(userId))
                 .isInstanceOf(PointHistoryRetrieveException.class);
     }
+
+    @Test
+    @DisplayName("커서 조회 시 limit 보다 많이 남아 있으면 다음 커서를 함께 반환한다")
+    void givenMoreHistories_whenRetrievePage_thenReturnsNextCursor() {
+        // given
+        Long userId = 1L;
+        PointHistory first = new PointHistory(1, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis());
+        PointHistory second = new PointHistory(2, userId, 1000L, TransactionType.USE, System.currentTimeMillis());
+        PointHistory third = new PointHistory(3, userId, 1000L, TransactionType.USE, System.currentTimeMillis());
+        when(pointHistoryRepository.findPage(userId, PointHistoryQuery.first(3))).thenReturn(List.of(first, second, third));
+
+        // when
+        PointHistoryPage page = service.getHistories(userId, PointHistoryQuery.first(2));
+
+        // then
+        assertThat(page.histories()).extracting(PointHistory::id).containsExactly(1L, 2L);
+        assertThat(page.nextCursor()).isEqualTo(2L);
+        verifyNoInteractions(userPointTable);
+    }
+
+    @Test
+    @DisplayName("마지막 페이지면 다음 커서가 없다")
+    void givenLastPage_whenRetrievePage_thenNextCursorIsNull() {
+        // given
+        Long userId = 1L;
+        PointHistory only = new PointHistory(1, userId, 10000L, TransactionType.CHARGE, System.currentTimeMillis());
+        when(pointHistoryRepository.findPage(userId, PointHistoryQuery.first(3))).thenReturn(List.of(only));
+
+        // when
+        PointHistoryPage page = service.getHistories(userId, PointHistoryQuery.first(2));
+
+        // then
+        assertThat(page.histories()).hasSize(1);
+        assertThat(page.nextCursor()).isNull();
+    }
+
+    @ParameterizedTest
+    @DisplayName("조회 개수가 허용 범위를 벗어나면 예외를 발생한다")
+    @ValueSource(ints = {-1, 0, 1001})
+    void givenInvalidLimit_whenRetrievePage_thenThrowsException(int limit) {
+        // when&then
+        assertThatThrownBy(() -> service.getHistories(1L, PointHistoryQuery.first(limit)))
+                .isInstanceOf(PointValidationException.class);
+
+        verifyNoInteractions(userPointTable, pointHistoryRepository);
+    }
+
+    @Test
+    @DisplayName("커서 없이 조건으로 조회하면 개수 제한 없이 저장소에서 조건에 맞는 이력을 거른다")
+    void givenCondition_whenRetrieveAll_thenFiltersAtRepository() {
+        // given
+        Long userId = 1L;
+        PointHistory use = new PointHistory(2, userId, 1000L, TransactionType.USE, 20L);
+        when(pointHistoryRepository.findPage(userId, PointHistoryQuery.all(TransactionType.USE, 10L, 30L)))
+                .thenReturn(List.of(use));
+
+        // when
+        List<PointHistory> histories = service.getHistories(userId, TransactionType.USE, 10L, 30L);
+
+        // then
+        assertThat(histories).containsExactly(use);
+        verifyNoInteractions(userPointTable);
+    }
+
+    @Test
+    @DisplayName("커서 없이 조회해도 시작 시각이 종료 시각보다 늦으면 예외를 발생한다")
+    void givenFromAfterTo_whenRetrieveAll_thenThrowsException() {
+        // when&then
+        assertThatThrownBy(() -> service.getHistories(1L, null, 30L, 10L))
+                .isInstanceOf(PointValidationException.class);
+
+        verifyNoInteractions(userPointTable, pointHistoryRepository);
+    }
 }
@@ -0,0 +1,166 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.BalanceCheck;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.reconcile.PointReconcileProperties;
+import io.hhplus.tdd.point.reconcile.PointReconciler;
+import io.hhplus.tdd.point.reconcile.ReconcileReport;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointStorageProperties;
+import io.hhplus.tdd.point.repository.ShardedUserPointRepository;
+import io.hhplus.tdd.point.repository.StorageType;
+import io.hhplus.tdd.point.wal.BalanceSnapshotStore;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.hhplus.tdd.point.wal.PointWalRecovery;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PointReconciler - 잔액/이력 대조")
+public class PointServiceReconcileTest {
+
+    private static final PointStorageProperties STORAGE =
+            new PointStorageProperties(StorageType.SHARDED, StorageType.COLUMNAR, 4, 1_000);
+
+    private ShardedUserPointRepository userPointRepository;
+    private ColumnarPointHistoryRepository pointHistoryRepository;
+    private PointService service;
+    private PointWalRecovery recovery;
+    private final List<PointReconciler> reconcilers = new ArrayList<>();
+
+    @TempDir
+    Path directory;
+
+    @BeforeEach
+    void setUp() {
+        userPointRepository = new ShardedUserPointRepository(STORAGE);
+        pointHistoryRepository = new ColumnarPointHistoryRepository();
+        service = PointServiceFixtures.pointService(userPointRepository, pointHistoryRepository,
+                PointServiceFixtures.balanceCache(true));
+        recovery = new PointWalRecovery(userPointRepository, pointHistoryRepository,
+                new BalanceSnapshotStore(directory.resolve("snapshot"), 2));
+    }
+
+    @AfterEach
+    void tearDown() {
+        reconcilers.forEach(PointReconciler::close);
+    }
+
+    // 구간 크기를 1 로 두어 유저마다 작업을 나눈다
+    private PointReconciler reconciler(boolean repair) {
+        PointReconciler reconciler = new PointReconciler(service, pointHistoryRepository,
+                new PointReconcileProperties(false, Duration.ofMinutes(5), repair, 2, 1, 10),
+                PointServiceFixtures.metrics(), recovery);
+        reconcilers.add(reconciler);
+        return reconciler;
+    }
+
+    @Test
+    @DisplayName("이력 합계와 다른 잔액을 보고하고, repair 이면 이력 합계로 맞춰 캐시에도 반영한다")
+    void givenDriftedBalance_whenReconcile_thenReportsAndRepairs() {
+        // given - 이력 없이 잔액만 바뀐 상태를 만든다
+        service.charge(1L, 10_000L);
+        service.charge(1L, 10_000L);
+        service.charge(2L, 10_000L);
+        userPointRepository.save(1L, 99_000L);
+
+        // when
+        ReconcileReport reported = reconciler(false).reconcileChanged();
+        ReconcileReport repaired = reconciler(true).reconcileChanged();
+
+        // then
+        assertThat(reported.checked()).isEqualTo(2L);
+        assertThat(reported.matched()).isEqualTo(1L);
+        assertThat(reported.mismatched()).isEqualTo(1L);
+        assertThat(reported.discrepancies()).containsExactly(
+                new BalanceCheck(1L, 99_000L, 20_000L, BalanceCheck.Status.MISMATCHED));
+        // 불일치가 남은 유저만 다음 대조에서 다시 확인한다
+        assertThat(repaired.checked()).isEqualTo(1L);
+        assertThat(repaired.repaired()).isEqualTo(1L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(20_000L);
+        assertThat(service.getBalance(1L).point()).isEqualTo(20_000L);
+    }
+
+    @Test
+    @DisplayName("마지막 대조 이후 잔액이 바뀐 유저만 대조하고, 전체 대조는 이력이 있는 모든 유저를 확인한다")
+    void givenReconciledUsers_whenReconcileChanged_thenChecksOnlyChangedSinceWatermark() {
+        // given
+        PointReconciler reconciler = reconciler(false);
+        for (long userId = 1; userId <= 20; userId++)
+            service.charge(userId, 10_000L);
+        assertThat(reconciler.reconcileChanged().checked()).isEqualTo(20L);
+
+        // when
+        ReconcileReport idle = reconciler.reconcileChanged();
+        service.use(7L, 1_000L);
+        service.charge(9L, 10_000L);
+        ReconcileReport incremental = reconciler.reconcileChanged();
+        ReconcileReport full = reconciler.reconcileAll();
+
+        // then
+        assertThat(idle.checked()).isZero();
+        assertThat(incremental.checked()).isEqualTo(2L);
+        assertThat(incremental.matched()).isEqualTo(2L);
+        assertThat(incremental.watermark()).isGreaterThan(idle.watermark());
+        assertThat(full.checked()).isEqualTo(20L);
+        assertThat(full.matched()).isEqualTo(20L);
+        assertThat(service.changedUsers().size()).isZero();
+    }
+
+    @Test
+    @DisplayName("WAL 로 이력을 복구하는 동안에는 잔액이 달라도 맞추지 않고 판단을 미룬다")
+    void givenHistoryRestoreInProgress_whenReconcile_thenDefersUntilRestored() {
+        // given - 복구할 이력 저장이 끝나지 않게 붙잡아 둔다
+        CountDownLatch released = new CountDownLatch(1);
+        ColumnarPointHistoryRepository restoringRepository = new ColumnarPointHistoryRepository() {
+            @Override
+            public PointHistory save(long userId, long amount, TransactionType type, long updateMillis) {
+                try {
+                    released.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return super.save(userId, amount, type, updateMillis);
+            }
+        };
+        recovery = new PointWalRecovery(userPointRepository, restoringRepository,
+                new BalanceSnapshotStore(directory.resolve("snapshot"), 2));
+        PointWal wal = new PointWal(new PointWalProperties(true, directory.resolve("wal").toString(),
+                DataSize.ofKilobytes(64), true, Duration.ZERO));
+        wal.append(1L, 10_000L, TransactionType.CHARGE, 10_000L, 0L);
+        CompletableFuture<Long> restored = recovery.restoreHistories(wal,
+                PointServiceFixtures.syncHistoryWriter(restoringRepository));
+        service.charge(1L, 10_000L);
+        userPointRepository.save(1L, 99_000L);
+
+        // when
+        PointReconciler reconciler = reconciler(true);
+        ReconcileReport during = reconciler.reconcileChanged();
+        released.countDown();
+        restored.join();
+        ReconcileReport after = reconciler.reconcileChanged();
+        wal.close();
+
+        // then
+        assertThat(recovery.restoring()).isFalse();
+        assertThat(during.deferred()).isEqualTo(1L);
+        assertThat(during.repaired()).isZero();
+        assertThat(after.checked()).isEqualTo(1L);
+        assertThat(after.repaired()).isEqualTo(1L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(10_000L);
+    }
+}
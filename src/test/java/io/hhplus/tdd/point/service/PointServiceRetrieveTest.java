@@ -4,13 +4,13 @@ import io.hhplus.tdd.database.PointHistoryTable;
 import io.hhplus.tdd.database.UserPointTable;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.exception.PointRetrieveException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -29,8 +29,12 @@ public class PointServiceRetrieveTest {
     @Mock
     private PointHistoryTable pointHistoryTable;  // Mock 객체 생성
 
-    @InjectMocks
-    private PointService service;  // Mock으로 실제 객체 주입
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        service = PointServiceFixtures.pointService(userPointTable, pointHistoryTable);  // Mock으로 실제 객체 주입
+    }
 
     @Test
     @DisplayName("사용자의 현재 포인트를 조회한다(레코드 존재)")
@@ -7,6 +7,7 @@ import io.hhplus.tdd.point.TransactionType;
 import io.hhplus.tdd.point.UserPoint;
 import io.hhplus.tdd.point.exception.PointSaveException;
 import io.hhplus.tdd.point.exception.PointValidationException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -14,7 +15,6 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.NullSource;
 import org.junit.jupiter.params.provider.ValueSource;
 import org.mockito.InOrder;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
@@ -34,8 +34,12 @@ public class PointServiceUseTest {
     @Mock
     private PointHistoryTable pointHistoryTable;  // Mock 객체 생성
 
-    @InjectMocks
-    private PointService service;  // Mock으로 실제 객체 주입
+    private PointService service;
+
+    @BeforeEach
+    void setUp() {
+        service = PointServiceFixtures.pointService(userPointTable, pointHistoryTable);  // Mock으로 실제 객체 주입
+    }
 
     @Test
     @DisplayName("포인트가 존재하는 사용자가 포인트를 사용한다")
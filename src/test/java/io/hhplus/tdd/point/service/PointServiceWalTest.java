@@ -0,0 +1,143 @@
+package io.hhplus.tdd.point.service;
+
+import io.hhplus.tdd.point.BalanceCheck;
+import io.hhplus.tdd.point.PointCommand;
+import io.hhplus.tdd.point.PointHistory;
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointStorageProperties;
+import io.hhplus.tdd.point.repository.ShardedUserPointRepository;
+import io.hhplus.tdd.point.repository.StorageType;
+import io.hhplus.tdd.point.wal.BalanceSnapshotStore;
+import io.hhplus.tdd.point.wal.PointWal;
+import io.hhplus.tdd.point.wal.PointWalProperties;
+import io.hhplus.tdd.point.wal.PointWalRecovery;
+import io.hhplus.tdd.point.wal.WalRecord;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointService - WAL 기록과 복구")
+public class PointServiceWalTest {
+
+    private static final PointStorageProperties STORAGE =
+            new PointStorageProperties(StorageType.SHARDED, StorageType.COLUMNAR, 4, 1_000);
+
+    @TempDir
+    Path directory;
+
+    private PointWal openWal() {
+        return new PointWal(new PointWalProperties(true, directory.toString(), DataSize.ofKilobytes(64), true, Duration.ZERO));
+    }
+
+    @Test
+    @DisplayName("충전/사용/일괄 처리 결과를 재시작 후 WAL 로 같은 잔액과 이력으로 복구한다")
+    void givenAppliedCommands_whenRecover_thenRestoresBalancesAndHistories() {
+        // given
+        PointWal wal = openWal();
+        PointService service = PointServiceFixtures.pointService(new ShardedUserPointRepository(STORAGE),
+                new ColumnarPointHistoryRepository(), PointServiceFixtures.balanceCache(false), wal);
+        service.charge(1L, 10_000L);
+        service.use(1L, 3_000L);
+        service.executeAll(List.of(
+                new PointCommand(1L, 5_000L, TransactionType.CHARGE),
+                new PointCommand(2L, 20_000L, TransactionType.CHARGE),
+                new PointCommand(2L, 50_000L, TransactionType.USE)));
+        wal.close();
+
+        // when
+        ShardedUserPointRepository userPointRepository = new ShardedUserPointRepository(STORAGE);
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository();
+        PointWal reopened = openWal();
+        PointWalRecovery recovery = new PointWalRecovery(userPointRepository, pointHistoryRepository,
+                new BalanceSnapshotStore(directory.resolve("snapshot"), 2));
+        long balanceRecords = recovery.recoverBalances(reopened);
+        long historyRecords = recovery.restoreHistories(reopened,
+                PointServiceFixtures.syncHistoryWriter(pointHistoryRepository)).join();
+        reopened.close();
+
+        // then
+        assertThat(balanceRecords).isEqualTo(4L);
+        assertThat(historyRecords).isEqualTo(4L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(12_000L);
+        assertThat(userPointRepository.findById(2L).point()).isEqualTo(20_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).extracting(PointHistory::type)
+                .containsExactly(TransactionType.CHARGE, TransactionType.USE, TransactionType.CHARGE);
+    }
+
+    @Test
+    @DisplayName("WAL 기록에 실패하면 이력을 남기지 않고 잔액을 되돌린다")
+    void givenAppendFailure_whenCharge_thenLeavesNoHistoryAndRestoresBalance() {
+        // given
+        AtomicBoolean failing = new AtomicBoolean();
+        PointWal wal = new PointWal(new PointWalProperties(true, directory.toString(), DataSize.ofKilobytes(64), true, Duration.ZERO)) {
+            @Override
+            public long append(long userId, long amount, TransactionType type, long balance, long updateMillis) {
+                if (failing.get())
+                    throw new PointSaveException("WAL 기록 실패");
+                return super.append(userId, amount, type, balance, updateMillis);
+            }
+        };
+        ShardedUserPointRepository userPointRepository = new ShardedUserPointRepository(STORAGE);
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository();
+        PointService service = PointServiceFixtures.pointService(userPointRepository, pointHistoryRepository,
+                PointServiceFixtures.balanceCache(false), wal);
+        service.charge(1L, 10_000L);
+        failing.set(true);
+
+        // when & then
+        assertThatThrownBy(() -> service.charge(1L, 20_000L)).isInstanceOf(PointSaveException.class);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(10_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(10_000L);
+        wal.close();
+    }
+
+    @Test
+    @DisplayName("대조가 맞춘 잔액은 WAL 에 조정 기록으로 남아 재시작 후에도 유지되고, 이력은 만들지 않는다")
+    void givenRepairedBalance_whenRecover_thenKeepsRepairWithoutHistory() {
+        // given - WAL 에 남지 않은 채 잔액만 어긋난 상태를 만든다
+        PointWal wal = openWal();
+        ShardedUserPointRepository driftedRepository = new ShardedUserPointRepository(STORAGE);
+        PointService service = PointServiceFixtures.pointService(driftedRepository,
+                new ColumnarPointHistoryRepository(), PointServiceFixtures.balanceCache(false), wal);
+        service.charge(1L, 10_000L);
+        driftedRepository.save(1L, 99_000L);
+
+        // when
+        BalanceCheck check = service.checkBalance(1L, true);
+        List<WalRecord> records = new ArrayList<>();
+        wal.replay(records::add);
+        wal.close();
+
+        ShardedUserPointRepository userPointRepository = new ShardedUserPointRepository(STORAGE);
+        ColumnarPointHistoryRepository pointHistoryRepository = new ColumnarPointHistoryRepository();
+        PointWal reopened = openWal();
+        PointWalRecovery recovery = new PointWalRecovery(userPointRepository, pointHistoryRepository,
+                new BalanceSnapshotStore(directory.resolve("snapshot"), 2));
+        recovery.recoverBalances(reopened);
+        recovery.restoreHistories(reopened, PointServiceFixtures.syncHistoryWriter(pointHistoryRepository)).join();
+        reopened.close();
+
+        // then
+        assertThat(check.status()).isEqualTo(BalanceCheck.Status.REPAIRED);
+        assertThat(records).hasSize(2);
+        assertThat(records.get(1).adjustment()).isTrue();
+        assertThat(records.get(1).type()).isEqualTo(TransactionType.USE);
+        assertThat(records.get(1).amount()).isEqualTo(89_000L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(10_000L);
+        assertThat(pointHistoryRepository.findAllByUserId(1L)).extracting(PointHistory::amount)
+                .containsExactly(10_000L);
+    }
+}
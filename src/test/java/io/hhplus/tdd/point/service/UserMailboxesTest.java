@@ -0,0 +1,88 @@
+package io.hhplus.tdd.point.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+
+@DisplayName("UserMailboxes - 유저별 대기열")
+public class UserMailboxesTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(1);
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    @DisplayName("처리 중에 쌓인 명령은 들어온 순서대로 batchSize 개씩 묶어 처리하고, 비면 대기열을 제거한다")
+    void givenCommandsQueuedWhileBusy_whenDrain_thenFoldsInFifoOrderAndReclaims() throws Exception {
+        // given - 첫 명령을 처리하는 동안 나머지 명령이 쌓이도록 작업자를 붙잡아 둔다
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<List<Integer>> batches = new CopyOnWriteArrayList<>();
+        UserMailboxes<Integer, Integer> mailboxes = new UserMailboxes<>(executor, 2, (userId, batch) -> {
+            started.countDown();
+            await(release);
+            batches.add(batch.stream().map(UserMailboxes.Envelope::command).toList());
+            batch.forEach(envelope -> envelope.result().complete(envelope.command()));
+        });
+        List<CompletableFuture<Integer>> results = new ArrayList<>();
+        results.add(mailboxes.submit(1L, 1));
+        started.await();
+
+        // when
+        for (int command = 2; command <= 5; command++)
+            results.add(mailboxes.submit(1L, command));
+        release.countDown();
+
+        // then
+        for (int i = 0; i < results.size(); i++)
+            assertThat(results.get(i).get(5, TimeUnit.SECONDS)).isEqualTo(i + 1);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
+        assertThat(batches).containsExactly(List.of(1), List.of(2, 3), List.of(4, 5));
+        assertThat(mailboxes.activeCount()).isZero();
+        assertThat(mailboxes.batchCount()).isEqualTo(3L);
+        assertThat(mailboxes.commandCount()).isEqualTo(5L);
+    }
+
+    @Test
+    @DisplayName("handler 가 예외로 끝나면 그 묶음의 명령을 모두 실패로 완료하고 다음 명령은 계속 처리한다")
+    void givenFailingHandler_whenDrain_thenFailsBatchAndContinues() throws Exception {
+        // given
+        UserMailboxes<Integer, Integer> mailboxes = new UserMailboxes<>(executor, 10, (userId, batch) -> {
+            if (batch.get(0).command() < 0)
+                throw new IllegalArgumentException("음수 명령");
+            batch.forEach(envelope -> envelope.result().complete(envelope.command()));
+        });
+
+        // when
+        CompletableFuture<Integer> failed = mailboxes.submit(1L, -1);
+        assertThatThrownBy(() -> failed.get(5, TimeUnit.SECONDS)).hasCauseInstanceOf(IllegalArgumentException.class);
+        CompletableFuture<Integer> next = mailboxes.submit(1L, 1);
+
+        // then
+        assertThat(next.get(5, TimeUnit.SECONDS)).isEqualTo(1);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,109 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.repository.ColumnarPointHistoryRepository;
+import io.hhplus.tdd.point.repository.PointStorageProperties;
+import io.hhplus.tdd.point.repository.ShardedUserPointRepository;
+import io.hhplus.tdd.point.repository.StorageType;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Path;
+import java.time.Duration;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PointCheckpointer - 잔액 스냅샷과 스냅샷 이후 WAL 로 복구")
+public class PointCheckpointerTest {
+
+    private static final PointStorageProperties STORAGE =
+            new PointStorageProperties(StorageType.SHARDED, StorageType.COLUMNAR, 4, 1_000);
+    private static final PointSnapshotProperties SNAPSHOT =
+            new PointSnapshotProperties(false, "unused", Duration.ofMinutes(1), 1, 2);
+
+    @TempDir
+    Path directory;
+
+    private PointWal openWal() {
+        return new PointWal(new PointWalProperties(true, directory.resolve("wal").toString(),
+                DataSize.ofBytes(10L * PointWal.RECORD_BYTES), true, Duration.ZERO));
+    }
+
+    private BalanceSnapshotStore store() {
+        return new BalanceSnapshotStore(directory.resolve("snapshot"), 2);
+    }
+
+    private static void charge(PointWal wal, long userId, long balance) {
+        wal.awaitDurable(wal.append(userId, 1_000L, TransactionType.CHARGE, balance, balance));
+    }
+
+    @Test
+    @DisplayName("스냅샷을 이어 만든 뒤에는 마지막 스냅샷 이후 WAL 만 읽어 같은 잔액으로 복구한다")
+    void givenIncrementalSnapshots_whenRecoverBalances_thenReplaysOnlyTail() {
+        // given
+        PointWal wal = openWal();
+        PointCheckpointer checkpointer = new PointCheckpointer(wal, store(), SNAPSHOT);
+        for (long i = 1; i <= 12; i++)
+            charge(wal, i % 4 + 1, 1_000L * i);
+        long first = checkpointer.checkpoint(1);
+        charge(wal, 1L, 100_000L);
+        charge(wal, 9L, 90_000L);
+        long second = checkpointer.checkpoint(1);
+        charge(wal, 2L, 200_000L);
+        wal.close();
+
+        // when
+        ShardedUserPointRepository userPointRepository = new ShardedUserPointRepository(STORAGE);
+        PointWal reopened = openWal();
+        long replayed = new PointWalRecovery(userPointRepository, new ColumnarPointHistoryRepository(), store())
+                .recoverBalances(reopened);
+        reopened.close();
+
+        // then
+        assertThat(first).isEqualTo(12L);
+        assertThat(second).isEqualTo(14L);
+        assertThat(replayed).isEqualTo(1L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(100_000L);
+        assertThat(userPointRepository.findById(2L).point()).isEqualTo(200_000L);
+        assertThat(userPointRepository.findById(3L).point()).isEqualTo(10_000L);
+        assertThat(userPointRepository.findById(4L).point()).isEqualTo(11_000L);
+        assertThat(userPointRepository.findById(9L).point()).isEqualTo(90_000L);
+    }
+
+    @Test
+    @DisplayName("가장 최근 스냅샷이 손상되면 이전 스냅샷부터 WAL 을 읽어 복구한다")
+    void givenCorruptLatestSnapshot_whenRecoverBalances_thenFallsBackToPrevious() throws IOException {
+        // given
+        PointWal wal = openWal();
+        PointCheckpointer checkpointer = new PointCheckpointer(wal, store(), SNAPSHOT);
+        charge(wal, 1L, 1_000L);
+        checkpointer.checkpoint(1);
+        charge(wal, 1L, 2_000L);
+        charge(wal, 2L, 3_000L);
+        checkpointer.checkpoint(1);
+        wal.close();
+        try (RandomAccessFile file = new RandomAccessFile(
+                directory.resolve("snapshot").resolve("balances-00000000000000000003.snap").toFile(), "rw")) {
+            file.seek(24);
+            file.write(0x7F);
+        }
+
+        // when
+        ShardedUserPointRepository userPointRepository = new ShardedUserPointRepository(STORAGE);
+        BalanceSnapshotStore store = store();
+        PointWal reopened = openWal();
+        long replayed = new PointWalRecovery(userPointRepository, new ColumnarPointHistoryRepository(), store)
+                .recoverBalances(reopened);
+        reopened.close();
+
+        // then
+        assertThat(store.latestSequence()).isEqualTo(1L);
+        assertThat(replayed).isEqualTo(2L);
+        assertThat(userPointRepository.findById(1L).point()).isEqualTo(2_000L);
+        assertThat(userPointRepository.findById(2L).point()).isEqualTo(3_000L);
+    }
+}
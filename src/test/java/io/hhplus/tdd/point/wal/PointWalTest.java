@@ -0,0 +1,148 @@
+package io.hhplus.tdd.point.wal;
+
+import io.hhplus.tdd.point.TransactionType;
+import io.hhplus.tdd.point.exception.PointSaveException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("PointWal - 포인트 변경 로그")
+public class PointWalTest {
+
+    @TempDir
+    Path directory;
+
+    private PointWal open(int recordsPerSegment) {
+        return new PointWal(new PointWalProperties(true, directory.toString(),
+                DataSize.ofBytes((long) recordsPerSegment * PointWal.RECORD_BYTES), true, Duration.ZERO));
+    }
+
+    private static List<WalRecord> replay(PointWal wal) {
+        List<WalRecord> records = new ArrayList<>();
+        wal.replay(records::add);
+        return records;
+    }
+
+    @Test
+    @DisplayName("세그먼트를 넘겨 기록한 레코드를 다시 열어 순서대로 읽는다")
+    void givenRecordsAcrossSegments_whenReopen_thenReplaysInOrder() throws IOException {
+        // given
+        PointWal wal = open(10);
+        for (long i = 1; i <= 25; i++)
+            wal.awaitDurable(wal.append(i % 3 + 1, 1_000L * i, TransactionType.values()[(int) (i % 2)], 10_000L * i, i));
+        wal.close();
+
+        // when
+        PointWal reopened = open(10);
+        List<WalRecord> records = replay(reopened);
+
+        // then
+        try (Stream<Path> files = Files.list(directory)) {
+            assertThat(files.count()).isEqualTo(3);
+        }
+        assertThat(records).hasSize(25);
+        assertThat(records.get(24)).isEqualTo(new WalRecord(25L, 2L, 25_000L, TransactionType.USE, 250_000L, 25L, false));
+        assertThat(reopened.lastSequence()).isEqualTo(25L);
+        assertThat(reopened.append(1L, 1_000L, TransactionType.CHARGE, 1_000L, 26L)).isEqualTo(26L);
+        reopened.close();
+    }
+
+    @Test
+    @DisplayName("끝이 찢긴 레코드는 버리고 그 자리부터 이어서 기록한다")
+    void givenTornTail_whenReopen_thenTruncatesAndContinues() throws IOException {
+        // given
+        PointWal wal = open(100);
+        for (long i = 1; i <= 5; i++)
+            wal.append(1L, 1_000L, TransactionType.CHARGE, 1_000L * i, i);
+        wal.close();
+        try (RandomAccessFile file = new RandomAccessFile(directory.resolve("00000000000000000001.wal").toFile(), "rw")) {
+            file.seek(4L * PointWal.RECORD_BYTES + 20);
+            file.write(0x7F);
+        }
+
+        // when
+        PointWal reopened = open(100);
+        long sequence = reopened.append(1L, 2_000L, TransactionType.CHARGE, 6_000L, 6L);
+        reopened.close();
+
+        // then
+        assertThat(sequence).isEqualTo(5L);
+        List<WalRecord> records = replay(open(100));
+        assertThat(records).extracting(WalRecord::balance).containsExactly(1_000L, 2_000L, 3_000L, 4_000L, 6_000L);
+    }
+
+    @Test
+    @DisplayName("여러 스레드가 동시에 기록하고 동기화를 기다려도 sequence 가 빠짐없이 이어진다")
+    void givenConcurrentAppends_whenAwaitDurable_thenAllRecordsDurable() throws Exception {
+        // given
+        PointWal wal = open(100_000);
+        int threads = 8;
+        int perThread = 500;
+        List<Thread> writers = new ArrayList<>();
+
+        // when
+        for (int t = 0; t < threads; t++) {
+            long userId = t + 1;
+            Thread writer = new Thread(() -> {
+                for (int i = 0; i < perThread; i++)
+                    wal.awaitDurable(wal.append(userId, 1_000L, TransactionType.CHARGE, 1_000L * (i + 1), i));
+            });
+            writers.add(writer);
+            writer.start();
+        }
+        for (Thread writer : writers)
+            writer.join();
+
+        // then
+        assertThat(wal.durableSequence()).isEqualTo((long) threads * perThread);
+        wal.close();
+        assertThat(replay(open(100_000))).extracting(WalRecord::sequence).isSorted().hasSize(threads * perThread);
+    }
+
+    @Test
+    @DisplayName("fsync 에 실패하면 그 뒤 기록은 물론 이미 동기화된 sequence 를 기다려도 실패하고, durableSequence 는 올라가지 않는다")
+    void givenForceFailure_whenAwaitDurable_thenThrowsAndNeverAdvances() {
+        // given
+        AtomicBoolean failing = new AtomicBoolean();
+        PointWal wal = new PointWal(new PointWalProperties(true, directory.toString(),
+                DataSize.ofBytes(100L * PointWal.RECORD_BYTES), true, Duration.ZERO)) {
+            @Override
+            void force(MappedByteBuffer target, int from, int length) {
+                if (failing.get())
+                    throw new UncheckedIOException(new IOException("디스크 오류"));
+                super.force(target, from, length);
+            }
+        };
+        long durable = wal.append(1L, 1_000L, TransactionType.CHARGE, 1_000L, 1L);
+        wal.awaitDurable(durable);
+        failing.set(true);
+
+        // when
+        long lost = wal.append(1L, 1_000L, TransactionType.CHARGE, 2_000L, 2L);
+
+        // then
+        assertThatThrownBy(() -> wal.awaitDurable(lost)).isInstanceOf(PointSaveException.class);
+        assertThatThrownBy(() -> wal.awaitDurable(durable)).isInstanceOf(PointSaveException.class);
+        assertThatThrownBy(() -> wal.append(1L, 1_000L, TransactionType.CHARGE, 3_000L, 3L))
+                .isInstanceOf(PointSaveException.class);
+        assertThat(wal.durableSequence()).isEqualTo(durable);
+        wal.close();
+        assertThat(wal.durableSequence()).isEqualTo(durable);
+    }
+}